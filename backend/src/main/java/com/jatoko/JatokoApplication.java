@@ -20,12 +20,18 @@ package com.jatoko;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class JatokoApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(JatokoApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(JatokoApplication.class, args);
+
+        // cli 프로필: 일괄 번역이 끝나면 결과 코드로 종료 (BatchCliRunner)
+        if (context.getEnvironment().matchesProfiles("cli")) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
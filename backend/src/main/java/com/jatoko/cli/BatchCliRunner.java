@@ -0,0 +1,247 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.cli;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jatoko.service.AstahParserService;
+import com.jatoko.service.BaseParserService;
+import com.jatoko.service.BatchTranslationPipeline;
+import com.jatoko.service.FileConcurrencyLimiter;
+import com.jatoko.service.MetadataService;
+import com.jatoko.service.SvgParserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 헤드리스 일괄 번역 실행기 (cli 프로필)
+ *
+ * 웹 서버 없이 입력 디렉토리 트리의 .asta/.svg를 같은 상대 경로로 출력 트리에 번역합니다.
+ * 출력 트리의 동기화 목록(.jatoko-sync.json)에 마지막으로 번역한 입력 해시를 기록하여,
+ * 내용이 바뀌지 않았고 출력이 남아 있는 파일은 건너뜁니다 (rsync와 같은 증분 동기화).
+ * 입력 트리에는 아무것도 쓰지 않습니다: 바뀐 파일은 출력 트리의 작업 디렉토리(.jatoko)에 복사한 사본을 번역하므로
+ * 번역 메타데이터와 체크포인트도 그 사본 옆에 남고, 다음 실행에서 바뀌지 않은 노드의 번역을 재사용합니다.
+ * 번역은 단계별 배치 파이프라인(BatchTranslationPipeline)으로 병렬 실행하고,
+ * 결과는 JSON 요약 파일로 남깁니다.
+ *
+ * 사용법:
+ *   java -jar jatoko.jar --spring.profiles.active=cli --input=DIR --output=DIR
+ *        [--summary=FILE] [--force] [--deadline=12h]
+ */
+@Slf4j
+@Component
+@Profile("cli")
+@RequiredArgsConstructor
+public class BatchCliRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    static final String SYNC_FILE = ".jatoko-sync.json";
+    static final String SUMMARY_FILE = "jatoko-summary.json";
+    static final String WORK_DIR = ".jatoko";
+
+    private final AstahParserService astahParserService;
+    private final SvgParserService svgParserService;
+    private final MetadataService metadataService;
+    private final BatchTranslationPipeline batchTranslationPipeline;
+    private final FileConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+
+    private int exitCode;
+
+    /**
+     * 파일별 결과 (status: TRANSLATED, SKIPPED, FAILED)
+     */
+    public record FileSummary(String path, String status, String error) {}
+
+    public record Summary(Instant startedAt, long elapsedMs, int total, int translated, int skipped, int failed,
+                          int translatedSegments, List<FileSummary> files) {}
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("input") || !args.containsOption("output")) {
+            log.error("Usage: --spring.profiles.active=cli --input=DIR --output=DIR [--summary=FILE] [--force] [--deadline=12h]");
+            exitCode = 2;
+            return;
+        }
+        Path input = Paths.get(args.getOptionValues("input").get(0)).toAbsolutePath().normalize();
+        Path output = Paths.get(args.getOptionValues("output").get(0)).toAbsolutePath().normalize();
+        Path summaryFile = args.containsOption("summary")
+                ? Paths.get(args.getOptionValues("summary").get(0))
+                : output.resolve(SUMMARY_FILE);
+        Duration deadline = args.containsOption("deadline")
+                ? parseDuration(args.getOptionValues("deadline").get(0))
+                : Duration.ofHours(12);
+
+        Summary summary;
+        try {
+            summary = sync(input, output, args.containsOption("force"), deadline);
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            exitCode = 2;
+            return;
+        }
+        writeJson(summaryFile, summary);
+        log.info("CLI batch finished: {} translated, {} skipped, {} failed in {} ms (summary: {})",
+                summary.translated(), summary.skipped(), summary.failed(), summary.elapsedMs(), summaryFile);
+        exitCode = summary.failed() > 0 ? 1 : 0;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * 입력 트리를 출력 트리로 증분 번역합니다.
+     * 출력 트리가 입력 트리 안에 있으면 출력 트리(번역 결과와 작업 디렉토리)는 입력으로 보지 않습니다.
+     *
+     * @throws IllegalArgumentException 입력과 출력이 같은 디렉토리인 경우 (번역 결과가 원본을 덮어씀)
+     */
+    Summary sync(Path input, Path output, boolean force, Duration deadline) throws IOException {
+        if (input.equals(output)) {
+            throw new IllegalArgumentException("--output must differ from --input: " + output);
+        }
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        Files.createDirectories(output);
+
+        Path syncFile = output.resolve(SYNC_FILE);
+        Map<String, String> synced = Files.exists(syncFile)
+                ? new TreeMap<>(objectMapper.readValue(syncFile.toFile(), new TypeReference<Map<String, String>>() {}))
+                : new TreeMap<>();
+
+        List<String> sources;
+        try (Stream<Path> walk = Files.walk(input)) {
+            sources = walk.filter(path -> !path.startsWith(output))
+                    .filter(Files::isRegularFile)
+                    .filter(path -> isTranslatable(path.getFileName().toString()))
+                    .map(path -> input.relativize(path).toString().replace('\\', '/'))
+                    .sorted()
+                    .toList();
+        }
+
+        // 해시가 같고 출력이 남아 있으면 건너뜀
+        Map<String, FileSummary> results = new LinkedHashMap<>();
+        Map<String, String> hashes = new LinkedHashMap<>();
+        List<String> changed = new ArrayList<>();
+        for (String relativePath : sources) {
+            String hash = metadataService.calculateHash(input.resolve(relativePath).toFile());
+            hashes.put(relativePath, hash);
+            if (!force && hash.equals(synced.get(relativePath)) && Files.exists(output.resolve(relativePath))) {
+                results.put(relativePath, new FileSummary(relativePath, "SKIPPED", null));
+            } else {
+                changed.add(relativePath);
+            }
+        }
+        log.info("CLI batch: {} files found, {} changed", sources.size(), changed.size());
+
+        for (String relativePath : changed) {
+            Files.createDirectories(output.resolve(relativePath).getParent());
+        }
+        Path workDir = output.resolve(WORK_DIR);
+        BatchTranslationPipeline.Result pipelined = batchTranslationPipeline.run(changed,
+                relativePath -> input.resolve(relativePath).toFile().length(),
+                relativePath -> {
+                    File source = stageInput(input, workDir, relativePath);
+                    File outputFile = output.resolve(relativePath).toFile();
+                    BaseParserService<?> parser = parserFor(relativePath);
+                    return concurrencyLimiter.run(relativePath, () -> parser.prepare(source, outputFile));
+                },
+                System.nanoTime() + deadline.toNanos());
+
+        for (String relativePath : changed) {
+            BatchTranslationPipeline.FileOutcome outcome = pipelined.outcomes().get(relativePath);
+            if (outcome != null && outcome.succeeded()) {
+                synced.put(relativePath, hashes.get(relativePath));
+                results.put(relativePath, new FileSummary(relativePath, "TRANSLATED", null));
+            } else {
+                String error = outcome != null ? String.valueOf(outcome.error().getMessage()) : "Not processed";
+                results.put(relativePath, new FileSummary(relativePath, "FAILED", error));
+            }
+        }
+        // 입력에서 사라진 파일은 동기화 목록에서 제거 (출력은 지우지 않음)
+        synced.keySet().retainAll(hashes.keySet());
+        writeJson(syncFile, synced);
+
+        List<FileSummary> files = sources.stream().map(results::get).toList();
+        return new Summary(startedAt, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), files.size(),
+                count(files, "TRANSLATED"), count(files, "SKIPPED"), count(files, "FAILED"),
+                pipelined.translatedSegments(), files);
+    }
+
+    /**
+     * 입력 파일을 작업 디렉토리의 같은 상대 경로로 복사합니다 (메타데이터가 입력 트리에 쓰이지 않도록).
+     */
+    private File stageInput(Path input, Path workDir, String relativePath) throws IOException {
+        Path staged = workDir.resolve(relativePath);
+        Files.createDirectories(staged.getParent());
+        Files.copy(input.resolve(relativePath), staged, StandardCopyOption.REPLACE_EXISTING);
+        return staged.toFile();
+    }
+
+    private BaseParserService<?> parserFor(String fileName) {
+        return fileName.toLowerCase().endsWith(".svg") ? svgParserService : astahParserService;
+    }
+
+    private boolean isTranslatable(String fileName) {
+        String lowerName = fileName.toLowerCase();
+        return !fileName.startsWith(".")
+                && (lowerName.endsWith(".asta") || lowerName.endsWith(".astah") || lowerName.endsWith(".svg"));
+    }
+
+    private int count(List<FileSummary> files, String status) {
+        return (int) files.stream().filter(file -> status.equals(file.status())).count();
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체하여 중간에 중단되어도 이전 파일이 깨지지 않게 합니다.
+     */
+    private void writeJson(Path file, Object value) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(file.getFileName() + ".tmp");
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(temp.toFile(), value);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Duration parseDuration(String value) {
+        return value.startsWith("P") ? Duration.parse(value) : Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionConfig {
+    /**
+     * 번역 작업이 동시에 쓸 수 있는 힙 예산 (기본값: 최대 힙의 60%)
+     */
+    private DataSize heapBudget;
+
+    /**
+     * 파일 크기 대비 예상 힙 사용량 배수
+     * SVG는 문자열 사본(UTF-16) + 임시 파일 + Batik DOM, Astah는 프로젝트 모델 로딩 기준
+     */
+    private double svgFactor = 12;
+    private double astahFactor = 8;
+
+    /**
+     * 작은 파일도 최소로 잡는 예상 사용량 (파서/DOM 고정 비용)
+     */
+    private DataSize minEstimate = DataSize.ofMegabytes(8);
+
+    /**
+     * 예산이 가득 찼을 때 동작
+     * QUEUE: 최대 maxWait까지 기다린 뒤 거절, REJECT: 즉시 거절 (429)
+     */
+    private WhenFull whenFull = WhenFull.QUEUE;
+
+    private Duration maxWait = Duration.ofMinutes(5);
+
+    /**
+     * 실행을 기다릴 수 있는 파일 수 (대기/보류 중인 작업의 파일 수 합, 초과 시 등록 단계에서 429)
+     */
+    private int maxQueued = 32;
+
+    /**
+     * 거절 응답의 Retry-After
+     */
+    private Duration retryAfter = Duration.ofSeconds(30);
+
+    public enum WhenFull {
+        QUEUE, REJECT
+    }
+}
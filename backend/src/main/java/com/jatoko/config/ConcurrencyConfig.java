@@ -0,0 +1,89 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyConfig {
+    /**
+     * 동시에 번역할 수 있는 SVG 파일 수 (기본값: CPU 코어 수)
+     */
+    private int svgFiles = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 동시에 번역할 수 있는 Astah 파일 수
+     * Astah SDK의 ProjectAccessor는 프로세스 단위 싱글턴이므로 1을 넘기지 않아야 합니다.
+     */
+    private int astahFiles = 1;
+
+    /**
+     * 배치 번역 전체 마감 시간 (초과 시 미완료 파일은 중단되고 TIMED_OUT으로 보고)
+     */
+    private Duration batchDeadline = Duration.ofMinutes(30);
+
+    /**
+     * 배치 파이프라인 추출 단계 작업자 수 (Batik/Astah 파싱, CPU 사용)
+     */
+    private int extractWorkers = 2;
+
+    /**
+     * 배치 파이프라인 번역 단계 작업자 수 (DeepL 호출, I/O 대기)
+     * 1이면 배치 안에서 반복되는 텍스트가 정확히 한 번만 요청됩니다.
+     */
+    private int translateWorkers = 1;
+
+    /**
+     * 배치 파이프라인 적용/저장 단계 작업자 수
+     */
+    private int applyWorkers = 2;
+
+    /**
+     * 단계 사이 큐에 대기할 수 있는 파일 수 (추출 결과가 메모리에 쌓이지 않도록 제한)
+     */
+    private int stageQueueCapacity = 2;
+
+    /**
+     * Astah/SVG 작업 벌크헤드 대기열 크기와 작업당 실행 제한 시간 (대기열 대기 시간 제외)
+     * 동시 실행 수는 astahFiles/svgFiles를 따릅니다.
+     */
+    private int astahQueue = 16;
+    private Duration astahTimeout = Duration.ofMinutes(30);
+    private int svgQueue = 64;
+    private Duration svgTimeout = Duration.ofMinutes(30);
+
+    /**
+     * DeepL 요청 벌크헤드: 동시 요청 수, 대기열 크기, 요청당 제한 시간
+     */
+    private int translationCalls = 4;
+    private int translationQueue = 64;
+    private Duration translationTimeout = Duration.ofMinutes(2);
+
+    /**
+     * SSE 진행률 전송 벌크헤드: 동시 전송 수, 대기열 크기 (가득 차면 진행률 이벤트는 버림)
+     */
+    private int progressSenders = 2;
+    private int progressQueue = 1000;
+}
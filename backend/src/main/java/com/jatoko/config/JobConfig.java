@@ -0,0 +1,73 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.job")
+public class JobConfig {
+    /**
+     * 번역 작업 실행 스레드 수
+     * 파일 타입별 동시 실행 수는 app.concurrency 설정으로 별도 제한됩니다.
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 메모리에 보관할 완료/실패 작업 최대 개수 (초과 시 오래된 작업부터 제거)
+     */
+    private int maxRetainedJobs = 200;
+
+    /**
+     * 작업 저널 디렉토리 (재시작 시 미완료 작업 복구용)
+     */
+    private String journalDir;
+
+    /**
+     * 종료 시 실행 중인 작업이 끝나기를 기다리는 시간
+     * 시간 내에 끝나지 않은 작업은 중단되고 다음 시작 시 다시 등록됩니다.
+     */
+    private Duration shutdownGracePeriod = Duration.ofSeconds(45);
+
+    /**
+     * INTERACTIVE 작업을 연속으로 배정할 수 있는 횟수 (이후 대기 중인 BATCH 작업을 한 번 배정)
+     */
+    private int interactiveBurst = 4;
+
+    /**
+     * 예상 시작 시각 계산에 쓰는 초기 처리 속도 (문자/초). 완료된 작업의 실측값으로 보정됩니다.
+     */
+    private double initialCharsPerSecond = 200;
+
+    /**
+     * 작업당 고정 오버헤드 (파일 파싱/저장 등)
+     */
+    private Duration jobOverhead = Duration.ofSeconds(5);
+
+    /**
+     * 실행 조건(시간대/유휴)이 있는 배치 작업을 다시 확인하는 주기
+     * 조건이 맞으면 보류 작업을 큐에 넣고, 벗어나면 실행 중인 작업을 일시 중지합니다.
+     */
+    private Duration policyCheckInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,50 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageConfig {
+    /**
+     * 번역 결과를 내용 기준 청크로 나눠 저장할지 여부
+     * 끄더라도 이미 청크로 저장된 파일은 그대로 읽을 수 있습니다.
+     */
+    private boolean chunking = false;
+
+    /**
+     * 청크 최소 크기
+     */
+    private DataSize chunkMinSize = DataSize.ofKilobytes(16);
+
+    /**
+     * 청크 평균 크기 (2의 거듭제곱이 아니면 그 이하의 2의 거듭제곱 사용)
+     */
+    private DataSize chunkAvgSize = DataSize.ofKilobytes(64);
+
+    /**
+     * 청크 최대 크기
+     */
+    private DataSize chunkMaxSize = DataSize.ofKilobytes(256);
+}
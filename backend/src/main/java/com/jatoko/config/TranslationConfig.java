@@ -0,0 +1,45 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.translation")
+public class TranslationConfig {
+    /**
+     * DeepL 요청 한 번에 보낼 최대 텍스트 수
+     */
+    private int chunkSize = 50;
+
+    /**
+     * DeepL 요청 한 번에 보낼 최대 문자 수 (요청 본문 128KiB 제한 대비 여유를 둔 값)
+     */
+    private int chunkCharBudget = 30_000;
+
+    /**
+     * 연속된 DeepL 요청 사이 대기 시간 (API 부하 방지)
+     */
+    private Duration chunkDelay = Duration.ofMillis(500);
+}
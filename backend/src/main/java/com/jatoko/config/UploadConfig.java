@@ -0,0 +1,51 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.upload")
+public class UploadConfig {
+    /**
+     * 분할 업로드 세션 디렉토리 (기본값: target/.uploads, 완료 시 target으로 이동하므로 같은 파일 시스템 권장)
+     */
+    private String sessionDir;
+
+    /**
+     * 조각(PUT) 하나의 최대 크기
+     */
+    private DataSize maxChunkSize = DataSize.ofMegabytes(16);
+
+    /**
+     * 분할 업로드 파일의 최대 크기
+     */
+    private DataSize maxFileSize = DataSize.ofGigabytes(2);
+
+    /**
+     * 마지막 조각 이후 이 시간이 지난 미완료 세션은 삭제
+     */
+    private Duration sessionTtl = Duration.ofHours(24);
+}
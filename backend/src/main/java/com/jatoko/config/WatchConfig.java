@@ -0,0 +1,51 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.watch")
+public class WatchConfig {
+    /**
+     * 감시 폴더 모드 사용 여부
+     */
+    private boolean enabled = false;
+
+    /**
+     * 감시할 폴더 (빌드 파이프라인이 .asta/.astah/.svg를 내려놓는 공유 볼륨). 감시 폴더 모드에서는 필수입니다.
+     * target 디렉토리와 다르면 변경된 파일을 target으로 복사한 뒤 번역합니다.
+     */
+    private String dir;
+
+    /**
+     * 마지막 쓰기 이벤트 후 이 시간 동안 변화가 없으면 파일이 완성된 것으로 봅니다.
+     */
+    private Duration debounce = Duration.ofSeconds(2);
+
+    /**
+     * 감시 폴더가 등록하는 작업의 요청자 (공정 스케줄링 단위)
+     */
+    private String owner = "watch-folder";
+}
@@ -19,20 +19,28 @@
 package com.jatoko.controller;
 
 import com.jatoko.dto.BatchTranslationRequest;
-import com.jatoko.dto.BatchTranslationResponse;
-import com.jatoko.dto.FileMetadataDto;
+import com.jatoko.dto.FileQuery;
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.TranslationJob;
 import com.jatoko.service.DirectoryService;
+import com.jatoko.service.admission.MemoryAdmission;
+import com.jatoko.service.catalog.FileCatalog;
+import com.jatoko.service.download.DownloadService;
+import com.jatoko.service.job.TranslationJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -43,66 +51,75 @@ public class DirectoryController {
 
     private final DirectoryService directoryService;
     private final com.jatoko.service.ProgressService progressService;
+    private final TranslationJobService translationJobService;
+    private final MemoryAdmission memoryAdmission;
+    private final DownloadService downloadService;
 
     @GetMapping(value = "/progress/subscribe/{clientId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public org.springframework.web.servlet.mvc.method.annotation.SseEmitter subscribe(@PathVariable String clientId) {
         return progressService.createEmitter(clientId);
     }
 
+    /**
+     * 디렉토리 파일 목록. prefix/limit/cursor 중 하나라도 지정하면 카탈로그에서 페이지 단위로 반환합니다.
+     */
     @GetMapping("/files/{type}")
-    public ResponseEntity<List<String>> listFiles(@PathVariable String type) {
-        List<String> files = directoryService.listFiles(type);
-        return ResponseEntity.ok(files);
+    public ResponseEntity<?> listFiles(@PathVariable String type,
+                                       @RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestParam(required = false) String cursor) {
+        if (prefix == null && limit == null && cursor == null) {
+            List<String> files = directoryService.listFiles(type);
+            return ResponseEntity.ok(files);
+        }
+        return ResponseEntity.ok(directoryService.listFilesPage(type, prefix, limit, cursor));
     }
 
     @PostMapping("/files/target")
     public ResponseEntity<?> uploadToTarget(@RequestParam("file") MultipartFile file) throws IOException {
         var result = directoryService.uploadToTarget(file);
-        return ResponseEntity.ok(Map.of(
-                "fileName", result.fileName(),
-                "outlined", result.outlined(),
-                "message", "Upload successful"
-        ));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fileName", result.fileName());
+        body.put("outlined", result.outlined());
+        // 같은 내용을 이미 번역한 경우 바로 연결된 번역 파일명 (없으면 null)
+        body.put("translatedFileName", result.translatedFileName());
+        body.put("message", "Upload successful");
+        return ResponseEntity.ok(body);
     }
 
+    /**
+     * 번역 파일 다운로드 (ETag/Last-Modified 조건부 요청, Range 요청 지원)
+     */
     @GetMapping("/files/translated/{fileName}")
-    public ResponseEntity<Resource> downloadFromTranslated(@PathVariable String fileName) throws IOException {
+    public void downloadFromTranslated(@PathVariable String fileName,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
         Resource resource = directoryService.downloadFromTranslated(fileName);
-        String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8)
-                .replaceAll("\\+", "%20");
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename*=UTF-8''" + encodedFileName)
-                .body(resource);
+        downloadService.write(resource, fileName, request, response);
     }
 
     @PostMapping("/translate-file")
-    public ResponseEntity<?> translateTargetFile(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> translateTargetFile(@RequestBody Map<String, String> request,
+                                                 HttpServletRequest httpRequest) {
         String fileName = request.get("fileName");
         String clientId = request.get("clientId"); // Optional client ID for SSE
+        String owner = request.getOrDefault("owner", httpRequest.getRemoteAddr());
 
         if (fileName == null || fileName.isEmpty()) {
             throw new IllegalArgumentException("fileName is required");
         }
-        
-        // Exception is handled by GlobalExceptionHandler, but we might want to return 
-        // the result. The service will handle SSE updates internally.
-        // However, DirectoryService.translateFile throws Exception, so we need to catch/rethrow or let Global handle it.
-        // GlobalExceptionHandler handles general Exceptions.
-        
-        try {
-            String translatedFileName = directoryService.translateFile(fileName, clientId);
-            return ResponseEntity.ok(Map.of(
-                    "sessionId", translatedFileName,
-                    "message", "Translation successful"
-            ));
-        } catch (Exception e) {
-            // If SSE is used, the service already sent an error event.
-            // But we still return an error response for the HTTP request.
-            throw new RuntimeException(e);
-        }
+        // 실행을 기다리는 파일이 이미 많으면 429 (Retry-After)
+        memoryAdmission.checkAdmissible(translationJobService.queuedFileCount());
+
+        // 번역은 백그라운드 작업으로 실행되고, 진행률은 SSE 또는 /api/jobs/{jobId}로 확인합니다.
+        // SSE를 구독한 화면 요청은 대화형 작업: 배치 작업보다 먼저 배정되고, 연결이 끊기면 자동 취소
+        JobPriority priority = clientId != null ? JobPriority.INTERACTIVE : JobPriority.BATCH;
+        TranslationJob job = translationJobService.submit(fileName, clientId, priority, owner);
+        return ResponseEntity.accepted().body(Map.of(
+                "jobId", job.getJobId(),
+                "status", job.getStatus(),
+                "message", "Translation queued"
+        ));
     }
 
     @DeleteMapping("/files/{type}/{fileName}")
@@ -111,20 +128,64 @@ public class DirectoryController {
         return ResponseEntity.ok(Map.of("message", "File deleted successfully"));
     }
 
+    /**
+     * 파일 메타데이터 목록. 목록 버전을 ETag로 내려주고, 바뀌지 않았으면 304를 반환합니다.
+     * 조회 조건(type, translated, outlined, prefix, sort, order, limit, cursor)을 지정하면 페이지 단위로 반환합니다.
+     * 같은 URL의 결과는 카탈로그 버전에만 의존하므로 페이지 조회에도 같은 ETag를 사용합니다.
+     */
     @GetMapping("/files/metadata")
-    public ResponseEntity<?> getFileMetadata() throws IOException {
-        List<FileMetadataDto> metadata = directoryService.getFileMetadata();
-        return ResponseEntity.ok(metadata);
+    public ResponseEntity<?> getFileMetadata(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @ModelAttribute FileQuery query) {
+        FileCatalog.Listing listing = directoryService.getFileMetadataListing();
+        if (matchesETag(ifNoneMatch, listing.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(listing.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        Object body = query.isEmpty() ? listing.files() : directoryService.queryFileMetadata(query);
+        return ResponseEntity.ok()
+                .eTag(listing.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(body);
     }
 
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 여러 파일을 하나의 배치 작업으로 등록합니다. (파일 간 중복 텍스트는 한 번만 번역)
+     * 작업은 배치 우선순위로 스케줄러를 거쳐 실행되며, 파일별 결과는 /api/jobs/{jobId}의 batchResult로 확인합니다.
+     */
     @PostMapping("/translate/batch")
-    public ResponseEntity<?> translateBatch(@RequestBody BatchTranslationRequest request) {
+    public ResponseEntity<?> translateBatch(@RequestBody BatchTranslationRequest request,
+                                            HttpServletRequest httpRequest) {
         if (request.getFileNames() == null || request.getFileNames().isEmpty()) {
             throw new IllegalArgumentException("fileNames is required");
         }
-
-        BatchTranslationResponse response = directoryService.translateFilesInBatch(request.getFileNames());
-        return ResponseEntity.ok(response);
+        memoryAdmission.checkAdmissible(translationJobService.queuedFileCount());
+
+        String owner = request.getOwner() != null ? request.getOwner() : httpRequest.getRemoteAddr();
+        TranslationJob job = translationJobService.submitBatch(request.getFileNames(), owner, request.getRunPolicy());
+        return ResponseEntity.accepted().body(Map.of(
+                "jobId", job.getJobId(),
+                "status", job.getStatus(),
+                "message", "Batch translation queued"
+        ));
     }
 
     @PostMapping("/files/batch-delete")
@@ -138,8 +199,13 @@ public class DirectoryController {
         return ResponseEntity.ok(Map.of("message", "Files deleted successfully"));
     }
 
+    /**
+     * target 파일명에 대응하는 최신 번역 파일 다운로드 (ETag/Last-Modified 조건부 요청, Range 요청 지원)
+     */
     @GetMapping("/download/translated/{targetFileName}")
-    public ResponseEntity<Resource> downloadLatestTranslated(@PathVariable String targetFileName) throws IOException {
+    public void downloadLatestTranslated(@PathVariable String targetFileName,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) throws IOException {
         Resource resource = directoryService.downloadLatestTranslatedFile(targetFileName);
 
         // 실제 번역 파일명 추출
@@ -147,14 +213,6 @@ public class DirectoryController {
         if (actualFileName == null) {
             actualFileName = targetFileName;
         }
-
-        String encodedFileName = URLEncoder.encode(actualFileName, StandardCharsets.UTF_8)
-                .replaceAll("\\+", "%20");
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename*=UTF-8''" + encodedFileName)
-                .body(resource);
+        downloadService.write(resource, actualFileName, request, response);
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.controller;
+
+import com.jatoko.dto.BatchTranslationRequest;
+import com.jatoko.exception.ConflictException;
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.JobStatus;
+import com.jatoko.model.TranslationJob;
+import com.jatoko.service.DirectoryService;
+import com.jatoko.service.admission.MemoryAdmission;
+import com.jatoko.service.download.DownloadService;
+import com.jatoko.service.job.TranslationJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final TranslationJobService translationJobService;
+    private final DirectoryService directoryService;
+    private final MemoryAdmission memoryAdmission;
+    private final DownloadService downloadService;
+
+    @GetMapping
+    public ResponseEntity<List<TranslationJob>> listJobs() {
+        return ResponseEntity.ok(translationJobService.listJobs());
+    }
+
+    /**
+     * 여러 파일을 배치 우선순위 작업으로 등록합니다.
+     * 배치 작업은 대화형 작업보다 뒤에 배정되며, 요청자(owner) 단위로 번갈아 실행됩니다.
+     * runPolicy를 지정하면 실행 시간대(WINDOW)나 유휴 상태(IDLE)에만 실행되고, 벗어나면 일시 중지됩니다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TranslationJob>> submitBatch(@RequestBody BatchTranslationRequest request,
+                                                            HttpServletRequest httpRequest) {
+        if (request.getFileNames() == null || request.getFileNames().isEmpty()) {
+            throw new IllegalArgumentException("fileNames is required");
+        }
+        memoryAdmission.checkAdmissible(translationJobService.queuedFileCount());
+
+        String owner = request.getOwner() != null ? request.getOwner() : httpRequest.getRemoteAddr();
+        List<TranslationJob> submitted = request.getFileNames().stream()
+                .map(fileName -> translationJobService.submit(fileName, null, JobPriority.BATCH, owner, request.getRunPolicy()))
+                .toList();
+        return ResponseEntity.accepted().body(submitted);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<TranslationJob> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(translationJobService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<TranslationJob> cancelJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(translationJobService.cancel(jobId));
+    }
+
+    /**
+     * 완료된 작업의 결과 파일 다운로드 (ETag/Last-Modified 조건부 요청, Range 요청 지원)
+     */
+    @GetMapping("/{jobId}/result")
+    public void downloadResult(@PathVariable String jobId,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        TranslationJob job = translationJobService.getJob(jobId);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new ConflictException("Job is not completed: " + jobId + " (" + job.getStatus() + ")");
+        }
+        if (job.getFileNames() != null) {
+            // 배치 작업은 단일 결과 파일이 없음: 파일별 결과는 작업 조회의 batchResult 참조
+            throw new ConflictException("Batch job has no single result file; see batchResult of " + jobId);
+        }
+
+        Resource resource = directoryService.downloadFromTranslated(job.getResultFileName());
+        downloadService.write(resource, job.getResultFileName(), request, response);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.controller;
+
+import com.jatoko.service.admission.MemoryAdmission;
+import com.jatoko.service.bulkhead.Bulkhead;
+import com.jatoko.service.bulkhead.Bulkheads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final Bulkheads bulkheads;
+    private final MemoryAdmission memoryAdmission;
+
+    /**
+     * 서브시스템별 벌크헤드 상태 (실행 중/대기 중/거절/시간 초과 수, 포화도)
+     */
+    @GetMapping("/bulkheads")
+    public ResponseEntity<List<Bulkhead.Snapshot>> bulkheads() {
+        return ResponseEntity.ok(bulkheads.snapshots());
+    }
+
+    /**
+     * 힙 예산 사용량과 대기/거절 작업 수
+     */
+    @GetMapping("/admission")
+    public ResponseEntity<MemoryAdmission.Snapshot> admission() {
+        return ResponseEntity.ok(memoryAdmission.snapshot());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.controller;
+
+import com.jatoko.service.upload.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 분할(재개 가능) 업로드 API
+ *
+ * 1. POST /api/uploads {fileName, size} 로 세션 생성
+ * 2. PUT /api/uploads/{uploadId}?offset=N 으로 조각 전송 (본문은 원시 바이트)
+ * 3. 연결이 끊기면 GET /api/uploads/{uploadId} 의 offset부터 이어서 전송
+ * 4. POST /api/uploads/{uploadId}/complete 로 target에 등록
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+
+    private final ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody Map<String, Object> request) throws IOException {
+        Object fileName = request.get("fileName");
+        if (!(fileName instanceof String name) || !(request.get("size") instanceof Number size)) {
+            throw new IllegalArgumentException("fileName and size are required");
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(resumableUploadService.create(name, size.longValue()));
+    }
+
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<?> putChunk(@PathVariable String uploadId,
+                                      @RequestParam long offset,
+                                      HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(resumableUploadService.putChunk(uploadId, offset, request.getInputStream()));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> status(@PathVariable String uploadId) throws IOException {
+        return ResponseEntity.ok(resumableUploadService.status(uploadId));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(@PathVariable String uploadId,
+                                      @RequestBody(required = false) Map<String, String> request) throws IOException {
+        String sha256 = request != null ? request.get("sha256") : null;
+        var result = resumableUploadService.complete(uploadId, sha256);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fileName", result.fileName());
+        body.put("outlined", result.outlined());
+        body.put("translatedFileName", result.translatedFileName());
+        body.put("message", "Upload successful");
+        return ResponseEntity.ok(body);
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abort(@PathVariable String uploadId) throws IOException {
+        resumableUploadService.abort(uploadId);
+        return ResponseEntity.ok(Map.of("message", "Upload aborted"));
+    }
+}
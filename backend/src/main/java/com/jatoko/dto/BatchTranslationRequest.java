@@ -18,6 +18,7 @@
 
 package com.jatoko.dto;
 
+import com.jatoko.model.RunPolicy;
 import lombok.Data;
 
 import java.util.List;
@@ -25,4 +26,6 @@ import java.util.List;
 @Data
 public class BatchTranslationRequest {
     private List<String> fileNames;
+    private String owner;  // 공정 스케줄링 단위 (미지정 시 요청 IP)
+    private RunPolicy runPolicy;  // 실행 조건 (예: {"mode":"WINDOW","windowStart":"22:00","windowEnd":"06:00"}, {"mode":"IDLE"})
 }
@@ -31,4 +31,7 @@ public class BatchTranslationResponse {
     private int totalCount;
     private int successCount;
     private int failedCount;
+    private int translatedSegments;  // DeepL에 요청한 고유 텍스트 수 (배치 전체 중복 제거 후)
+    private List<BatchFileResult> results;  // 파일별 결과 (요청 순서)
+    private long elapsedMs;
 }
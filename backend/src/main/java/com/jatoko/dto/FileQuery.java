@@ -0,0 +1,44 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.dto;
+
+import lombok.Data;
+
+/**
+ * 파일 메타데이터 목록 조회 조건 (모든 항목 선택, 미지정 시 전체/파일명 오름차순)
+ */
+@Data
+public class FileQuery {
+    private String type;         // 파일 형식 (asta, svg)
+    private Boolean translated;  // 번역 여부
+    private Boolean outlined;    // SVG 아웃라인 여부
+    private String prefix;       // 파일명 접두어 (대소문자 무시)
+    private String sort;         // fileName, uploadedAt, translatedAt, size
+    private String order;        // asc, desc
+    private Integer limit;       // 페이지 크기
+    private String cursor;       // 이전 페이지의 nextCursor
+
+    /**
+     * 조건이 하나도 없으면 기존처럼 전체 목록을 배열로 반환합니다.
+     */
+    public boolean isEmpty() {
+        return type == null && translated == null && outlined == null && prefix == null
+                && sort == null && order == null && limit == null && cursor == null;
+    }
+}
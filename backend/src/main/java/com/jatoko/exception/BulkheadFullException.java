@@ -0,0 +1,29 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.exception;
+
+/**
+ * 벌크헤드(작업 종류별 실행기)의 대기열이 가득 차 작업을 받을 수 없을 때 발생하는 예외 (503)
+ */
+public class BulkheadFullException extends ServiceUnavailableException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
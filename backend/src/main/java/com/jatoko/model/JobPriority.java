@@ -0,0 +1,34 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.model;
+
+/**
+ * 번역 작업의 우선순위 클래스
+ */
+public enum JobPriority {
+    /**
+     * 사용자가 화면에서 결과를 기다리는 단건 작업
+     */
+    INTERACTIVE,
+
+    /**
+     * 여러 파일을 한꺼번에 등록한 배치 작업
+     */
+    BATCH
+}
@@ -0,0 +1,82 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.model;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * 배치 작업의 실행 조건
+ *
+ * - ANYTIME: 조건 없음 (기본값)
+ * - WINDOW: windowStart~windowEnd 시간대에만 실행 (windowEnd가 더 이르면 자정을 넘는 시간대)
+ * - IDLE: 대기/실행 중인 대화형 작업이 없을 때만 실행
+ *
+ * 조건을 벗어나면 스케줄러가 작업을 보류하고, 실행 중이면 일시 중지했다가 조건이 맞을 때 재개합니다.
+ */
+public record RunPolicy(Mode mode, LocalTime windowStart, LocalTime windowEnd) {
+
+    public static final RunPolicy ANYTIME = new RunPolicy(Mode.ANYTIME, null, null);
+
+    public enum Mode {
+        ANYTIME, WINDOW, IDLE
+    }
+
+    public RunPolicy {
+        if (mode == null) {
+            mode = Mode.ANYTIME;
+        }
+        if (mode == Mode.WINDOW && (windowStart == null || windowEnd == null)) {
+            throw new IllegalArgumentException("windowStart and windowEnd are required for WINDOW policy");
+        }
+    }
+
+    /**
+     * 주어진 시각이 실행 시간대 안인지 확인합니다. WINDOW가 아니면 항상 true입니다.
+     */
+    public boolean isWindowOpen(LocalTime time) {
+        if (mode != Mode.WINDOW || windowStart.equals(windowEnd)) {
+            return true;
+        }
+        if (windowStart.isBefore(windowEnd)) {
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+    }
+
+    /**
+     * 다음으로 실행 시간대가 열리는 시각 (이미 열려 있으면 now)
+     */
+    public LocalDateTime nextOpening(LocalDateTime now) {
+        if (isWindowOpen(now.toLocalTime())) {
+            return now;
+        }
+        LocalDateTime opening = now.toLocalDate().atTime(windowStart);
+        return opening.isBefore(now) ? opening.plusDays(1) : opening;
+    }
+
+    @Override
+    public String toString() {
+        return switch (mode) {
+            case ANYTIME -> "ANYTIME";
+            case WINDOW -> "WINDOW " + windowStart + "~" + windowEnd;
+            case IDLE -> "IDLE";
+        };
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.model;
+
+import com.jatoko.dto.BatchTranslationResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 백그라운드에서 실행되는 파일 번역 작업
+ * 작업 스레드가 상태를 갱신하고 요청 스레드가 조회하므로 필드는 volatile로 선언합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranslationJob {
+    private volatile String jobId;
+    private volatile String fileName;
+    private volatile List<String> fileNames;  // 배치 작업의 파일 목록 (단일 파일 작업은 null)
+    private volatile String clientId;  // 작업을 등록한 SSE 클라이언트 (optional)
+    @Builder.Default
+    private volatile Set<String> subscriberIds = ConcurrentHashMap.newKeySet();  // 진행률을 받는 SSE 클라이언트 (합류한 요청 포함)
+    @Builder.Default
+    private volatile int requestCount = 1;  // 이 작업에 합류한 요청 수 (중복 요청 포함)
+    private volatile String owner;     // 공정 스케줄링 단위 (요청자)
+    private volatile JobPriority priority;
+    @Builder.Default
+    private volatile RunPolicy runPolicy = RunPolicy.ANYTIME;  // 배치 작업의 실행 시간대/유휴 조건
+    private volatile boolean pauseRequested;  // 실행 조건을 벗어나 일시 중지 요청됨 (중지 후 보류 상태로 돌아감)
+    private volatile boolean autoCancel;  // 모든 요청자가 대화형이면 구독자가 모두 끊길 때 자동 취소
+    private volatile boolean cancelRequested;
+    private volatile long estimatedCost;  // 예상 처리량 (번역 대상 문자 수 기준)
+    private volatile Integer queuePosition;  // 대기 중일 때 실행 순서 (0부터)
+    private volatile LocalDateTime estimatedStartAt;  // 대기 중일 때 예상 시작 시각
+    private volatile JobStatus status;
+    private volatile String message;
+    private volatile int percentage;
+    private volatile String resultFileName;  // 완료 시 translated 디렉토리의 결과 파일명
+    private volatile BatchTranslationResponse batchResult;  // 배치 작업 완료 시 파일별 결과
+    private volatile String errorMessage;
+    private volatile LocalDateTime createdAt;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+}
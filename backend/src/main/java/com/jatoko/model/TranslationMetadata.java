@@ -33,6 +33,15 @@ import java.util.Map;
 public class TranslationMetadata {
     private String originalFileHash;
     private long lastModified;
+    private int nodeCount;   // 마지막 추출 시 노드 수 (작업 비용 추정용)
+    private long charCount;  // 마지막 추출 시 원문 문자 수 (작업 비용 추정용)
+    private Boolean outlined;            // SVG 아웃라인 여부 (null이면 미확인)
+    private long outlineCheckedSize;     // 아웃라인 여부를 확인한 파일 크기
+    private long outlineCheckedModified; // 아웃라인 여부를 확인한 파일 수정 시각
+    private String contentHash;          // 업로드 시 계산한 내용 해시 (아래 크기/수정 시각의 파일 기준)
+    private long contentHashSize;
+    private long contentHashModified;
+    private long uploadedAt;             // target에 등록한 시각 (epoch millis, 링크로 공유하는 수정 시각 대신 버전 비교에 사용)
     
     @Builder.Default
     private Map<String, NodeTranslation> translations = new HashMap<>();
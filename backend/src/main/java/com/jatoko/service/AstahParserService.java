@@ -21,6 +21,8 @@ package com.jatoko.service;
 import com.change_vision.jude.api.inf.AstahAPI;
 import com.change_vision.jude.api.inf.model.IModel;
 import com.change_vision.jude.api.inf.project.ProjectAccessor;
+import com.jatoko.config.TranslationConfig;
+import com.jatoko.exception.TranslationCancelledException;
 import com.jatoko.model.DiagramNode;
 import com.jatoko.service.applier.DiagramTranslationApplier;
 import com.jatoko.service.applier.ModelTranslationApplier;
@@ -55,8 +57,9 @@ public class AstahParserService extends BaseParserService<DiagramNode> {
                               ModelTranslationApplier modelApplier,
                               DiagramTranslationApplier diagramApplier,
                               MetadataService metadataService,
-                              com.jatoko.service.translator.Translator translator) {
-        super(metadataService, translator);
+                              com.jatoko.service.translator.Translator translator,
+                              TranslationConfig translationConfig) {
+        super(metadataService, translator, translationConfig);
         this.nodeExtractor = nodeExtractor;
         this.translationMapBuilder = translationMapBuilder;
         this.translationApplier = translationApplier;
@@ -88,6 +91,26 @@ public class AstahParserService extends BaseParserService<DiagramNode> {
         }
     }
 
+    @Override
+    protected void extractNodes(File inputFile, Consumer<DiagramNode> sink) {
+        ProjectAccessor projectAccessor = null;
+        try {
+            AstahAPI api = AstahAPI.getAstahAPI();
+            projectAccessor = api.getProjectAccessor();
+            projectAccessor.open(inputFile.getAbsolutePath());
+
+            // 모델 탐색 중 노드를 찾는 즉시 전달 (번역이 추출과 겹쳐 진행됨)
+            nodeExtractor.extractJapaneseNodes(projectAccessor, sink);
+
+        } catch (TranslationCancelledException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Astah 파일 파싱 실패: " + e.getMessage(), e);
+        } finally {
+            closeProjectAccessor(projectAccessor);
+        }
+    }
+
     @Override
     protected void applyTranslationsInternal(File inputFile, List<DiagramNode> nodes, File outputFile) {
         ProjectAccessor projectAccessor = null;
@@ -18,18 +18,28 @@
 
 package com.jatoko.service;
 
+import com.jatoko.config.TranslationConfig;
+import com.jatoko.exception.TranslationCancelledException;
 import com.jatoko.model.NodeTranslation;
 import com.jatoko.model.TranslationMetadata;
 import com.jatoko.service.translator.Translator;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * 파싱 및 번역 서비스의 공통 로직을 처리하는 추상 클래스
@@ -39,12 +49,18 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class BaseParserService<T> implements ParserService {
 
+    // 추출→번역 큐에 쌓을 수 있는 청크 수
+    private static final int STREAM_QUEUE_CHUNKS = 4;
+
     protected final MetadataService metadataService;
     protected final Translator translator;
+    protected final TranslationConfig translationConfig;
 
-    protected BaseParserService(MetadataService metadataService, Translator translator) {
+    protected BaseParserService(MetadataService metadataService, Translator translator,
+                                TranslationConfig translationConfig) {
         this.metadataService = metadataService;
         this.translator = translator;
+        this.translationConfig = translationConfig;
     }
 
     /**
@@ -52,6 +68,14 @@ public abstract class BaseParserService<T> implements ParserService {
      */
     protected abstract List<T> extractNodes(File inputFile);
 
+    /**
+     * 파일에서 노드를 추출하면서 하나씩 sink에 전달합니다.
+     * 기본 구현은 extractNodes 결과를 순서대로 전달하며, 하위 클래스는 추출 도중 바로 전달하도록 오버라이드합니다.
+     */
+    protected void extractNodes(File inputFile, Consumer<T> sink) {
+        extractNodes(inputFile).forEach(sink);
+    }
+
     /**
      * 번역된 결과를 파일에 적용합니다.
      */
@@ -87,121 +111,366 @@ public abstract class BaseParserService<T> implements ParserService {
             log.info("통합 번역 시작: {}", inputFile.getName());
             progressCallback.onProgress("파일 분석 및 텍스트 추출 중...", 10);
 
-            // 1. 노드 추출
-            List<T> allNodes = extractNodes(inputFile);
-            if (allNodes.isEmpty()) {
-                log.warn("번역할 텍스트가 없습니다. 원본 파일을 복사합니다.");
-                progressCallback.onProgress("번역할 텍스트 없음. 원본 복사 중...", 90);
-                java.nio.file.Files.copy(inputFile.toPath(), outputFile.toPath(),
-                        java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                progressCallback.onProgress("완료", 100);
-                return;
-            }
+            // 1~3. 노드 추출, 메타데이터 비교, 신규 번역 (추출과 번역을 겹쳐 실행)
+            PreparedTranslation<T> prepared = extractAndTranslate(inputFile, outputFile, progressCallback);
+
+            // 4~6. 후처리, 메타데이터 저장, 번역 적용
+            complete(prepared, progressCallback);
+
+        } catch (TranslationCancelledException e) {
+            log.info("통합 번역 취소: {}", inputFile.getName());
+            throw e;
+        } catch (Exception e) {
+            log.error("통합 번역 실패: {}", e.getMessage(), e);
+            throw new RuntimeException("통합 번역 실패: " + e.getMessage(), e);
+        }
+    }
 
-            progressCallback.onProgress("메타데이터 로드 및 비교 중...", 20);
+    /**
+     * 노드를 추출하고 이전 메타데이터와 비교하여 번역이 필요한 노드를 골라냅니다.
+     * 원문이 같은 노드는 이전 번역을 그대로 설정합니다.
+     */
+    public PreparedTranslation<T> prepare(File inputFile, File outputFile) {
+        // 1. 노드 추출
+        List<T> allNodes = extractNodes(inputFile);
+        if (allNodes.isEmpty()) {
+            return new PreparedTranslation<>(this, inputFile, outputFile, allNodes, List.of(), null, null, 0);
+        }
 
-            // 2. 메타데이터 로드 및 비교
-            TranslationMetadata metadata = metadataService.loadMetadata(inputFile);
-            String currentHash = metadataService.calculateHash(inputFile);
-            Map<String, NodeTranslation> previousTranslations = metadata.getTranslations();
+        // 2. 메타데이터 로드 및 비교
+        TranslationMetadata metadata = metadataService.loadMetadata(inputFile);
+        String currentHash = metadataService.calculateHash(inputFile);
+        Map<String, NodeTranslation> previousTranslations = metadata.getTranslations();
 
-            List<T> nodesToTranslate = new ArrayList<>();
-            int reusedCount = 0;
+        List<T> nodesToTranslate = new ArrayList<>();
+        int reusedCount = 0;
 
-            for (T node : allNodes) {
-                if (isDuplicate(node)) continue;
+        for (T node : allNodes) {
+            if (isDuplicate(node)) continue;
 
-                NodeTranslation prev = previousTranslations.get(getId(node));
-                if (prev != null && prev.getOriginalText().equals(getOriginalText(node))) {
-                    // 이전 번역 재사용
-                    setTranslatedText(node, prev.getTranslatedText());
-                    reusedCount++;
-                } else {
-                    // 번역 필요
-                    nodesToTranslate.add(node);
-                }
+            NodeTranslation prev = previousTranslations.get(getId(node));
+            if (prev != null && prev.getOriginalText().equals(getOriginalText(node))) {
+                // 이전 번역 재사용
+                setTranslatedText(node, prev.getTranslatedText());
+                reusedCount++;
+            } else {
+                // 번역 필요
+                nodesToTranslate.add(node);
+            }
+        }
+
+        log.info("메타데이터 비교 결과: {} 재사용 {}개, 신규 번역 {}개",
+                inputFile.getName(), reusedCount, nodesToTranslate.size());
+        return new PreparedTranslation<>(this, inputFile, outputFile, allNodes, nodesToTranslate,
+                metadata, currentHash, reusedCount);
+    }
+
+    /**
+     * 추출과 번역을 겹쳐 실행합니다 (단일 파일 번역).
+     * 추출 스레드가 번역이 필요한 노드를 청크 단위로 제한된 큐에 넣으면, 호출 스레드가 첫 청크부터
+     * 바로 DeepL에 요청합니다. 큐가 가득 차면 추출이 대기하므로(backpressure) 번역을 기다리는 노드는
+     * STREAM_QUEUE_CHUNKS개 청크를 넘지 않습니다. DeepL 요청은 호출 스레드에서 실행되므로
+     * 작업 취소(인터럽트) 시 진행 중인 요청도 중단됩니다.
+     */
+    private PreparedTranslation<T> extractAndTranslate(File inputFile, File outputFile,
+                                                       ProgressCallback progressCallback) throws Exception {
+        ExtractionStream stream = new ExtractionStream(inputFile);
+        FutureTask<Void> producer = new FutureTask<>(() -> {
+            try {
+                extractNodes(inputFile, stream::accept);
+            } finally {
+                stream.finish();
             }
+            return null;
+        });
+        Thread extractor = Thread.ofVirtual().name("extract-" + inputFile.getName()).start(producer);
 
-            log.info("메타데이터 비교 결과: 재사용 {}개, 신규 번역 {}개", reusedCount, nodesToTranslate.size());
-
-            // 3. 신규 번역 수행
-            if (!nodesToTranslate.isEmpty()) {
-                List<String> originalTexts = nodesToTranslate.stream()
-                        .map(this::getOriginalText)
-                        .collect(Collectors.toList());
-
-                // 청크 단위로 번역 (DeepL API 제한 고려)
-                final int CHUNK_SIZE = 50;
-                List<String> translatedTexts = new ArrayList<>();
-                int totalToTranslate = originalTexts.size();
-                
-                for (int i = 0; i < totalToTranslate; i += CHUNK_SIZE) {
-                    if (i > 0) {
-                        try {
-                            TimeUnit.MILLISECONDS.sleep(500);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
+        List<T> pendingNodes = new ArrayList<>();
+        try {
+            List<T> chunk;
+            while ((chunk = takeChunk(stream)) != null) {
+                checkCancelled();
+                if (!pendingNodes.isEmpty()) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(translationConfig.getChunkDelay().toMillis());
+                    } catch (InterruptedException e) {
+                        throw new TranslationCancelledException("번역이 취소되었습니다.");
                     }
-                    
-                    // 진행률 계산 (20% ~ 80% 구간)
-                    int currentProgress = 20 + (int)((double)i / totalToTranslate * 60);
-                    progressCallback.onProgress(
-                        String.format("DeepL 번역 중... (%d/%d)", i, totalToTranslate), 
-                        currentProgress
-                    );
-
-                    int end = Math.min(i + CHUNK_SIZE, totalToTranslate);
-                    List<String> chunk = originalTexts.subList(i, end);
-                    translatedTexts.addAll(translator.translate(chunk));
-                    log.info("번역 진행: {}/{}", translatedTexts.size(), totalToTranslate);
                 }
 
-                for (int i = 0; i < nodesToTranslate.size(); i++) {
-                    setTranslatedText(nodesToTranslate.get(i), translatedTexts.get(i));
+                // 진행률 계산 (20% ~ 80% 구간, 전체 수는 이전 추출 결과로 추정)
+                int estimatedTotal = Math.max(stream.previousNodeCount(), pendingNodes.size() + translationConfig.getChunkSize());
+                progressCallback.onProgress(
+                    String.format("DeepL 번역 중... (%d개 완료)", pendingNodes.size()),
+                    20 + (int)((double) pendingNodes.size() / estimatedTotal * 60)
+                );
+
+                List<String> chunkTranslations;
+                try {
+                    chunkTranslations = translator.translate(chunk.stream().map(this::getOriginalText).toList());
+                } catch (InterruptedException e) {
+                    throw new TranslationCancelledException("번역이 취소되었습니다.");
                 }
-            } else {
-                progressCallback.onProgress("모든 텍스트가 이미 번역되어 있습니다.", 80);
+                for (int i = 0; i < chunk.size() && i < chunkTranslations.size(); i++) {
+                    setTranslatedText(chunk.get(i), chunkTranslations.get(i));
+                }
+                pendingNodes.addAll(chunk);
+                log.info("번역 진행: {}개 완료", pendingNodes.size());
+
+                // 청크 단위 체크포인트 (이후 청크에서 실패해도 재시도 시 재사용)
+                checkpointChunk(inputFile, chunk, chunkTranslations);
             }
 
-            progressCallback.onProgress("번역 후처리 중...", 85);
-            // 4. 후처리 (중복 노드 처리 등)
-            postProcessTranslations(allNodes, nodesToTranslate);
-
-            // 5. 메타데이터 업데이트
-            Map<String, NodeTranslation> newTranslations = new HashMap<>();
-            
-            // 다시 루프 돌면서 메타데이터 생성
-            for (T node : allNodes) {
-                 String translated = getTranslatedText(node);
-                 if (translated != null) {
-                     newTranslations.put(getId(node), NodeTranslation.builder()
-                             .id(getId(node))
-                             .originalText(getOriginalText(node))
-                             .translatedText(translated)
-                             .build());
-                 }
+            // 추출 중 발생한 예외 전달
+            producer.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
             }
+            throw e;
+        } finally {
+            // 번역이 실패/취소되면 추출도 중단 (이후 노드는 큐에 넣지 않고 버림)
+            stream.close();
+            producer.cancel(true);
+            awaitExtractor(extractor);
+        }
 
-            metadata.setOriginalFileHash(currentHash);
-            metadata.setLastModified(System.currentTimeMillis());
-            metadata.setTranslations(newTranslations);
-            metadataService.saveMetadata(inputFile, metadata);
+        List<T> allNodes = stream.allNodes;
+        if (allNodes.isEmpty()) {
+            return new PreparedTranslation<>(this, inputFile, outputFile, allNodes, List.of(), null, null, 0);
+        }
+        if (pendingNodes.isEmpty()) {
+            progressCallback.onProgress("모든 텍스트가 이미 번역되어 있습니다.", 80);
+        }
+        log.info("메타데이터 비교 결과: {} 재사용 {}개, 신규 번역 {}개",
+                inputFile.getName(), stream.reusedCount, pendingNodes.size());
 
-            progressCallback.onProgress("파일 생성 및 적용 중...", 90);
+        return new PreparedTranslation<>(this, inputFile, outputFile, allNodes, pendingNodes,
+                stream.metadata, metadataService.calculateHash(inputFile), stream.reusedCount);
+    }
 
-            // 6. 번역 적용
-            applyTranslationsInternal(inputFile, allNodes, outputFile);
+    /**
+     * 추출 스레드가 끝날 때까지 기다립니다.
+     * Astah ProjectAccessor는 프로세스 전역 객체이므로, 추출 스레드가 남은 채로 반환하면 다음 작업이 연 프로젝트를
+     * 이전 추출 스레드가 닫을 수 있습니다. 대기 중 취소 인터럽트를 받아도 끝까지 기다린 뒤 인터럽트 상태를 복원합니다.
+     */
+    private static void awaitExtractor(Thread extractor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                extractor.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    private List<T> takeChunk(ExtractionStream stream) {
+        try {
+            return stream.take();
+        } catch (InterruptedException e) {
+            throw new TranslationCancelledException("번역이 취소되었습니다.");
+        }
+    }
+
+    /**
+     * 추출 스레드와 번역 스레드 사이의 노드 스트림
+     * 추출된 노드를 이전 메타데이터와 비교하여, 번역이 필요한 노드만 청크로 묶어 제한된 큐에 넣습니다.
+     */
+    private class ExtractionStream {
+        private final File inputFile;
+        private final BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(STREAM_QUEUE_CHUNKS);
+        private final List<T> end = new ArrayList<>();  // 스트림 종료 표시 (참조 비교)
+
+        // 추출 스레드에서만 쓰고, 번역 스레드는 추출 완료(producer.get) 후에만 읽음
+        private final List<T> allNodes = new ArrayList<>();
+        private TranslationMetadata metadata;
+        private int reusedCount;
+        private List<T> current = new ArrayList<>();
+        private volatile int previousNodeCount;
+        private volatile boolean closed;
+
+        ExtractionStream(File inputFile) {
+            this.inputFile = inputFile;
+        }
+
+        void accept(T node) {
+            if (metadata == null) {
+                // 첫 노드에서 메타데이터 로드 (노드가 없는 파일은 메타데이터를 읽지 않음)
+                metadata = metadataService.loadMetadata(inputFile);
+                previousNodeCount = metadata.getNodeCount();
+            }
+            allNodes.add(node);
+            if (isDuplicate(node)) return;
+
+            NodeTranslation prev = metadata.getTranslations().get(getId(node));
+            if (prev != null && prev.getOriginalText().equals(getOriginalText(node))) {
+                // 이전 번역 재사용
+                setTranslatedText(node, prev.getTranslatedText());
+                reusedCount++;
+                return;
+            }
+
+            current.add(node);
+            if (current.size() >= translationConfig.getChunkSize()) {
+                put(current);
+                current = new ArrayList<>();
+            }
+        }
+
+        void finish() {
+            if (!current.isEmpty()) {
+                put(current);
+            }
+            put(end);
+        }
+
+        List<T> take() throws InterruptedException {
+            List<T> chunk = queue.take();
+            return chunk == end ? null : chunk;
+        }
+
+        int previousNodeCount() {
+            return previousNodeCount;
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        private void put(List<T> chunk) {
+            if (closed) return;
+            try {
+                queue.put(chunk);
+            } catch (InterruptedException e) {
+                closed = true;
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * pendingNodes 중 indices 위치의 노드에 번역을 설정하고 메타데이터 체크포인트에 기록합니다.
+     */
+    void applyPendingTranslations(PreparedTranslation<T> prepared, List<Integer> indices, List<String> translations) {
+        List<T> chunkNodes = new ArrayList<>(indices.size());
+        for (int i = 0; i < indices.size() && i < translations.size(); i++) {
+            T node = prepared.getPendingNodes().get(indices.get(i));
+            setTranslatedText(node, translations.get(i));
+            chunkNodes.add(node);
+        }
+        checkpointChunk(prepared.getInputFile(), chunkNodes, translations);
+    }
+
+    /**
+     * 후처리, 메타데이터 저장, 번역 적용을 수행하여 출력 파일을 생성합니다.
+     */
+    void complete(PreparedTranslation<T> prepared, ProgressCallback progressCallback) throws Exception {
+        File inputFile = prepared.getInputFile();
+        File outputFile = prepared.getOutputFile();
+        List<T> allNodes = prepared.getAllNodes();
+
+        if (allNodes.isEmpty()) {
+            log.warn("번역할 텍스트가 없습니다. 원본 파일을 복사합니다.");
+            progressCallback.onProgress("번역할 텍스트 없음. 원본 복사 중...", 90);
+            writeAtomically(outputFile, temp -> Files.copy(inputFile.toPath(), temp.toPath()));
             progressCallback.onProgress("완료", 100);
-            log.info("통합 번역 완료: {} -> {}", inputFile.getName(), outputFile.getName());
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("통합 번역 실패: {}", e.getMessage(), e);
-            throw new RuntimeException("통합 번역 실패: " + e.getMessage(), e);
+        // 취소된 경우 적용/저장 단계는 건너뜀 (완료된 청크는 체크포인트에 남아 재사용됨)
+        checkCancelled();
+
+        progressCallback.onProgress("번역 후처리 중...", 85);
+        // 4. 후처리 (중복 노드 처리 등)
+        postProcessTranslations(allNodes, prepared.getPendingNodes());
+
+        // 5. 메타데이터 업데이트
+        Map<String, NodeTranslation> newTranslations = new HashMap<>();
+
+        // 다시 루프 돌면서 메타데이터 생성
+        for (T node : allNodes) {
+             String translated = getTranslatedText(node);
+             if (translated != null) {
+                 newTranslations.put(getId(node), NodeTranslation.builder()
+                         .id(getId(node))
+                         .originalText(getOriginalText(node))
+                         .translatedText(translated)
+                         .build());
+             }
         }
+
+        TranslationMetadata metadata = prepared.getMetadata();
+        metadata.setOriginalFileHash(prepared.getCurrentHash());
+        metadata.setLastModified(System.currentTimeMillis());
+        metadata.setNodeCount(allNodes.size());
+        metadata.setCharCount(allNodes.stream()
+                .map(this::getOriginalText)
+                .mapToLong(text -> text != null ? text.length() : 0)
+                .sum());
+        metadata.setTranslations(newTranslations);
+        metadataService.saveMetadata(inputFile, metadata);
+
+        checkCancelled();
+        progressCallback.onProgress("파일 생성 및 적용 중...", 90);
+
+        // 6. 번역 적용
+        writeAtomically(outputFile, temp -> applyTranslationsInternal(inputFile, allNodes, temp));
+
+        progressCallback.onProgress("완료", 100);
+        log.info("통합 번역 완료: {} -> {}", inputFile.getName(), outputFile.getName());
     }
     
+    /**
+     * 같은 디렉토리의 임시 파일에 쓴 뒤 출력 위치로 원자적으로 교체합니다.
+     * 완성되기 전의 출력이 보이지 않고, 이전 출력이 번역 결과 캐시(blob)와 하드 링크로 연결된 파일이어도
+     * 그 자리에서 열어 쓰지 않습니다. 임시 파일은 숨김 파일이며 확장자를 유지합니다 (Astah 저장).
+     */
+    private void writeAtomically(File outputFile, OutputWriter writer) throws Exception {
+        Path output = outputFile.toPath();
+        Path temp = output.resolveSibling("." + UUID.randomUUID() + "_" + output.getFileName());
+        try {
+            writer.write(temp.toFile());
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    private interface OutputWriter {
+        void write(File target) throws Exception;
+    }
+
+    /**
+     * 현재 스레드가 인터럽트(작업 취소)되었으면 TranslationCancelledException을 던집니다.
+     */
+    protected void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new TranslationCancelledException("번역이 취소되었습니다.");
+        }
+    }
+
+    /**
+     * 번역이 끝난 청크를 메타데이터 체크포인트에 기록합니다.
+     */
+    private void checkpointChunk(File inputFile, List<T> chunkNodes, List<String> chunkTranslations) {
+        List<NodeTranslation> checkpoint = new ArrayList<>(chunkNodes.size());
+        for (int i = 0; i < chunkNodes.size() && i < chunkTranslations.size(); i++) {
+            T node = chunkNodes.get(i);
+            checkpoint.add(NodeTranslation.builder()
+                    .id(getId(node))
+                    .originalText(getOriginalText(node))
+                    .translatedText(chunkTranslations.get(i))
+                    .build());
+        }
+        metadataService.appendCheckpoint(inputFile, checkpoint);
+    }
+
     // 추가 필요한 추상 메서드
     protected abstract String getTranslatedText(T node);
 }
@@ -0,0 +1,287 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service;
+
+import com.jatoko.config.ConcurrencyConfig;
+import com.jatoko.exception.TranslationCancelledException;
+import com.jatoko.service.admission.MemoryAdmission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * 단계별 배치 번역 파이프라인
+ *
+ * 추출(CPU) → 번역(DeepL I/O) → 적용/저장(CPU, 디스크) 단계를 크기가 제한된 큐로 연결하여
+ * 한 파일이 번역되는 동안 다른 파일의 추출과 저장이 함께 진행되도록 합니다.
+ * 단계별 작업자 수와 큐 크기는 ConcurrencyConfig로 설정하고, 파일 타입별 동시 실행 수는
+ * 추출/적용 단계에서 FileConcurrencyLimiter가 제한합니다 (Astah 파일은 단계와 관계없이 하나씩).
+ * 번역 단계는 큐에 쌓인 파일들을 묶어 하나의 합집합 계획으로 번역하므로 청크가 파일 경계와 관계없이 채워지고,
+ * 배치 단위 번역 메모리를 공유하므로 여러 파일에 반복되는 텍스트는 한 번만 요청됩니다.
+ * 추출된 문서는 적용이 끝날 때까지 메모리에 남으므로, 힙 예산(MemoryAdmission)은 추출 전에 확보하고
+ * 적용/실패 후에 반환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchTranslationPipeline {
+
+    private static final StageItem END = new StageItem(null, null, null);
+    private static final ProgressCallback NO_PROGRESS = (message, percentage) -> {};
+
+    private final BatchTranslationPlanner batchTranslationPlanner;
+    private final FileConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrencyConfig concurrencyConfig;
+    private final MemoryAdmission memoryAdmission;
+
+    /**
+     * 파일명으로 추출 + 메타데이터 비교까지 마친 번역 준비 결과를 만듭니다.
+     */
+    @FunctionalInterface
+    public interface Preparer {
+        PreparedTranslation<?> prepare(String fileName) throws Exception;
+    }
+
+    /**
+     * 파일별 처리 결과 (error가 null이면 성공)
+     */
+    public record FileOutcome(String outputFileName, Exception error, long finishedAt) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    public record Result(Map<String, FileOutcome> outcomes, int translatedSegments) {}
+
+    private record StageItem(String fileName, PreparedTranslation<?> file, MemoryAdmission.Permit permit) {}
+
+    /**
+     * 파일들을 파이프라인으로 번역합니다.
+     * 마감 시간(System.nanoTime 기준)을 넘기면 모든 단계를 중단하고,
+     * 끝나지 않은 파일은 TimeoutException 결과로 보고합니다.
+     *
+     * @param inputBytes 파일명 → 입력 파일 크기 (힙 사용량 추정용)
+     */
+    public Result run(List<String> fileNames, ToLongFunction<String> inputBytes, Preparer preparer, long deadline) {
+        Map<String, FileOutcome> outcomes = new ConcurrentHashMap<>();
+        if (fileNames.isEmpty()) {
+            return new Result(outcomes, 0);
+        }
+
+        int capacity = Math.max(1, concurrencyConfig.getStageQueueCapacity());
+        int extractWorkers = Math.max(1, Math.min(concurrencyConfig.getExtractWorkers(), fileNames.size()));
+        int translateWorkers = Math.max(1, Math.min(concurrencyConfig.getTranslateWorkers(), fileNames.size()));
+        int applyWorkers = Math.max(1, Math.min(concurrencyConfig.getApplyWorkers(), fileNames.size()));
+
+        ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>(fileNames);
+        BlockingQueue<StageItem> toTranslate = new ArrayBlockingQueue<>(capacity);
+        BlockingQueue<StageItem> toApply = new ArrayBlockingQueue<>(capacity);
+        AtomicInteger extracting = new AtomicInteger(extractWorkers);
+        AtomicInteger translating = new AtomicInteger(translateWorkers);
+        Map<String, String> memory = new ConcurrentHashMap<>();
+        AtomicInteger translatedSegments = new AtomicInteger();
+        Set<MemoryAdmission.Permit> permits = ConcurrentHashMap.newKeySet();
+
+        log.info("배치 파이프라인 시작: 파일 {}개 (추출 {} / 번역 {} / 적용 {}, 큐 {})",
+                fileNames.size(), extractWorkers, translateWorkers, applyWorkers, capacity);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < extractWorkers; i++) {
+            executor.submit(stage(extracting, toTranslate, translateWorkers, () -> {
+                String fileName;
+                while ((fileName = pending.poll()) != null) {
+                    MemoryAdmission.Permit permit = null;
+                    PreparedTranslation<?> file;
+                    try {
+                        permit = memoryAdmission.acquire(fileName, inputBytes.applyAsLong(fileName));
+                        permits.add(permit);
+                        file = preparer.prepare(fileName);
+                    } catch (Exception e) {
+                        release(permits, permit);
+                        fail(outcomes, fileName, e);
+                        continue;
+                    }
+                    toTranslate.put(new StageItem(fileName, file, permit));
+                }
+            }));
+        }
+        for (int i = 0; i < translateWorkers; i++) {
+            executor.submit(stage(translating, toApply, applyWorkers, () -> {
+                boolean ended = false;
+                StageItem item;
+                while (!ended && (item = toTranslate.take()) != END) {
+                    // 추출을 마치고 기다리는 파일을 함께 묶어 한 계획으로 번역
+                    List<StageItem> group = new ArrayList<>();
+                    group.add(item);
+                    StageItem next;
+                    while (group.size() < capacity && (next = toTranslate.poll()) != null) {
+                        if (next == END) {
+                            ended = true;
+                            break;
+                        }
+                        group.add(next);
+                    }
+
+                    try {
+                        List<PreparedTranslation<?>> files = group.stream()
+                                .<PreparedTranslation<?>>map(StageItem::file)
+                                .toList();
+                        translatedSegments.addAndGet(batchTranslationPlanner.translate(files, memory, NO_PROGRESS));
+                    } catch (Exception e) {
+                        for (StageItem failed : group) {
+                            release(permits, failed.permit());
+                            fail(outcomes, failed.fileName(), e);
+                        }
+                        continue;
+                    }
+                    for (StageItem translated : group) {
+                        toApply.put(translated);
+                    }
+                }
+            }));
+        }
+        for (int i = 0; i < applyWorkers; i++) {
+            executor.submit(stage(null, null, 0, () -> {
+                StageItem item;
+                while ((item = toApply.take()) != END) {
+                    PreparedTranslation<?> file = item.file();
+                    try {
+                        concurrencyLimiter.run(item.fileName(), () -> {
+                            file.complete(NO_PROGRESS);
+                            return null;
+                        });
+                        outcomes.put(item.fileName(),
+                                new FileOutcome(file.getOutputFile().getName(), null, System.nanoTime()));
+                    } catch (Exception e) {
+                        fail(outcomes, item.fileName(), e);
+                    } finally {
+                        release(permits, item.permit());
+                    }
+                }
+            }));
+        }
+
+        executor.shutdown();
+        Exception unfinished = null;
+        try {
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                unfinished = new TimeoutException("Batch deadline exceeded");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unfinished = new TranslationCancelledException("번역이 취소되었습니다.");
+        }
+
+        if (unfinished != null) {
+            // 중단 전까지 끝난 결과만 인정하고, 인터럽트로 인한 실패는 미완료로 보고
+            Map<String, FileOutcome> finished = new HashMap<>(outcomes);
+            executor.shutdownNow();
+            // 인터럽트에 반응하지 않는 단계(파일 저장 등)가 끝날 때까지 기다린 뒤 예산과 파일을 반환
+            awaitStopped(executor);
+            outcomes.forEach((fileName, outcome) -> {
+                if (outcome.succeeded()) {
+                    finished.put(fileName, outcome);
+                }
+            });
+            log.warn("배치 파이프라인 중단: 완료 {}개 / 전체 {}개", finished.size(), fileNames.size());
+            for (String fileName : fileNames) {
+                finished.putIfAbsent(fileName, new FileOutcome(null, unfinished, System.nanoTime()));
+            }
+            // 중단된 단계나 큐에 남은 파일의 예산 반환
+            permits.forEach(MemoryAdmission.Permit::close);
+            return new Result(finished, translatedSegments.get());
+        }
+        return new Result(outcomes, translatedSegments.get());
+    }
+
+    /**
+     * 중단된 작업자가 모두 끝날 때까지 기다립니다. 호출자는 이후 출력 파일과 예산을 반환하므로,
+     * 대기 중 취소 인터럽트를 받아도 끝까지 기다린 뒤 인터럽트 상태를 복원합니다.
+     */
+    private static void awaitStopped(ExecutorService executor) {
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+                log.warn("배치 파이프라인 작업자 종료 대기 중...");
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void release(Set<MemoryAdmission.Permit> permits, MemoryAdmission.Permit permit) {
+        if (permit != null) {
+            permit.close();
+            permits.remove(permit);
+        }
+    }
+
+    /**
+     * 단계 작업자를 감쌉니다. 같은 단계의 마지막 작업자가 끝나면
+     * 다음 단계 작업자 수만큼 종료 표시를 넣어 다음 단계도 끝나게 합니다.
+     */
+    private Callable<Void> stage(AtomicInteger remaining, BlockingQueue<StageItem> next, int nextWorkers,
+                                 StageLoop loop) {
+        return () -> {
+            try {
+                loop.run();
+            } finally {
+                if (remaining != null && remaining.decrementAndGet() == 0) {
+                    for (int i = 0; i < nextWorkers; i++) {
+                        next.put(END);
+                    }
+                }
+            }
+            return null;
+        };
+    }
+
+    private void fail(Map<String, FileOutcome> outcomes, String fileName, Exception e) {
+        log.error("Failed to translate file in pipeline: {}", fileName, e);
+        outcomes.put(fileName, new FileOutcome(null, e, System.nanoTime()));
+    }
+
+    @FunctionalInterface
+    private interface StageLoop {
+        void run() throws InterruptedException;
+    }
+}
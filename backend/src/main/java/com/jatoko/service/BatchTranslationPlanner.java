@@ -0,0 +1,201 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service;
+
+import com.jatoko.config.TranslationConfig;
+import com.jatoko.exception.TranslationCancelledException;
+import com.jatoko.service.translator.Translator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 번역 계획 서비스
+ *
+ * 배치에 포함된 모든 파일의 미번역 텍스트를 정규화하여 합집합을 만들고,
+ * 고유 텍스트만 청크 단위로 한 번씩 번역한 뒤 각 파일의 노드에 나눠 적용합니다.
+ * 여러 파일에 반복되는 라벨(엔티티명, 화면명 등)은 배치 전체에서 한 번만 DeepL에 요청됩니다.
+ * 파일을 나눠서 번역할 때는 배치 단위 번역 메모리(정규화 텍스트 → 번역)를 넘겨
+ * 앞서 번역한 텍스트를 재사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchTranslationPlanner {
+
+    private final Translator translator;
+    private final TranslationConfig translationConfig;
+
+    /**
+     * 정규화된 고유 텍스트 하나와 그 텍스트를 가진 노드 위치 목록
+     */
+    private record Segment(String text, List<SegmentRef> refs) {}
+
+    /**
+     * 파일 내 미번역 노드 위치와 원문 앞뒤 공백 (번역 결과에 다시 붙임)
+     */
+    private record SegmentRef(PreparedTranslation<?> file, int index, String leading, String trailing) {}
+
+    /**
+     * 여러 파일의 미번역 텍스트를 한 번에 번역하여 각 파일에 설정합니다.
+     * 번역 메모리에 있는 텍스트는 바로 적용하고, 나머지 고유 텍스트만 번역하여 메모리에 추가합니다.
+     *
+     * @param memory 정규화 텍스트 → 번역 (배치 안에서 공유)
+     * @return DeepL에 요청한 고유 텍스트 수
+     */
+    public int translate(List<PreparedTranslation<?>> files, Map<String, String> memory,
+                         ProgressCallback progressCallback) throws Exception {
+        List<Segment> segments = new ArrayList<>();
+        List<Segment> remembered = new ArrayList<>();
+        List<String> rememberedTranslations = new ArrayList<>();
+        for (Segment segment : collectUniqueSegments(files)) {
+            String known = memory.get(segment.text());
+            if (known != null) {
+                remembered.add(segment);
+                rememberedTranslations.add(known);
+            } else {
+                segments.add(segment);
+            }
+        }
+        if (!remembered.isEmpty()) {
+            distribute(remembered, rememberedTranslations);
+        }
+
+        int totalTexts = files.stream().mapToInt(file -> file.getPendingNodes().size()).sum();
+        log.info("배치 번역 계획: 파일 {}개, 미번역 텍스트 {}개 → 고유 텍스트 {}개 (번역 메모리 재사용 {}개)",
+                files.size(), totalTexts, segments.size(), remembered.size());
+
+        List<List<Segment>> chunks = planChunks(segments);
+        int translated = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new TranslationCancelledException("번역이 취소되었습니다.");
+            }
+            if (i > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(translationConfig.getChunkDelay().toMillis());
+                } catch (InterruptedException e) {
+                    throw new TranslationCancelledException("번역이 취소되었습니다.");
+                }
+            }
+
+            List<Segment> chunk = chunks.get(i);
+            progressCallback.onProgress(
+                    String.format("DeepL 번역 중... (%d/%d)", translated, segments.size()),
+                    20 + (int) ((double) translated / Math.max(1, segments.size()) * 60));
+
+            List<String> results;
+            try {
+                results = translator.translate(chunk.stream().map(Segment::text).toList());
+            } catch (InterruptedException e) {
+                throw new TranslationCancelledException("번역이 취소되었습니다.");
+            }
+            distribute(chunk, results);
+            for (int j = 0; j < chunk.size() && j < results.size(); j++) {
+                memory.put(chunk.get(j).text(), results.get(j));
+            }
+            translated += chunk.size();
+            log.info("배치 번역 진행: {}/{}", translated, segments.size());
+        }
+        return segments.size();
+    }
+
+    /**
+     * 모든 파일의 미번역 텍스트를 정규화 기준으로 묶습니다 (첫 등장 순서 유지).
+     */
+    private List<Segment> collectUniqueSegments(List<PreparedTranslation<?>> files) {
+        Map<String, Segment> unique = new LinkedHashMap<>();
+        for (PreparedTranslation<?> file : files) {
+            List<String> texts = file.getPendingTexts();
+            for (int i = 0; i < texts.size(); i++) {
+                String original = texts.get(i);
+                String key = normalize(original);
+                if (key.isEmpty()) {
+                    // 공백뿐인 텍스트는 번역하지 않고 그대로 유지
+                    file.applyTranslations(List.of(i), List.of(original));
+                    continue;
+                }
+
+                String leading = original.substring(0, original.length() - original.stripLeading().length());
+                String trailing = original.substring(original.stripTrailing().length());
+                unique.computeIfAbsent(key, k -> new Segment(k, new ArrayList<>()))
+                        .refs().add(new SegmentRef(file, i, leading, trailing));
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    /**
+     * 텍스트 수와 문자 수 제한을 모두 지키도록 고유 텍스트를 청크로 나눕니다.
+     */
+    private List<List<Segment>> planChunks(List<Segment> segments) {
+        List<List<Segment>> chunks = new ArrayList<>();
+        List<Segment> current = new ArrayList<>();
+        int currentChars = 0;
+
+        for (Segment segment : segments) {
+            int length = segment.text().length();
+            boolean full = current.size() >= translationConfig.getChunkSize()
+                    || (!current.isEmpty() && currentChars + length > translationConfig.getChunkCharBudget());
+            if (full) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                currentChars = 0;
+            }
+            current.add(segment);
+            currentChars += length;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * 청크 번역 결과를 각 파일의 노드에 설정하고 파일별 체크포인트에 기록합니다.
+     */
+    private void distribute(List<Segment> chunk, List<String> results) {
+        Map<PreparedTranslation<?>, List<Integer>> indicesByFile = new LinkedHashMap<>();
+        Map<PreparedTranslation<?>, List<String>> translationsByFile = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size() && i < results.size(); i++) {
+            for (SegmentRef ref : chunk.get(i).refs()) {
+                indicesByFile.computeIfAbsent(ref.file(), k -> new ArrayList<>()).add(ref.index());
+                translationsByFile.computeIfAbsent(ref.file(), k -> new ArrayList<>())
+                        .add(ref.leading() + results.get(i) + ref.trailing());
+            }
+        }
+        indicesByFile.forEach((file, indices) -> file.applyTranslations(indices, translationsByFile.get(file)));
+    }
+
+    /**
+     * 중복 판정용 정규화: 유니코드 NFC 정규화 후 앞뒤 공백 제거
+     */
+    static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFC).strip();
+    }
+}
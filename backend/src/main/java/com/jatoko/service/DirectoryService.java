@@ -18,7 +18,14 @@
 
 package com.jatoko.service;
 
+import com.jatoko.config.ConcurrencyConfig;
 import com.jatoko.config.DirectoryConfig;
+import com.jatoko.exception.TranslationCancelledException;
+import com.jatoko.service.admission.MemoryAdmission;
+import com.jatoko.service.catalog.FileCatalog;
+import com.jatoko.service.storage.BlobStore;
+import com.jatoko.service.storage.ChunkStore;
+import com.jatoko.util.UploadSpooler;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,42 +33,82 @@ import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.web.multipart.MultipartFile;
 import com.jatoko.dto.FileMetadataDto;
+import com.jatoko.dto.FilePage;
+import com.jatoko.dto.FileQuery;
+import com.jatoko.dto.BatchFileResult;
 import com.jatoko.dto.BatchTranslationResponse;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import com.jatoko.util.SvgOutlineDetector;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DirectoryService {
 
+    private static final String RESERVED_SUFFIX = ".reserved";
+    private static final Pattern TRANSLATED_VERSION = Pattern.compile("^.*_translated_(\\d+)\\.[^.]+$");
+
     private final DirectoryConfig directoryConfig;
     private final AstahParserService astahParserService;
     private final SvgParserService svgParserService;
     private final ProgressService progressService;
+    private final FileConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrencyConfig concurrencyConfig;
+    private final BatchTranslationPipeline batchTranslationPipeline;
+    private final MemoryAdmission memoryAdmission;
+    private final FileCatalog fileCatalog;
+    private final MetadataService metadataService;
+    private final BlobStore blobStore;
+    private final ChunkStore chunkStore;
+
+    // 번역 중인 파일명 → 진행 중인 번역 (같은 파일의 동시 요청은 합류)
+    private final Map<String, InFlightTranslation> inFlight = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void init() {
         createDirectoryIfNotExists(directoryConfig.getTarget(), "Target");
         createDirectoryIfNotExists(directoryConfig.getTranslated(), "Translated");
+        removeStaleReservations();
+    }
+
+    /**
+     * 이전 실행이 비정상 종료되어 남은 출력 파일명 예약을 지웁니다.
+     */
+    private void removeStaleReservations() {
+        File[] reservations = new File(directoryConfig.getTranslated())
+                .listFiles((dir, name) -> name.startsWith(".") && name.endsWith(RESERVED_SUFFIX));
+        if (reservations != null) {
+            for (File reservation : reservations) {
+                deleteQuietly(reservation.toPath());
+            }
+        }
     }
 
     private void createDirectoryIfNotExists(String path, String name) {
@@ -119,8 +166,10 @@ public class DirectoryService {
 
     /**
      * 업로드 결과 DTO
+     *
+     * @param translatedFileName 같은 내용의 번역 결과를 바로 연결한 경우 그 파일명 (없으면 null)
      */
-    public record UploadResult(String fileName, boolean outlined) {}
+    public record UploadResult(String fileName, boolean outlined, String translatedFileName) {}
 
     public UploadResult uploadToTarget(MultipartFile file) throws IOException {
         String targetPath = directoryConfig.getTarget();
@@ -131,19 +180,124 @@ public class DirectoryService {
         String baseName = dotIndex > 0 ? originalFileName.substring(0, dotIndex) : originalFileName;
         String extension = dotIndex > 0 ? originalFileName.substring(dotIndex) : "";
 
-        // 중복 파일명 처리
-        String uniqueFileName = getUniqueFileName(targetPath, baseName, extension);
-        Path destination = Paths.get(targetPath, uniqueFileName);
-        Files.copy(file.getInputStream(), destination);
-        log.info("File uploaded to target: {}", destination);
+        // 중복 파일명 처리 (동시 업로드가 같은 이름을 먼저 차지하면 다음 번호로 재시도)
+        String uniqueFileName;
+        Path destination;
+        UploadSpooler.Result spooled;
+        while (true) {
+            uniqueFileName = getUniqueFileName(targetPath, baseName, extension);
+            destination = Paths.get(targetPath, uniqueFileName);
+            // 한 번 읽으며 저장 + 해시 + 형식 확인 + (SVG) 아웃라인 판정
+            try (InputStream in = file.getInputStream()) {
+                spooled = UploadSpooler.spool(in, destination);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Upload name taken concurrently, retrying: {}", uniqueFileName);
+            }
+        }
+        log.info("File uploaded to target: {} ({} bytes)", destination, spooled.size());
+        return registerUpload(destination, baseName + extension, spooled.hash(), spooled.outlined());
+    }
 
-        // SVG 파일인 경우 아웃라인 여부 확인
-        boolean outlined = false;
-        if (uniqueFileName.toLowerCase().endsWith(".svg")) {
-            outlined = SvgOutlineDetector.isOutlined(destination.toFile());
+    /**
+     * 분할 업로드로 조립이 끝난 파일을 target에 등록합니다.
+     * 해시는 조각을 받으면서 계산한 값을 쓰고, 형식 확인과 SVG 아웃라인 판정은 파일 앞부분/첫 텍스트 요소까지만 읽습니다.
+     */
+    public UploadResult importUpload(Path assembled, String originalFileName, String hash) throws IOException {
+        String targetPath = directoryConfig.getTarget();
+        int dotIndex = originalFileName.lastIndexOf('.');
+        String baseName = dotIndex > 0 ? originalFileName.substring(0, dotIndex) : originalFileName;
+        String extension = dotIndex > 0 ? originalFileName.substring(dotIndex) : "";
+
+        Boolean outlined = UploadSpooler.inspect(assembled, originalFileName);
+
+        // 먼저 target의 숨김 임시 이름으로 옮김 (다른 파일 시스템이면 복사가 되므로 완성 전에는 보이지 않게)
+        Path staged = Paths.get(targetPath, "." + UUID.randomUUID() + ".upload");
+        Files.move(assembled, staged);
+        Path destination;
+        try {
+            destination = claimUploadName(staged, targetPath, baseName, extension);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        log.info("Chunked upload assembled to target: {}", destination);
+        return registerUpload(destination, baseName + extension, hash, outlined);
+    }
+
+    /**
+     * 외부(감시 폴더)에서 바뀐 파일로 target의 같은 이름 파일을 교체하고 업로드와 같은 방식으로 등록합니다.
+     * 같은 이름을 유지해야 기존 메타데이터(노드 번역)가 재사용됩니다.
+     * target 파일은 다른 이름과 공유하는 blob 링크일 수 있으므로 제자리에서 쓰지 않고 새 파일로 교체한 뒤,
+     * 이전 내용의 blob은 참조가 없으면 정리합니다.
+     */
+    public void replaceTarget(Path source, String hash) throws IOException {
+        String fileName = source.getFileName().toString();
+        Path destination = Paths.get(directoryConfig.getTarget(), fileName);
+        String previousHash = Files.exists(destination)
+                ? metadataService.loadMetadata(destination.toFile()).getContentHash()
+                : null;
+
+        // 형식 확인은 교체 전 임시 복사본으로 (형식이 다르면 기존 파일을 그대로 둠)
+        Path temp = destination.resolveSibling("." + fileName + ".incoming");
+        Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+        Boolean outlined;
+        try {
+            outlined = UploadSpooler.inspect(temp, fileName);
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (previousHash != null && !previousHash.equals(hash)) {
+            blobStore.release(previousHash);
         }
 
-        return new UploadResult(uniqueFileName, outlined);
+        blobStore.store(destination, hash);
+        metadataService.recordUpload(destination.toFile(), hash, outlined);
+        fileCatalog.refreshTarget(fileName);
+        log.info("Target file replaced: {}", destination);
+    }
+
+    /**
+     * 임시 파일을 겹치지 않는 업로드 파일명으로 옮깁니다.
+     * 하드 링크 생성은 이름이 없을 때만 원자적으로 성공하므로, 같은 이름을 동시에 만든 업로드를 덮어쓰지 않습니다.
+     * (이동은 대상이 있으면 조용히 교체할 수 있음) 하드 링크를 쓸 수 없는 파일 시스템에서는 이동합니다.
+     */
+    private Path claimUploadName(Path staged, String targetPath, String baseName, String extension) throws IOException {
+        while (true) {
+            Path destination = Paths.get(targetPath, getUniqueFileName(targetPath, baseName, extension));
+            try {
+                Files.createLink(destination, staged);
+                Files.delete(staged);
+                return destination;
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Upload name taken concurrently, retrying: {}", destination.getFileName());
+            } catch (UnsupportedOperationException e) {
+                try {
+                    Files.move(staged, destination);
+                    return destination;
+                } catch (FileAlreadyExistsException taken) {
+                    log.debug("Upload name taken concurrently, retrying: {}", destination.getFileName());
+                }
+            }
+        }
+    }
+
+    /**
+     * 저장된 업로드 파일을 내용 저장소, 메타데이터, 카탈로그에 등록합니다.
+     */
+    private UploadResult registerUpload(Path destination, String originalFileName, String hash, Boolean outlined) {
+        String uniqueFileName = destination.getFileName().toString();
+        // 같은 내용이 이미 있으면 한 벌만 남기고 링크로 교체 (메타데이터는 교체 후 파일 기준으로 기록)
+        blobStore.store(destination, hash);
+        metadataService.recordUpload(destination.toFile(), hash, outlined);
+        fileCatalog.refreshTarget(uniqueFileName);
+
+        // 같은 내용을 이미 번역했다면 파싱/번역 없이 결과를 바로 연결
+        String translatedFileName = linkCachedTranslation(destination.toFile(), originalFileName);
+
+        return new UploadResult(uniqueFileName, Boolean.TRUE.equals(outlined), translatedFileName);
     }
 
     public Resource downloadFromTranslated(String fileName) throws IOException {
@@ -154,7 +308,7 @@ public class DirectoryService {
             throw new IOException("File not found: " + fileName);
         }
 
-        Resource resource = new UrlResource(filePath.toUri());
+        Resource resource = chunkStore.open(filePath);
         if (!resource.exists() || !resource.isReadable()) {
             throw new IOException("Cannot read file: " + fileName);
         }
@@ -188,6 +342,24 @@ public class DirectoryService {
         }
     }
 
+    /**
+     * target 디렉토리에서 fileName에 해당하는 가장 최신 업로드 파일(file.asta, file_1.asta ...)을 찾습니다.
+     */
+    public File findLatestTargetFile(String fileName) throws IOException {
+        File targetDir = new File(directoryConfig.getTarget());
+
+        // 업로드된 파일 찾기
+        List<File> targetFiles = findUploadedFiles(targetDir, fileName);
+        if (targetFiles.isEmpty()) {
+            throw new IOException("File not found: " + fileName);
+        }
+
+        // 가장 최근에 등록한 파일 선택 (링크된 파일은 수정 시각이 이전 blob의 시각이므로 등록 시각으로 비교)
+        return targetFiles.stream()
+                .max(Comparator.comparingLong(metadataService::uploadedAt))
+                .orElseThrow(() -> new IOException("Failed to find latest translated file"));
+    }
+
     /**
      * target 디렉토리의 파일을 번역하여 translated 디렉토리에 저장 (진행률 보고 포함)
      */
@@ -196,97 +368,332 @@ public class DirectoryService {
     }
 
     public String translateFile(String fileName, String clientId) throws Exception {
-        String targetDirPath = directoryConfig.getTarget();
-        File targetDir = new File(targetDirPath);
+        return translateFile(fileName, clientId, null);
+    }
 
-        // 업로드된 파일 찾기
-        List<File> targetFiles = findUploadedFiles(targetDir, fileName);
-        if (targetFiles.isEmpty()) {
-            throw new IOException("File not found: " + fileName);
+    /**
+     * 같은 파일에 대한 번역이 이미 진행 중이면 새로 번역하지 않고 진행 중인 번역에 합류하여
+     * 같은 진행률(SSE 포함)과 결과를 받습니다. DeepL 중복 호출, .meta.json 동시 쓰기,
+     * 중복 _translated_N 출력을 막습니다.
+     *
+     * @param progressListener SSE 외에 진행률을 추가로 전달받을 콜백 (optional, 예: 백그라운드 작업 상태)
+     */
+    public String translateFile(String fileName, String clientId, ProgressCallback progressListener) throws Exception {
+        InFlightTranslation translation = new InFlightTranslation();
+        translation.attach(clientId, progressListener);
+
+        InFlightTranslation existing = inFlight.putIfAbsent(fileName, translation);
+        if (existing != null) {
+            return joinInFlight(fileName, existing, clientId, progressListener);
         }
 
-        // 가장 최신 파일 선택
-        File latestFile = targetFiles.stream()
-                .max(Comparator.comparing(File::lastModified))
-                .orElseThrow(() -> new IOException("Failed to find latest translated file"));
+        try {
+            String outputFileName = doTranslateFile(fileName, translation);
+            translation.result.complete(outputFileName);
+            return outputFileName;
+        } catch (Exception e) {
+            translation.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(fileName, translation);
+        }
+    }
+
+    /**
+     * 진행 중인 번역에 합류하여 결과를 기다립니다.
+     * 합류한 요청이 취소되면 자신만 빠지고, 진행 중인 번역은 다른 요청자를 위해 계속됩니다.
+     */
+    private String joinInFlight(String fileName, InFlightTranslation existing,
+                                String clientId, ProgressCallback progressListener) throws Exception {
+        log.info("Translation already in progress, joining: {}", fileName);
+        // 이미 종료 알림을 보낸 번역이면 결과만 받고 SSE 종료는 직접 전송
+        boolean attached = existing.attach(clientId, progressListener);
+
+        try {
+            String outputFileName = existing.result.get();
+            if (!attached && clientId != null) {
+                progressService.complete(clientId);
+            }
+            return outputFileName;
+        } catch (ExecutionException e) {
+            if (!attached && clientId != null) {
+                progressService.sendError(clientId, "Translation failed: " + e.getCause().getMessage());
+            }
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            existing.detach(clientId, progressListener);
+            if (clientId != null) {
+                progressService.sendError(clientId, "Translation cancelled");
+            }
+            throw new TranslationCancelledException("Translation cancelled: " + fileName);
+        }
+    }
+
+    private String doTranslateFile(String fileName, InFlightTranslation translation) throws Exception {
+        File latestFile;
+        try {
+            latestFile = findLatestTargetFile(fileName);
+        } catch (IOException e) {
+            translation.fail(e.getMessage());
+            throw e;
+        }
 
         Path targetPath = latestFile.toPath();
         if (!Files.exists(targetPath)) {
             String error = "File not found: " + fileName;
-            if (clientId != null) progressService.sendError(clientId, error);
+            translation.fail(error);
             throw new IOException(error);
         }
 
         File inputFile = targetPath.toFile();
-        String lowerFileName = fileName.toLowerCase();
         String outputFileName;
-        Path outputPath;
+        Path outputPath = null;
 
-        // 진행률 콜백 생성
-        ProgressCallback callback = (message, percentage) -> {
-            if (clientId != null) {
-                progressService.sendProgress(clientId, message, percentage);
-            }
-        };
+        // 진행률 콜백: 합류한 모든 요청자에게 전달
+        ProgressCallback callback = translation::progress;
 
         try {
-            if (lowerFileName.endsWith(".asta") || lowerFileName.endsWith(".astah")) {
-                // Astah 파일 번역
-                String baseName = fileName.replaceAll("\\.(asta|astah)$", "");
-                outputFileName = getUniqueFileName(directoryConfig.getTranslated(), baseName + "_translated", ".asta");
-                outputPath = Paths.get(directoryConfig.getTranslated(), outputFileName);
-
-                astahParserService.extractTranslateAndApply(inputFile, outputPath.toFile(), callback);
-
-            } else if (lowerFileName.endsWith(".svg")) {
-                // SVG 파일 번역
-                String baseName = fileName.replaceAll("\\.svg$", "");
-                outputFileName = getUniqueFileName(directoryConfig.getTranslated(), baseName + "_translated", ".svg");
-                outputPath = Paths.get(directoryConfig.getTranslated(), outputFileName);
+            // 같은 입력과 번역 설정의 결과가 있으면 파싱/번역/저장 없이 바로 연결
+            String cachedFileName = linkCachedTranslation(inputFile, fileName);
+            if (cachedFileName != null) {
+                translation.progress("이전 번역 결과를 재사용했습니다.", 100);
+                translation.complete();
+                return cachedFileName;
+            }
 
-                svgParserService.extractTranslateAndApply(inputFile, outputPath.toFile(), callback);
+            BaseParserService<?> parser = parserFor(fileName);
+            outputPath = reserveOutputPath(fileName);
+            outputFileName = outputPath.getFileName().toString();
 
-            } else {
-                throw new IllegalArgumentException("Unsupported file type: " + fileName);
+            File outputFile = outputPath.toFile();
+            try (MemoryAdmission.Permit permit = memoryAdmission.acquire(fileName, inputFile.length())) {
+                concurrencyLimiter.run(fileName, () -> {
+                    parser.extractTranslateAndApply(inputFile, outputFile, callback);
+                    return null;
+                });
             }
 
+            recordTranslation(inputFile, outputPath);
+            releaseReservation(outputPath);
+            fileCatalog.refreshTranslated(outputFileName);
             log.info("File translated: {} -> {}", fileName, outputFileName);
-            if (clientId != null) {
-                progressService.complete(clientId);
-            }
+            translation.complete();
             return outputFileName;
 
+        } catch (TranslationCancelledException | InterruptedException e) {
+            // 취소: 부분 출력 파일 정리 (완료된 청크 번역은 메타데이터 체크포인트에 남아 재사용됨)
+            if (outputPath != null) {
+                Files.deleteIfExists(outputPath);
+                releaseReservation(outputPath);
+                fileCatalog.refreshTranslated(outputPath.getFileName().toString());
+            }
+            log.info("Translation cancelled: {}", fileName);
+            translation.fail("Translation cancelled");
+            throw e instanceof TranslationCancelledException cancelled
+                    ? cancelled
+                    : new TranslationCancelledException("Translation cancelled: " + fileName);
         } catch (Exception e) {
-            if (clientId != null) {
-                progressService.sendError(clientId, "Translation failed: " + e.getMessage());
+            // 예약한 출력 파일명 반환
+            if (outputPath != null) {
+                Files.deleteIfExists(outputPath);
+                releaseReservation(outputPath);
             }
+            translation.fail("Translation failed: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * 파일 확장자에 맞는 파서 서비스를 반환합니다.
+     */
+    private BaseParserService<?> parserFor(String fileName) {
+        String lowerFileName = fileName.toLowerCase();
+        if (lowerFileName.endsWith(".asta") || lowerFileName.endsWith(".astah")) {
+            return astahParserService;
+        }
+        if (lowerFileName.endsWith(".svg")) {
+            return svgParserService;
+        }
+        throw new IllegalArgumentException("Unsupported file type: " + fileName);
+    }
+
+    /**
+     * 출력 파일명을 숨김 예약 파일(.name.reserved)로 원자적으로 예약합니다 (CREATE_NEW).
+     * 예약을 가진 작업만 그 이름에 쓰므로 같은 이름을 동시에 고른 작업이나 캐시 링크가 서로의 출력을 덮어쓰지 않고,
+     * 출력 파일 자체는 완성된 뒤에야 생기므로 목록이나 다운로드에 빈 파일이 보이지 않습니다.
+     * 끝나면 성공/실패와 관계없이 releaseReservation으로 예약을 반환합니다.
+     *
+     * @return 예약한 출력 경로 (아직 파일은 없음)
+     */
+    private Path reserveOutputPath(String fileName) throws IOException {
+        while (true) {
+            Path outputPath = Paths.get(directoryConfig.getTranslated(), uniqueOutputFileName(fileName));
+            try {
+                Files.createFile(reservationPath(outputPath));
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Output name taken concurrently, retrying: {}", outputPath.getFileName());
+                continue;
+            }
+            // 이름을 고른 뒤 다른 작업이 이미 출력을 완성하고 예약을 반환한 경우
+            if (!Files.exists(outputPath)) {
+                return outputPath;
+            }
+            releaseReservation(outputPath);
+        }
+    }
+
+    private void releaseReservation(Path outputPath) {
+        deleteQuietly(reservationPath(outputPath));
+    }
+
+    private static Path reservationPath(Path outputPath) {
+        return outputPath.resolveSibling("." + outputPath.getFileName() + RESERVED_SUFFIX);
+    }
+
+    private String uniqueOutputFileName(String fileName) {
+        String lowerFileName = fileName.toLowerCase();
+        if (lowerFileName.endsWith(".svg")) {
+            String baseName = fileName.replaceAll("\\.svg$", "");
+            return getNextVersionedFileName(directoryConfig.getTranslated(), baseName + "_translated", ".svg");
+        }
+        String baseName = fileName.replaceAll("\\.(asta|astah)$", "");
+        return getNextVersionedFileName(directoryConfig.getTranslated(), baseName + "_translated", ".asta");
+    }
+
+    /**
+     * 기존 파일(file.ext, file_1.ext ...)과 예약된 이름 중 가장 큰 번호의 다음 번호로 파일명을 만듭니다.
+     * 중간에 빈 번호를 다시 쓰지 않으므로 번호가 클수록 나중에 만든 파일입니다.
+     */
+    private String getNextVersionedFileName(String directory, String baseName, String extension) {
+        Pattern pattern = Pattern.compile("^" + Pattern.quote(baseName) + "(?:_(\\d+))?" + Pattern.quote(extension) + "$");
+        int latest = -1;
+        String[] names = new File(directory).list();
+        for (String name : names != null ? names : new String[0]) {
+            if (name.startsWith(".") && name.endsWith(RESERVED_SUFFIX)) {
+                name = name.substring(1, name.length() - RESERVED_SUFFIX.length());
+            }
+            Matcher matcher = pattern.matcher(name);
+            if (matcher.matches()) {
+                latest = Math.max(latest, matcher.group(1) != null ? Integer.parseInt(matcher.group(1)) : 0);
+            }
+        }
+        return latest < 0 ? baseName + extension : baseName + "_" + (latest + 1) + extension;
+    }
+
+    /**
+     * 번역 결과 파일명의 번호 (file_translated.ext는 0, file_translated_N.ext는 N)
+     */
+    private static int translatedVersion(String fileName) {
+        Matcher matcher = TRANSLATED_VERSION.matcher(fileName);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    /**
+     * 진행 중인 파일 번역 하나와 그 결과를 기다리는 요청자들(SSE 클라이언트, 진행률 콜백)
+     */
+    private class InFlightTranslation {
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final List<String> clientIds = new ArrayList<>();
+        private final List<ProgressCallback> listeners = new ArrayList<>();
+        private String lastMessage;
+        private int lastPercentage;
+        private boolean finished;
+
+        /**
+         * 요청자를 추가하고 마지막 진행률을 바로 전달합니다. 이미 종료 알림을 보냈으면 false를 반환합니다.
+         */
+        synchronized boolean attach(String clientId, ProgressCallback listener) {
+            if (finished) {
+                return false;
+            }
+            if (clientId != null) {
+                clientIds.add(clientId);
+                if (lastMessage != null) {
+                    progressService.sendProgress(clientId, lastMessage, lastPercentage);
+                }
+            }
+            if (listener != null) {
+                listeners.add(listener);
+                if (lastMessage != null) {
+                    listener.onProgress(lastMessage, lastPercentage);
+                }
+            }
+            return true;
+        }
+
+        synchronized void detach(String clientId, ProgressCallback listener) {
+            clientIds.remove(clientId);
+            listeners.remove(listener);
+        }
+
+        void progress(String message, int percentage) {
+            List<String> clients;
+            List<ProgressCallback> callbacks;
+            synchronized (this) {
+                lastMessage = message;
+                lastPercentage = percentage;
+                clients = List.copyOf(clientIds);
+                callbacks = List.copyOf(listeners);
+            }
+            clients.forEach(clientId -> progressService.sendProgress(clientId, message, percentage));
+            callbacks.forEach(callback -> callback.onProgress(message, percentage));
+        }
+
+        void complete() {
+            finish().forEach(progressService::complete);
+        }
+
+        void fail(String errorMessage) {
+            finish().forEach(clientId -> progressService.sendError(clientId, errorMessage));
+        }
+
+        private synchronized List<String> finish() {
+            finished = true;
+            return List.copyOf(clientIds);
+        }
+    }
+
     /**
      * 지정된 디렉토리에서 파일 삭제
      * target 타입인 경우 meta.json과 번역된 파일들도 함께 삭제
      */
     public void deleteFile(String type, String fileName) throws IOException {
+        removeFile(type, fileName);
+        // 연결된 번역 파일이 없는 번역 결과와, 지운 번역 결과만 참조하던 청크 정리
+        blobStore.releaseTranslations();
+        chunkStore.collectGarbage();
+    }
+
+    private void removeFile(String type, String fileName) throws IOException {
         String path;
         if ("target".equalsIgnoreCase(type)) {
             path = directoryConfig.getTarget();
 
-            // 1. 원본 파일 삭제
+            // 1. 원본 파일 삭제 (더 이상 참조되지 않는 내용 blob도 정리)
             Path filePath = Paths.get(path, fileName);
             if (!Files.exists(filePath)) {
                 throw new IOException("File not found: " + fileName);
             }
+            String contentHash = metadataService.loadMetadata(filePath.toFile()).getContentHash();
             Files.delete(filePath);
+            if (contentHash != null) {
+                blobStore.release(contentHash);
+                // 같은 내용을 다시 올리면 이전 번역을 연결하지 않고 새로 번역
+                blobStore.evictTranslations(contentHash);
+            }
+            fileCatalog.refreshTarget(fileName);
             log.info("File deleted from {}: {}", type, fileName);
 
-            // 2. meta.json 파일 삭제
+            // 2. meta.json 파일 및 번역 체크포인트 삭제
             Path metaFilePath = Paths.get(path, fileName + ".meta.json");
             if (Files.exists(metaFilePath)) {
                 Files.delete(metaFilePath);
                 log.info("Meta file deleted: {}", metaFilePath);
             }
+            Files.deleteIfExists(Paths.get(path, fileName + ".meta.checkpoint.jsonl"));
 
             // 3. 대응하는 번역 파일들 삭제
             File translatedDir = new File(directoryConfig.getTranslated());
@@ -294,6 +701,7 @@ public class DirectoryService {
                 List<File> translatedFiles = findTranslatedFiles(translatedDir, fileName);
                 for (File translatedFile : translatedFiles) {
                     Files.delete(translatedFile.toPath());
+                    fileCatalog.refreshTranslated(translatedFile.getName());
                     log.info("Translated file deleted: {}", translatedFile.getName());
                 }
             }
@@ -306,6 +714,7 @@ public class DirectoryService {
                 throw new IOException("File not found: " + fileName);
             }
             Files.delete(filePath);
+            fileCatalog.refreshTranslated(fileName);
             log.info("File deleted from {}: {}", type, fileName);
 
         } else {
@@ -316,90 +725,34 @@ public class DirectoryService {
     /**
      * target 디렉토리의 파일 메타데이터 목록 조회
      */
-    public List<FileMetadataDto> getFileMetadata() throws IOException {
-        String targetPath = directoryConfig.getTarget();
-        String translatedPath = directoryConfig.getTranslated();
-
-        File targetDir = new File(targetPath);
-        File translatedDir = new File(translatedPath);
-
-        if (!targetDir.exists() || !targetDir.isDirectory()) {
-            throw new IllegalArgumentException("Target directory not found");
-        }
-
-        File[] targetFiles = targetDir.listFiles();
-        if (targetFiles == null) {
-            return new ArrayList<>();
-        }
-
-        List<FileMetadataDto> metadataList = new ArrayList<>();
-
-        for (File targetFile : targetFiles) {
-            String fileName = targetFile.getName();
-            boolean isShowable = !fileName.startsWith(".");
-            String lowerName = fileName.toLowerCase();
-            boolean hasTargetExtension = lowerName.endsWith(".asta") || lowerName.endsWith(".svg");
-
-            // _N 패턴 파일 제외
-            if (!targetFile.isFile() || !isShowable || !hasTargetExtension || isVersionedFile(fileName)) {
-                continue;
-            }
-
-            // 업로드 날짜 (target 파일의 최종 수정 날짜)
-            LocalDateTime uploadedAt = getFileLastModified(targetFile);
-
-            // 번역 여부 및 번역 날짜 확인
-            boolean translated = false;
-            LocalDateTime translatedAt = null;
-
-            // 번역 버전 (번역 파일 개수)
-            Integer version = null;
-
-            if (translatedDir.exists() && translatedDir.isDirectory()) {
-                // 번역된 파일 찾기 (fileName_translated.ext 또는 fileName_translated_N.ext)
-                List<File> translatedFiles = findTranslatedFiles(translatedDir, fileName);
-                if (!translatedFiles.isEmpty()) {
-                    translated = true;
-                    version = translatedFiles.size();
-                    // 가장 최신 번역 파일의 날짜
-                    translatedAt = translatedFiles.stream()
-                            .map(this::getFileLastModified)
-                            .max(LocalDateTime::compareTo)
-                            .orElse(null);
-                }
-            }
-
-            // SVG 파일인 경우 아웃라인 여부 확인
-            boolean outlined = false;
-            if (lowerName.endsWith(".svg")) {
-                outlined = SvgOutlineDetector.isOutlined(targetFile);
-            }
-
-            // 원본 버전 (동일 baseName 원본 파일 개수)
-            List<File> originalFiles = findUploadedFiles(targetDir, fileName);
-            Integer originalVersion = !originalFiles.isEmpty() ? originalFiles.size() : null;
-
-            FileMetadataDto metadata = FileMetadataDto.builder()
-                    .fileName(fileName)
-                    .translated(translated)
-                    .uploadedAt(uploadedAt)
-                    .translatedAt(translatedAt)
-                    .outlined(outlined)
-                    .version(version)
-                    .originalVersion(originalVersion)
-                    .build();
+    public List<FileMetadataDto> getFileMetadata() {
+        return getFileMetadataListing().files();
+    }
 
-            metadataList.add(metadata);
-        }
+    /**
+     * 파일 메타데이터 목록과 그 버전 (카탈로그에서 조회, 목록이 바뀌지 않았으면 ETag가 같음)
+     */
+    public FileCatalog.Listing getFileMetadataListing() {
+        return fileCatalog.listing();
+    }
 
-        return metadataList;
+    /**
+     * 조건에 맞는 파일 메타데이터 한 페이지 (카탈로그에서 필터/정렬)
+     */
+    public FilePage<FileMetadataDto> queryFileMetadata(FileQuery query) {
+        return fileCatalog.query(query);
     }
 
     /**
-     * 파일의 최종 수정 날짜를 LocalDateTime으로 반환
+     * 디렉토리 파일명 한 페이지 (카탈로그에서 조회, 파일명 오름차순)
      */
-    private LocalDateTime getFileLastModified(File file) {
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(file.lastModified()), ZoneId.of("Asia/Seoul"));
+    public FilePage<String> listFilesPage(String type, String prefix, Integer limit, String cursor) {
+        if ("target".equalsIgnoreCase(type)) {
+            return fileCatalog.fileNames(false, prefix, limit, cursor);
+        } else if ("translated".equalsIgnoreCase(type)) {
+            return fileCatalog.fileNames(true, prefix, limit, cursor);
+        }
+        throw new IllegalArgumentException("Invalid directory type: " + type);
     }
 
     private Pattern getVersionedTargetFilePattern(String baseName, String extension) {
@@ -461,44 +814,285 @@ public class DirectoryService {
     }
 
     /**
-     * 여러 파일을 순차적으로 번역 (DeepL API 부하 방지)
+     * 여러 파일을 단계별 파이프라인으로 번역 (BatchTranslationPipeline)
+     * 추출 → 번역 → 적용/저장 단계가 크기가 제한된 큐로 연결되어, 서로 다른 파일이 동시에 다른 단계를 진행합니다.
+     * 배치 전체에서 반복되는 텍스트는 번역 메모리로 한 번만 번역하고,
+     * 배치 마감 시간을 넘긴 파일은 중단 후 TIMED_OUT으로 보고합니다.
+     * 다른 요청이 이미 번역 중인 파일은 파이프라인에 넣지 않고 그 번역에 합류합니다.
      */
     public BatchTranslationResponse translateFilesInBatch(List<String> fileNames) {
-        List<String> successFiles = new ArrayList<>();
-        List<String> failedFiles = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + concurrencyConfig.getBatchDeadline().toNanos();
 
-        for (String fileName : fileNames) {
-            try {
-                log.info("Translating file: {}", fileName);
-                String translatedFileName = translateFile(fileName);
-                successFiles.add(fileName);
-                log.info("Successfully translated: {} -> {}", fileName, translatedFileName);
-            } catch (Exception e) {
-                log.error("Failed to translate file: {}", fileName, e);
-                failedFiles.add(fileName);
+        Map<String, BatchFileResult> resultsByFile = new LinkedHashMap<>();
+        Map<String, InFlightTranslation> owned = new LinkedHashMap<>();
+        Map<String, Future<BatchFileResult>> joined = new LinkedHashMap<>();
+        int translatedSegments = 0;
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (String fileName : fileNames.stream().distinct().toList()) {
+                InFlightTranslation translation = new InFlightTranslation();
+                if (inFlight.putIfAbsent(fileName, translation) == null) {
+                    owned.put(fileName, translation);
+                } else {
+                    joined.put(fileName, executor.submit(() -> translateForBatch(fileName)));
+                }
+            }
+
+            // 같은 입력과 번역 설정의 결과가 있는 파일은 파이프라인을 거치지 않고 바로 연결
+            List<String> pipelineFiles = new ArrayList<>();
+            for (String fileName : owned.keySet()) {
+                String cachedFileName = linkCachedBatchTranslation(fileName);
+                if (cachedFileName == null) {
+                    pipelineFiles.add(fileName);
+                } else {
+                    resultsByFile.put(fileName, BatchFileResult.builder()
+                            .fileName(fileName)
+                            .status(BatchFileResult.SUCCESS)
+                            .translatedFileName(cachedFileName)
+                            .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                            .build());
+                }
             }
+
+            Map<String, Path> reserved = new ConcurrentHashMap<>();
+            BatchTranslationPipeline.Result pipelined = batchTranslationPipeline.run(pipelineFiles, this::inputBytes,
+                    fileName -> prepareForBatch(fileName, reserved), deadline);
+            translatedSegments = pipelined.translatedSegments();
+            // 예약 반환 (실패하거나 끝나지 않은 파일은 부분 출력도 정리)
+            reserved.forEach((fileName, outputPath) -> {
+                BatchTranslationPipeline.FileOutcome outcome = pipelined.outcomes().get(fileName);
+                if (outcome == null || !outcome.succeeded()) {
+                    deleteQuietly(outputPath);
+                }
+                releaseReservation(outputPath);
+            });
+            pipelined.outcomes().forEach((fileName, outcome) -> {
+                if (outcome.succeeded()) {
+                    recordBatchTranslation(fileName, outcome.outputFileName());
+                    fileCatalog.refreshTranslated(outcome.outputFileName());
+                }
+            });
+            pipelined.outcomes().forEach((fileName, outcome) -> resultsByFile.put(fileName, outcome.succeeded()
+                    ? BatchFileResult.builder()
+                            .fileName(fileName)
+                            .status(BatchFileResult.SUCCESS)
+                            .translatedFileName(outcome.outputFileName())
+                            .durationMs(TimeUnit.NANOSECONDS.toMillis(outcome.finishedAt() - startedAt))
+                            .build()
+                    : failedResult(fileName, outcome.error(), startedAt)));
+
+            joined.forEach((fileName, future) -> resultsByFile.put(fileName, awaitBatchResult(fileName, future, deadline)));
+        } finally {
+            // 마감 시간을 넘겨 취소된 작업의 종료를 기다리지 않음
+            executor.shutdown();
+            owned.forEach((fileName, translation) -> releaseBatchFile(fileName, translation, resultsByFile.get(fileName)));
         }
 
+        List<BatchFileResult> results = fileNames.stream().map(resultsByFile::get).toList();
+        List<String> successFiles = results.stream()
+                .filter(r -> BatchFileResult.SUCCESS.equals(r.getStatus()))
+                .map(BatchFileResult::getFileName)
+                .collect(Collectors.toList());
+        List<String> failedFiles = results.stream()
+                .filter(r -> !BatchFileResult.SUCCESS.equals(r.getStatus()))
+                .map(BatchFileResult::getFileName)
+                .collect(Collectors.toList());
+
         return BatchTranslationResponse.builder()
                 .successFiles(successFiles)
                 .failedFiles(failedFiles)
                 .totalCount(fileNames.size())
                 .successCount(successFiles.size())
                 .failedCount(failedFiles.size())
+                .translatedSegments(translatedSegments)
+                .results(results)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                .build();
+    }
+
+    private String linkCachedBatchTranslation(String fileName) {
+        try {
+            return linkCachedTranslation(findLatestTargetFile(fileName), fileName);
+        } catch (IOException e) {
+            // 파일이 없으면 파이프라인에서 실패로 보고
+            return null;
+        }
+    }
+
+    private void recordBatchTranslation(String fileName, String outputFileName) {
+        try {
+            recordTranslation(findLatestTargetFile(fileName), Paths.get(directoryConfig.getTranslated(), outputFileName));
+        } catch (IOException e) {
+            log.warn("Failed to record translation for reuse: {} ({})", fileName, e.getMessage());
+        }
+    }
+
+    /**
+     * 같은 입력 내용과 번역 설정으로 만든 번역 결과가 있으면 새 출력 파일명으로 연결합니다.
+     *
+     * @return 연결한 출력 파일명, 결과가 없으면 null
+     */
+    private String linkCachedTranslation(File inputFile, String fileName) {
+        try {
+            String inputHash = metadataService.calculateHash(inputFile);
+            Path outputPath = reserveOutputPath(fileName);
+            try {
+                if (!blobStore.linkTranslation(inputHash, outputPath)) {
+                    return null;
+                }
+            } finally {
+                releaseReservation(outputPath);
+            }
+            String outputFileName = outputPath.getFileName().toString();
+            fileCatalog.refreshTranslated(outputFileName);
+            log.info("Cached translation reused: {} -> {}", fileName, outputFileName);
+            return outputFileName;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Translation cache lookup failed: {} ({})", fileName, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 번역 결과를 입력 내용 해시와 번역 설정으로 기록하여, 같은 내용을 다시 올리거나 번역하면 바로 연결되게 합니다.
+     * 청크 저장이 켜져 있으면 먼저 청크로 나눠 저장합니다. (캐시도 청크 목록을 공유)
+     * 기록 실패는 번역 결과에 영향을 주지 않습니다.
+     */
+    private void recordTranslation(File inputFile, Path outputPath) {
+        chunkStore.pack(outputPath);
+        try {
+            blobStore.recordTranslation(metadataService.calculateHash(inputFile), outputPath);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record translation for reuse: {} ({})", inputFile.getName(), e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", path.getFileName(), e.getMessage());
+        }
+    }
+
+    private long inputBytes(String fileName) {
+        try {
+            return findLatestTargetFile(fileName).length();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private PreparedTranslation<?> prepareForBatch(String fileName, Map<String, Path> reserved) throws Exception {
+        File inputFile = findLatestTargetFile(fileName);
+        BaseParserService<?> parser = parserFor(fileName);
+        Path outputPath = reserveOutputPath(fileName);
+        reserved.put(fileName, outputPath);
+        File outputFile = outputPath.toFile();
+        return concurrencyLimiter.run(fileName, () -> parser.prepare(inputFile, outputFile));
+    }
+
+    /**
+     * 배치가 맡은 파일의 진행 중 번역 등록을 해제하고, 합류한 요청자에게 결과를 전달합니다.
+     */
+    private void releaseBatchFile(String fileName, InFlightTranslation translation, BatchFileResult result) {
+        inFlight.remove(fileName, translation);
+        if (result != null && BatchFileResult.SUCCESS.equals(result.getStatus())) {
+            translation.complete();
+            translation.result.complete(result.getTranslatedFileName());
+        } else {
+            String error = result != null ? result.getErrorMessage() : "Batch aborted";
+            translation.fail("Translation failed: " + error);
+            translation.result.completeExceptionally(new IOException("Translation failed: " + error));
+        }
+    }
+
+    private BatchFileResult translateForBatch(String fileName) {
+        long startedAt = System.nanoTime();
+        try {
+            log.info("Translating file: {}", fileName);
+            String translatedFileName = translateFile(fileName);
+            log.info("Successfully translated: {} -> {}", fileName, translatedFileName);
+            return BatchFileResult.builder()
+                    .fileName(fileName)
+                    .status(BatchFileResult.SUCCESS)
+                    .translatedFileName(translatedFileName)
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                    .build();
+        } catch (Exception e) {
+            log.error("Failed to translate file: {}", fileName, e);
+            return failedResult(fileName, e, startedAt);
+        }
+    }
+
+    private BatchFileResult failedResult(String fileName, Exception e, long startedAt) {
+        if (e instanceof TimeoutException) {
+            log.warn("Batch deadline exceeded, cancelled: {}", fileName);
+            return BatchFileResult.builder()
+                    .fileName(fileName)
+                    .status(BatchFileResult.TIMED_OUT)
+                    .errorMessage("Batch deadline exceeded")
+                    .build();
+        }
+        log.error("Failed to translate file: {}", fileName, e);
+        return BatchFileResult.builder()
+                .fileName(fileName)
+                .status(BatchFileResult.FAILED)
+                .errorMessage(e.getMessage())
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
                 .build();
     }
 
+    /**
+     * 배치 마감 시각까지 결과를 기다리고, 넘기면 작업을 인터럽트한 뒤 TimeoutException을 던집니다.
+     * 작업이 실패하면 원래 예외를 던집니다.
+     */
+    private <V> V awaitWithDeadline(Future<V> future, long deadline) throws Exception {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 배치 마감 시각까지 파일 결과를 기다리고, 넘기면 작업을 인터럽트합니다.
+     */
+    private BatchFileResult awaitBatchResult(String fileName, Future<BatchFileResult> future, long deadline) {
+        long startedAt = System.nanoTime();
+        try {
+            return awaitWithDeadline(future, deadline);
+        } catch (Exception e) {
+            return failedResult(fileName, e, startedAt);
+        }
+    }
+
     /**
      * 여러 파일을 target 디렉토리에서 삭제
      */
     public void deleteFilesInBatch(List<String> fileNames) {
         for (String fileName : fileNames) {
             try {
-                deleteFile("target", fileName);
+                removeFile("target", fileName);
             } catch (Exception e) {
                 log.error("Failed to delete file: {}", fileName, e);
             }
         }
+        blobStore.releaseTranslations();
+        chunkStore.collectGarbage();
     }
 
     /**
@@ -518,13 +1112,13 @@ public class DirectoryService {
             throw new IOException("No translated file found for: " + targetFileName);
         }
 
-        // 가장 최신 파일 선택
+        // 번호가 가장 큰 파일 선택 (캐시에서 연결한 결과는 수정 시각이 이전 번역 시각이므로 번호로 비교)
         File latestFile = translatedFiles.stream()
-                .max(Comparator.comparing(File::lastModified))
+                .max(Comparator.comparingInt(file -> translatedVersion(file.getName())))
                 .orElseThrow(() -> new IOException("Failed to find latest translated file"));
 
         Path filePath = latestFile.toPath();
-        Resource resource = new UrlResource(filePath.toUri());
+        Resource resource = chunkStore.open(filePath);
 
         if (!resource.exists() || !resource.isReadable()) {
             throw new IOException("Cannot read file: " + latestFile.getName());
@@ -0,0 +1,48 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service;
+
+import com.jatoko.service.bulkhead.Bulkheads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 파일 타입별 동시 번역 수를 제한하는 컴포넌트
+ *
+ * 단건 작업과 배치 작업이 모두 이 제한을 거치므로, 어떤 경로로 들어오든
+ * Astah 파일은 설정된 수(기본 1)를 넘어 동시에 열리지 않습니다.
+ * 작업은 파일 타입별 벌크헤드에서 실행되어 Astah 저장이 밀려도 SVG 작업은 영향을 받지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileConcurrencyLimiter {
+
+    private final Bulkheads bulkheads;
+
+    /**
+     * 파일 타입에 해당하는 벌크헤드에서 작업을 실행하고 결과를 기다립니다.
+     * 기다리는 중 인터럽트되면 작업도 인터럽트되고 InterruptedException이 전달되며,
+     * 대기열이 가득 차면 BulkheadFullException, 제한 시간을 넘으면 TimeoutException이 발생합니다.
+     */
+    public <V> V run(String fileName, Callable<V> task) throws Exception {
+        return bulkheads.forFile(fileName).call(task);
+    }
+}
@@ -19,15 +19,23 @@
 package com.jatoko.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.model.NodeTranslation;
 import com.jatoko.model.TranslationMetadata;
+import com.jatoko.util.SvgOutlineDetector;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -47,25 +55,106 @@ public class MetadataService {
         return new File(originalFile.getParentFile(), originalFile.getName() + ".meta.json");
     }
 
+    /**
+     * 번역 도중 청크 단위로 기록되는 체크포인트 파일 경로를 반환합니다.
+     * 예: test.asta -> test.asta.meta.checkpoint.jsonl
+     */
+    public File getCheckpointFile(File originalFile) {
+        return new File(originalFile.getParentFile(), originalFile.getName() + ".meta.checkpoint.jsonl");
+    }
+
     /**
      * 메타데이터 파일을 로드합니다. 파일이 없거나 오류 발생 시 빈 메타데이터를 반환합니다.
+     * 이전 번역이 중간에 실패했다면 체크포인트에 남은 번역도 함께 병합합니다.
      */
     public TranslationMetadata loadMetadata(File originalFile) {
-        File metadataFile = getMetadataFile(originalFile);
-        if (!metadataFile.exists()) {
-            return new TranslationMetadata();
+        TranslationMetadata metadata = readMetadataFile(getMetadataFile(originalFile));
+        mergeCheckpoint(originalFile, metadata);
+        return metadata;
+    }
+
+    private TranslationMetadata readMetadataFile(File metadataFile) {
+        if (metadataFile.exists()) {
+            try {
+                return objectMapper.readValue(metadataFile, TranslationMetadata.class);
+            } catch (IOException e) {
+                log.warn("메타데이터 로드 실패: {}", e.getMessage());
+            }
         }
+        return new TranslationMetadata();
+    }
 
+    /**
+     * SVG 파일의 아웃라인 여부를 반환합니다.
+     * 메타데이터에 같은 크기/수정 시각의 파일로 확인한 결과가 있으면 다시 파싱하지 않고, 없으면 확인 후 기록합니다.
+     * 진행 중인 번역의 체크포인트에 영향을 주지 않도록 메타데이터 파일만 읽고 씁니다.
+     */
+    public synchronized boolean isOutlined(File svgFile) {
+        if (!svgFile.isFile()) {
+            return false;
+        }
+        long size = svgFile.length();
+        long modified = svgFile.lastModified();
+        File metadataFile = getMetadataFile(svgFile);
+        TranslationMetadata metadata = readMetadataFile(metadataFile);
+        if (metadata.getOutlined() != null
+                && metadata.getOutlineCheckedSize() == size
+                && metadata.getOutlineCheckedModified() == modified) {
+            return metadata.getOutlined();
+        }
+
+        boolean outlined = SvgOutlineDetector.isOutlined(svgFile);
+        metadata.setOutlined(outlined);
+        metadata.setOutlineCheckedSize(size);
+        metadata.setOutlineCheckedModified(modified);
         try {
-            return objectMapper.readValue(metadataFile, TranslationMetadata.class);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(metadataFile, metadata);
         } catch (IOException e) {
-            log.warn("메타데이터 로드 실패: {}", e.getMessage());
-            return new TranslationMetadata();
+            // 기록 실패 시 다음 확인에서 다시 파싱
+            log.warn("아웃라인 확인 결과 저장 실패: {}", e.getMessage());
         }
+        return outlined;
     }
 
     /**
-     * 메타데이터를 파일에 저장합니다.
+     * 업로드 중 한 번에 계산한 내용 해시와 아웃라인 여부를 기록합니다.
+     * 이후 해시 계산과 아웃라인 확인은 파일이 바뀌지 않았다면 파일을 다시 읽지 않습니다.
+     *
+     * @param outlined SVG 아웃라인 여부 (SVG가 아니면 null)
+     */
+    public synchronized void recordUpload(File file, String hash, Boolean outlined) {
+        File metadataFile = getMetadataFile(file);
+        TranslationMetadata metadata = readMetadataFile(metadataFile);
+        long size = file.length();
+        long modified = file.lastModified();
+        metadata.setContentHash(hash);
+        metadata.setContentHashSize(size);
+        metadata.setContentHashModified(modified);
+        metadata.setUploadedAt(System.currentTimeMillis());
+        if (outlined != null) {
+            metadata.setOutlined(outlined);
+            metadata.setOutlineCheckedSize(size);
+            metadata.setOutlineCheckedModified(modified);
+        }
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(metadataFile, metadata);
+        } catch (IOException e) {
+            // 기록 실패 시 이후 단계에서 다시 계산
+            log.warn("업로드 정보 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 파일을 target에 등록한 시각. 기록이 없으면 수정 시각을 사용합니다.
+     * 같은 내용의 업로드는 기존 blob의 링크라 수정 시각이 처음 올린 시각으로 남으므로, 버전 비교에는 이 값을 씁니다.
+     */
+    public long uploadedAt(File file) {
+        long recorded = readMetadataFile(getMetadataFile(file)).getUploadedAt();
+        return recorded > 0 ? recorded : file.lastModified();
+    }
+
+    /**
+     * 메타데이터를 파일에 저장합니다. 저장에 성공하면 체크포인트는 더 이상 필요 없으므로 삭제합니다.
      */
     public void saveMetadata(File originalFile, TranslationMetadata metadata) {
         File metadataFile = getMetadataFile(originalFile);
@@ -76,12 +165,86 @@ public class MetadataService {
             log.error("메타데이터 저장 실패: {}", e.getMessage(), e);
             throw new RuntimeException("메타데이터 저장 실패", e);
         }
+
+        try {
+            Files.deleteIfExists(getCheckpointFile(originalFile).toPath());
+        } catch (IOException e) {
+            log.warn("체크포인트 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 완료된 청크의 번역을 체크포인트 파일에 한 줄씩 추가 기록합니다.
+     * 번역이 도중에 실패해도 다음 시도에서 loadMetadata가 이 번역을 재사용하므로 다시 요청하지 않습니다.
+     */
+    public void appendCheckpoint(File originalFile, List<NodeTranslation> translations) {
+        if (translations.isEmpty()) return;
+
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (NodeTranslation translation : translations) {
+                lines.append(objectMapper.writeValueAsString(translation)).append('\n');
+            }
+        } catch (IOException e) {
+            log.warn("체크포인트 직렬화 실패: {}", e.getMessage());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(getCheckpointFile(originalFile).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // 체크포인트 실패는 번역을 중단시키지 않음 (재시도 시 재사용만 불가)
+            log.warn("체크포인트 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    private void mergeCheckpoint(File originalFile, TranslationMetadata metadata) {
+        File checkpointFile = getCheckpointFile(originalFile);
+        if (!checkpointFile.exists()) return;
+
+        int merged = 0;
+        try {
+            for (String line : Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    NodeTranslation translation = objectMapper.readValue(line, NodeTranslation.class);
+                    metadata.getTranslations().put(translation.getId(), translation);
+                    merged++;
+                } catch (IOException e) {
+                    // 기록 도중 중단되어 잘린 마지막 줄은 무시
+                    log.warn("체크포인트 줄 건너뜀: {}", e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("체크포인트 로드 실패: {}", e.getMessage());
+            return;
+        }
+
+        if (merged > 0) {
+            log.info("체크포인트에서 번역 {}개 복구: {}", merged, checkpointFile.getName());
+        }
     }
 
     /**
      * 파일의 SHA-256 해시를 계산합니다.
+     * 업로드 시 기록된 해시가 있고 파일 크기/수정 시각이 그대로면 파일을 읽지 않고 기록을 사용합니다.
      */
     public String calculateHash(File file) {
+        File metadataFile = getMetadataFile(file);
+        if (metadataFile.exists()) {
+            TranslationMetadata recorded = readMetadataFile(metadataFile);
+            if (recorded.getContentHash() != null
+                    && recorded.getContentHashSize() == file.length()
+                    && recorded.getContentHashModified() == file.lastModified()) {
+                return recorded.getContentHash();
+            }
+        }
+
         try (FileInputStream fis = new FileInputStream(file)) {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] buffer = new byte[8192];
@@ -0,0 +1,79 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service;
+
+import com.jatoko.model.TranslationMetadata;
+import lombok.Getter;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * 추출과 메타데이터 비교까지 끝난 파일 하나의 번역 상태
+ *
+ * 번역이 필요한 텍스트(pending)만 외부에 문자열로 노출하므로, 배치 계획 단계에서
+ * 노드 타입과 관계없이 여러 파일의 텍스트를 모아 한 번에 번역할 수 있습니다.
+ *
+ * @param <T> 노드 타입 (DiagramNode, SvgTextNode 등)
+ */
+@Getter
+public class PreparedTranslation<T> {
+
+    private final BaseParserService<T> parser;
+    private final File inputFile;
+    private final File outputFile;
+    private final List<T> allNodes;
+    private final List<T> pendingNodes;
+    private final TranslationMetadata metadata;
+    private final String currentHash;
+    private final int reusedCount;
+
+    PreparedTranslation(BaseParserService<T> parser, File inputFile, File outputFile, List<T> allNodes,
+                        List<T> pendingNodes, TranslationMetadata metadata, String currentHash, int reusedCount) {
+        this.parser = parser;
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.allNodes = allNodes;
+        this.pendingNodes = pendingNodes;
+        this.metadata = metadata;
+        this.currentHash = currentHash;
+        this.reusedCount = reusedCount;
+    }
+
+    /**
+     * 번역이 필요한 노드의 원문 (pendingNodes와 같은 순서)
+     */
+    public List<String> getPendingTexts() {
+        return pendingNodes.stream().map(parser::getOriginalText).toList();
+    }
+
+    /**
+     * pendingNodes 중 indices 위치의 노드에 번역을 설정하고 체크포인트에 기록합니다.
+     */
+    public void applyTranslations(List<Integer> indices, List<String> translations) {
+        parser.applyPendingTranslations(this, indices, translations);
+    }
+
+    /**
+     * 후처리, 메타데이터 저장, 출력 파일 생성을 수행합니다.
+     */
+    public void complete(ProgressCallback progressCallback) throws Exception {
+        parser.complete(this, progressCallback);
+    }
+}
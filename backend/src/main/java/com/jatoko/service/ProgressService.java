@@ -18,19 +18,37 @@
 
 package com.jatoko.service;
 
+import com.jatoko.service.bulkhead.Bulkheads;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * SSE 진행률 전송 서비스
+ *
+ * 전송은 progress 벌크헤드에서 실행되므로 느린 클라이언트가 번역 스레드를 붙잡지 않습니다.
+ * 벌크헤드가 가득 차면 진행률 이벤트는 버리고(다음 이벤트가 대신함), 완료/에러 이벤트는 호출 스레드에서 보냅니다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ProgressService {
 
+    private final Bulkheads bulkheads;
+
     private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private final Map<String, List<Runnable>> disconnectListeners = new ConcurrentHashMap<>();
+    // 클라이언트별 마지막 전송 순번 (여러 전송 스레드에서 이전 진행률이 늦게 도착하지 않도록)
+    private final Map<String, Long> lastDelivered = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
 
     public SseEmitter createEmitter(String clientId) {
         // 타임아웃 30분 (대용량 파일 처리 고려)
@@ -39,17 +57,23 @@ public class ProgressService {
         emitter.onCompletion(() -> {
             log.info("SSE emitter completed: {}", clientId);
             emitters.remove(clientId);
+            lastDelivered.remove(clientId);
+            disconnectListeners.remove(clientId);
         });
 
         emitter.onTimeout(() -> {
             log.info("SSE emitter timed out: {}", clientId);
             emitter.complete();
             emitters.remove(clientId);
+            lastDelivered.remove(clientId);
+            fireDisconnect(clientId);
         });
 
         emitter.onError((e) -> {
             log.error("SSE emitter error: {}", clientId, e);
             emitters.remove(clientId);
+            lastDelivered.remove(clientId);
+            fireDisconnect(clientId);
         });
 
         emitters.put(clientId, emitter);
@@ -59,7 +83,21 @@ public class ProgressService {
 
     public void sendProgress(String clientId, String message, int percentage) {
         SseEmitter emitter = emitters.get(clientId);
-        if (emitter != null) {
+        if (emitter == null) {
+            return;
+        }
+        long seq = sequence.incrementAndGet();
+        if (!bulkheads.progress().offer(() -> deliverProgress(clientId, emitter, message, percentage, seq))) {
+            log.debug("Progress delivery saturated, dropped event for client: {}", clientId);
+        }
+    }
+
+    private void deliverProgress(String clientId, SseEmitter emitter, String message, int percentage, long seq) {
+        synchronized (emitter) {
+            if (emitters.get(clientId) != emitter || seq < lastDelivered.getOrDefault(clientId, 0L)) {
+                return;
+            }
+            lastDelivered.put(clientId, seq);
             try {
                 emitter.send(SseEmitter.event()
                         .name("progress")
@@ -70,40 +108,66 @@ public class ProgressService {
             } catch (IOException e) {
                 log.error("Failed to send progress to client: {}", clientId, e);
                 emitters.remove(clientId);
+                lastDelivered.remove(clientId);
+                fireDisconnect(clientId);
             }
         }
     }
 
-    public void complete(String clientId) {
-        SseEmitter emitter = emitters.get(clientId);
-        if (emitter != null) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("complete")
-                        .data("Translation finished"));
-                emitter.complete();
-            } catch (IOException e) {
-                log.error("Failed to send completion event: {}", clientId, e);
-            } finally {
-                emitters.remove(clientId);
+    /**
+     * 마지막 이벤트를 보내고 연결을 닫습니다.
+     * 먼저 등록을 해제하여 이후 진행률 이벤트가 전송되지 않게 합니다.
+     */
+    private void finish(String clientId, String eventName, Object data) {
+        SseEmitter emitter = emitters.remove(clientId);
+        disconnectListeners.remove(clientId);
+        lastDelivered.remove(clientId);
+        if (emitter == null) {
+            return;
+        }
+        Runnable send = () -> {
+            synchronized (emitter) {
+                try {
+                    emitter.send(SseEmitter.event().name(eventName).data(data));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    log.error("Failed to send {} event: {}", eventName, clientId, e);
+                }
             }
+        };
+        if (!bulkheads.progress().offer(send)) {
+            send.run();
         }
     }
-    
-    public void sendError(String clientId, String errorMessage) {
-        SseEmitter emitter = emitters.get(clientId);
-        if (emitter != null) {
+
+    /**
+     * 클라이언트의 SSE 연결이 비정상 종료(에러, 타임아웃, 전송 실패)되면 실행할 리스너를 등록합니다.
+     * 정상 완료(complete/sendError) 시에는 실행되지 않고 제거됩니다.
+     */
+    public void onDisconnect(String clientId, Runnable listener) {
+        disconnectListeners.computeIfAbsent(clientId, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void fireDisconnect(String clientId) {
+        List<Runnable> listeners = disconnectListeners.remove(clientId);
+        if (listeners == null) return;
+
+        log.info("SSE client disconnected: {}", clientId);
+        for (Runnable listener : listeners) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("error")
-                        .data(Map.of("message", errorMessage)));
-                // 에러 후에는 연결 종료
-                emitter.complete();
-            } catch (IOException e) {
-                log.error("Failed to send error event: {}", clientId, e);
-            } finally {
-                emitters.remove(clientId);
+                listener.run();
+            } catch (Exception e) {
+                log.error("SSE disconnect listener failed: {}", clientId, e);
             }
         }
     }
+
+    public void complete(String clientId) {
+        finish(clientId, "complete", "Translation finished");
+    }
+
+    public void sendError(String clientId, String errorMessage) {
+        // 에러 후에는 연결 종료
+        finish(clientId, "error", Map.of("message", errorMessage));
+    }
 }
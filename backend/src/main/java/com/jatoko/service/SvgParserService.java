@@ -18,6 +18,7 @@
 
 package com.jatoko.service;
 
+import com.jatoko.config.TranslationConfig;
 import com.jatoko.model.SvgTextNode;
 import com.jatoko.service.svg.SvgDocumentLoader;
 import com.jatoko.service.extractor.SvgTextExtractor;
@@ -30,6 +31,7 @@ import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * SVG 파일 파싱 및 번역 적용 서비스
@@ -47,8 +49,9 @@ public class SvgParserService extends BaseParserService<SvgTextNode> {
                             SvgDocumentLoader documentLoader,
                             SvgTextExtractor textExtractor,
                             SvgTranslationApplier translationApplier,
-                            com.jatoko.service.translator.Translator translator) {
-        super(metadataService, translator);
+                            com.jatoko.service.translator.Translator translator,
+                            TranslationConfig translationConfig) {
+        super(metadataService, translator, translationConfig);
         this.documentLoader = documentLoader;
         this.textExtractor = textExtractor;
         this.translationApplier = translationApplier;
@@ -59,6 +62,13 @@ public class SvgParserService extends BaseParserService<SvgTextNode> {
         return extractJapaneseTexts(inputFile);
     }
 
+    @Override
+    protected void extractNodes(File inputFile, Consumer<SvgTextNode> sink) {
+        // 문서 파싱 후 텍스트 노드를 찾는 즉시 전달 (번역이 추출과 겹쳐 진행됨)
+        Document document = documentLoader.loadAndParse(inputFile);
+        textExtractor.extractJapaneseTexts(document, sink);
+    }
+
     @Override
     protected void applyTranslationsInternal(File inputFile, List<SvgTextNode> nodes, File outputFile) {
         // 번역 맵 생성 (id -> 번역 텍스트만)
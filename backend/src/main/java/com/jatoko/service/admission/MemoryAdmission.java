@@ -0,0 +1,144 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.admission;
+
+import com.jatoko.config.AdmissionConfig;
+import com.jatoko.exception.AdmissionRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 힙 예산 기반 번역 작업 입장 제어
+ *
+ * 파일 크기와 타입으로 작업의 힙 사용량을 추정하고, 실행 중인 작업의 추정치 합이
+ * 예산을 넘지 않을 때만 파일을 엽니다. 예산은 MB 단위 공정 세마포어로 관리하므로
+ * 먼저 기다린 작업이 먼저 들어갑니다. 예산보다 큰 파일은 예산 전체를 차지하여 단독으로 실행됩니다.
+ */
+@Slf4j
+@Component
+public class MemoryAdmission {
+
+    private static final long MB = 1024 * 1024;
+
+    private final AdmissionConfig config;
+    private final int budgetMb;
+    private final Semaphore budget;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public MemoryAdmission(AdmissionConfig config) {
+        this.config = config;
+        long budgetBytes = config.getHeapBudget() != null
+                ? config.getHeapBudget().toBytes()
+                : (long) (Runtime.getRuntime().maxMemory() * 0.6);
+        this.budgetMb = (int) Math.max(1, Math.min(Integer.MAX_VALUE, budgetBytes / MB));
+        this.budget = new Semaphore(budgetMb, true);
+        log.info("Heap admission budget: {} MB ({})", budgetMb, config.getWhenFull());
+    }
+
+    /**
+     * 파일 하나를 번역하는 동안의 예상 힙 사용량 (bytes)
+     */
+    public long estimate(String fileName, long inputBytes) {
+        String lowerFileName = fileName.toLowerCase();
+        double factor = lowerFileName.endsWith(".asta") || lowerFileName.endsWith(".astah")
+                ? config.getAstahFactor()
+                : config.getSvgFactor();
+        return Math.max(config.getMinEstimate().toBytes(), (long) (inputBytes * factor));
+    }
+
+    /**
+     * 예상 사용량만큼 예산을 확보합니다. 반환된 Permit을 닫으면 예산이 반환됩니다.
+     *
+     * @throws AdmissionRejectedException 예산이 부족한 경우 (REJECT) 또는 maxWait 안에 확보하지 못한 경우 (QUEUE)
+     */
+    public Permit acquire(String fileName, long inputBytes) throws InterruptedException {
+        int units = (int) Math.min(budgetMb, Math.max(1, (estimate(fileName, inputBytes) + MB - 1) / MB));
+        boolean acquired;
+        if (config.getWhenFull() == AdmissionConfig.WhenFull.REJECT) {
+            acquired = budget.tryAcquire(units);
+        } else {
+            waiting.incrementAndGet();
+            try {
+                acquired = budget.tryAcquire(units, config.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        if (!acquired) {
+            throw reject(String.format("Heap budget is full, cannot admit %s (~%d MB)", fileName, units));
+        }
+        log.debug("Admitted {} (~{} MB, {} MB left)", fileName, units, budget.availablePermits());
+        return new Permit(units);
+    }
+
+    /**
+     * 작업 등록 전에 확인합니다. 스케줄러에 밀린 파일이 너무 많거나(QUEUE),
+     * 새 작업이 들어갈 여유가 없으면(REJECT) 등록을 거절합니다.
+     * 예산을 기다리는 스레드 수는 작업 스레드 수를 넘지 못하므로, QUEUE 모드는 실행 전 대기 중인 파일 수로 판단합니다.
+     *
+     * @param queuedFiles 스케줄러에서 실행을 기다리는 파일 수 (대기/보류 중인 작업 기준)
+     */
+    public void checkAdmissible(int queuedFiles) {
+        boolean full = config.getWhenFull() == AdmissionConfig.WhenFull.REJECT
+                ? budget.availablePermits() * MB < config.getMinEstimate().toBytes()
+                : queuedFiles >= config.getMaxQueued();
+        if (full) {
+            throw reject("Server is at its translation memory limit, please retry later");
+        }
+    }
+
+    public Snapshot snapshot() {
+        long available = budget.availablePermits();
+        return new Snapshot(budgetMb * MB, (budgetMb - available) * MB, waiting.get(), rejected.get());
+    }
+
+    private AdmissionRejectedException reject(String message) {
+        rejected.incrementAndGet();
+        log.warn("{} (waiting: {})", message, waiting.get());
+        return new AdmissionRejectedException(message, config.getRetryAfter());
+    }
+
+    /**
+     * 확보한 예산. close()는 여러 번 호출해도 한 번만 반환합니다.
+     */
+    public final class Permit implements AutoCloseable {
+        private final int units;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int units) {
+            this.units = units;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                budget.release(units);
+            }
+        }
+    }
+
+    public record Snapshot(long budgetBytes, long inUseBytes, int waiting, long rejected) {}
+}
@@ -0,0 +1,218 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.bulkhead;
+
+import com.jatoko.exception.BulkheadFullException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 작업 종류별로 분리된 제한 실행기 (벌크헤드)
+ *
+ * 동시 실행 수와 대기열 크기가 고정되어 있어 한 종류의 작업이 밀려도
+ * 다른 종류의 작업 스레드를 잠식하지 않습니다. 대기열이 가득 차면 즉시 거절하고,
+ * 실행 시간이 제한 시간을 넘으면 작업을 인터럽트합니다. 제한 시간은 실행이 시작된 시점부터 잽니다.
+ */
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, int queueCapacity, Duration timeout) {
+        this.name = name;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.timeout = timeout;
+        int threads = Math.max(1, maxConcurrent);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity),
+                Thread.ofVirtual().name("bulkhead-" + name + "-", 0).factory());
+    }
+
+    /**
+     * 작업을 실행하고 결과를 기다립니다.
+     * 작업이 던진 예외는 그대로 전달되고, 기다리던 스레드가 인터럽트되면 작업도 인터럽트됩니다.
+     * 대기열에서 기다리는 시간은 제한 시간에 포함하지 않습니다 (앞선 작업이 제한 시간에 묶여 있으므로 대기도 유한함).
+     * 제한 시간 초과나 인터럽트로 작업을 취소하면 작업이 실제로 멈출 때까지 기다린 뒤 예외를 던집니다.
+     * (호출자가 이어서 출력 파일이나 예산을 정리할 때 작업이 아직 쓰고 있지 않도록)
+     *
+     * @throws BulkheadFullException 대기열이 가득 찬 경우
+     * @throws TimeoutException 실행 시간이 제한 시간을 넘은 경우
+     */
+    public <V> V call(Callable<V> task) throws Exception {
+        TimedTask<V> future = submit(task);
+        try {
+            future.started.await();
+            long remaining = future.startedAt + timeout.toNanos() - System.nanoTime();
+            V result = future.get(remaining, TimeUnit.NANOSECONDS);
+            completed.incrementAndGet();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            log.warn("Bulkhead {} task timed out after {}", name, timeout);
+            if (awaitStopped(future)) {
+                Thread.currentThread().interrupt();
+            }
+            throw new TimeoutException(name + " task timed out after " + timeout);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            awaitStopped(future);
+            throw e;
+        } catch (ExecutionException e) {
+            completed.incrementAndGet();
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 결과를 기다리지 않고 실행합니다. 대기열이 가득 차면 작업을 버리고 false를 반환합니다.
+     */
+    public boolean offer(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    completed.incrementAndGet();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return false;
+        }
+    }
+
+    public Snapshot snapshot() {
+        int active = executor.getActiveCount();
+        int queued = executor.getQueue().size();
+        return new Snapshot(name, executor.getMaximumPoolSize(), active, queueCapacity, queued,
+                completed.get(), rejected.get(), timedOut.get(),
+                (double) (active + queued) / (executor.getMaximumPoolSize() + queueCapacity));
+    }
+
+    public void shutdown() {
+        // 대기열에서 버려진 작업을 취소하여 기다리던 호출자를 깨움
+        executor.shutdownNow().forEach(runnable -> {
+            if (runnable instanceof Future<?> future) {
+                future.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * 취소한 작업이 끝날 때까지 인터럽트와 관계없이 기다립니다.
+     *
+     * @return 기다리는 동안 인터럽트되었는지 여부
+     */
+    private boolean awaitStopped(TimedTask<?> future) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (future.stopped.await(1, TimeUnit.MINUTES)) {
+                    return interrupted;
+                }
+                log.warn("Bulkhead {} waiting for cancelled task to stop...", name);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+
+    private <V> TimedTask<V> submit(Callable<V> task) {
+        try {
+            TimedTask<V> future = new TimedTask<>(task);
+            executor.execute(future);
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("Bulkhead {} saturated: {} running, {} queued", name,
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new BulkheadFullException(name + " is saturated, try again later");
+        }
+    }
+
+    /**
+     * 실행 시작 시각을 기록하는 작업 (취소되어 실행되지 않아도 started는 열림)
+     * stopped는 실행이 실제로 끝나거나, 실행되기 전에 취소되었을 때 열립니다.
+     */
+    private static final class TimedTask<V> extends FutureTask<V> {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile long startedAt;
+        private volatile boolean running;
+
+        TimedTask(Callable<V> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            running = true;
+            startedAt = System.nanoTime();
+            started.countDown();
+            try {
+                super.run();
+            } finally {
+                stopped.countDown();
+            }
+        }
+
+        @Override
+        protected void done() {
+            started.countDown();
+            // 실행 중 취소되면 done()이 먼저 불리므로, 실행 중이 아닐 때만 여기서 종료로 간주
+            if (!running) {
+                stopped.countDown();
+            }
+        }
+    }
+
+    /**
+     * 벌크헤드 상태 (saturation: 실행 중 + 대기 중 / 전체 수용량)
+     */
+    public record Snapshot(String name, int maxConcurrent, int active, int queueCapacity, int queued,
+                           long completed, long rejected, long timedOut, double saturation) {}
+}
@@ -0,0 +1,80 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.bulkhead;
+
+import com.jatoko.config.ConcurrencyConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 서브시스템별 벌크헤드 모음
+ * - astah: Astah SDK 작업 (ProjectAccessor 싱글턴이므로 기본 1개)
+ * - svg: Batik DOM 파싱/저장
+ * - translation: DeepL 요청
+ * - progress: SSE 진행률 전송
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead astah;
+    private final Bulkhead svg;
+    private final Bulkhead translation;
+    private final Bulkhead progress;
+
+    public Bulkheads(ConcurrencyConfig config) {
+        this.astah = new Bulkhead("astah", config.getAstahFiles(), config.getAstahQueue(), config.getAstahTimeout());
+        this.svg = new Bulkhead("svg", config.getSvgFiles(), config.getSvgQueue(), config.getSvgTimeout());
+        this.translation = new Bulkhead("translation", config.getTranslationCalls(), config.getTranslationQueue(),
+                config.getTranslationTimeout());
+        // 진행률 전송은 결과를 기다리지 않으므로 제한 시간을 쓰지 않음
+        this.progress = new Bulkhead("progress", config.getProgressSenders(), config.getProgressQueue(),
+                Duration.ofDays(1));
+    }
+
+    public Bulkhead forFile(String fileName) {
+        String lowerFileName = fileName.toLowerCase();
+        if (lowerFileName.endsWith(".asta") || lowerFileName.endsWith(".astah")) {
+            return astah;
+        }
+        return svg;
+    }
+
+    public Bulkhead translation() {
+        return translation;
+    }
+
+    public Bulkhead progress() {
+        return progress;
+    }
+
+    public List<Bulkhead.Snapshot> snapshots() {
+        return List.of(astah.snapshot(), svg.snapshot(), translation.snapshot(), progress.snapshot());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        astah.shutdown();
+        svg.shutdown();
+        translation.shutdown();
+        progress.shutdown();
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.catalog;
+
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.dto.FileMetadataDto;
+import com.jatoko.dto.FilePage;
+import com.jatoko.dto.FileQuery;
+import com.jatoko.service.MetadataService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파일 목록 카탈로그
+ *
+ * target/translated 디렉토리의 파일을 원본 파일명(baseName + 확장자) 기준으로 묶어 메모리에 보관합니다.
+ * 원본(file.asta), 원본 버전(file_N.asta), 번역 결과(file_translated.asta, file_translated_N.asta)가 한 항목에 모입니다.
+ * 시작 시 한 번 전체를 읽고, 이후에는 업로드/번역/삭제 경로와 WatchService 이벤트로 바뀐 파일만 갱신합니다.
+ * 내용이 바뀔 때마다 버전이 올라가며, 같은 버전의 목록 조회는 이전에 만든 목록을 그대로 반환합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileCatalog {
+
+    // file_1.asta → (file, .asta)
+    private static final Pattern VERSIONED_ORIGINAL = Pattern.compile("^(.*)_\\d+(\\.[^.]+)$");
+    // file_translated.asta, file_translated_2.asta → (file, .asta)
+    private static final Pattern TRANSLATED = Pattern.compile("^(.+)_translated(?:_\\d+)?(\\.[^.]+)$");
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final DirectoryConfig directoryConfig;
+    private final MetadataService metadataService;
+
+    // 원본 파일명 → 항목 (this로 동기화)
+    private final Map<String, Entry> entries = new HashMap<>();
+    // 재시작 후 이전 ETag가 우연히 같은 버전과 겹치지 않도록 ETag에 포함
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private long version;
+    private boolean built;
+    private Listing cached;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * 특정 버전의 파일 메타데이터 목록
+     */
+    public record Listing(long version, String etag, List<FileMetadataDto> files) {}
+
+    /**
+     * 파일 하나의 최종 수정 시각과 크기
+     */
+    private record FileStat(long modified, long size) {}
+
+    /**
+     * 원본 파일명 하나에 속한 파일들 (파일명 → 상태)
+     */
+    private static final class Entry {
+        private final Map<String, FileStat> originals = new HashMap<>();
+        private final Map<String, FileStat> translations = new HashMap<>();
+        private Boolean outlined;  // SVG 아웃라인 여부 (대표 원본이 바뀌면 메타데이터에서 다시 조회)
+        private Long uploadedAt;   // 대표 원본 등록 시각 (링크는 수정 시각을 공유하므로 메타데이터에서 조회)
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path targetDir = targetDir();
+        Path translatedDir = translatedDir();
+        Files.createDirectories(targetDir);
+        Files.createDirectories(translatedDir);
+        rebuild();
+
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path dir : List.of(targetDir, translatedDir)) {
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        watcher = Thread.ofPlatform().daemon().name("file-catalog").start(this::watchLoop);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService == null) {
+            return;
+        }
+        watchService.close();
+        watcher.interrupt();
+    }
+
+    /**
+     * 현재 목록. 마지막 조회 이후 바뀐 것이 없으면 같은 목록을 반환합니다.
+     */
+    public synchronized Listing listing() {
+        if (!built) {
+            rebuild();
+        }
+        if (cached == null || cached.version() != version) {
+            cached = new Listing(version, "\"" + epoch + "-" + version + "\"", buildFiles());
+        }
+        return cached;
+    }
+
+    /**
+     * 조건에 맞는 파일 메타데이터 한 페이지.
+     * 커서는 마지막 항목의 (정렬 값, 파일명)이므로 페이지 사이에 파일이 추가/삭제되어도 항목이 중복되거나 빠지지 않습니다.
+     */
+    public synchronized FilePage<FileMetadataDto> query(FileQuery query) {
+        Listing listing = listing();
+        SortKey sort = SortKey.of(query.getSort());
+        boolean descending = isDescending(query.getOrder());
+        String type = query.getType() != null ? "." + query.getType().toLowerCase() : null;
+        if (type != null && !type.equals(".asta") && !type.equals(".svg")) {
+            throw new IllegalArgumentException("Invalid file type: " + query.getType());
+        }
+
+        Comparator<Cursor> order = descending ? Cursor.ORDER.reversed() : Cursor.ORDER;
+        List<FileMetadataDto> matched = listing.files().stream()
+                .filter(file -> type == null || file.getFileName().toLowerCase().endsWith(type))
+                .filter(file -> query.getTranslated() == null || file.isTranslated() == query.getTranslated())
+                .filter(file -> query.getOutlined() == null || file.isOutlined() == query.getOutlined())
+                .filter(file -> hasPrefix(file.getFileName(), query.getPrefix()))
+                .sorted(Comparator.comparing(sort::cursor, order))
+                .toList();
+        return page(matched, sort::cursor, order, sort, query.getLimit(), query.getCursor(), listing.version());
+    }
+
+    /**
+     * target(대표 원본) 또는 translated 파일명 한 페이지 (파일명 오름차순)
+     */
+    public synchronized FilePage<String> fileNames(boolean translated, String prefix, Integer limit, String cursor) {
+        Listing listing = listing();
+        List<String> names = new ArrayList<>();
+        entries.forEach((fileName, entry) -> {
+            if (translated) {
+                names.addAll(entry.translations.keySet());
+            } else if (entry.originals.containsKey(fileName)) {
+                names.add(fileName);
+            }
+        });
+        List<String> matched = names.stream()
+                .filter(name -> hasPrefix(name, prefix))
+                .sorted()
+                .toList();
+        return page(matched, name -> new Cursor(0, name), Cursor.ORDER, SortKey.FILE_NAME, limit, cursor, listing.version());
+    }
+
+    private <T> FilePage<T> page(List<T> sorted, Function<T, Cursor> key, Comparator<Cursor> order,
+                                 SortKey sort, Integer limit, String cursor, long catalogVersion) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor, sort);
+            while (from < sorted.size() && order.compare(key.apply(sorted.get(from)), after) <= 0) {
+                from++;
+            }
+        }
+        int to = Math.min(from + size, sorted.size());
+        List<T> items = List.copyOf(sorted.subList(from, to));
+        return FilePage.<T>builder()
+                .items(items)
+                .nextCursor(to < sorted.size() ? key.apply(items.get(items.size() - 1)).encode(sort) : null)
+                .total(sorted.size())
+                .catalogVersion(catalogVersion)
+                .build();
+    }
+
+    private static boolean hasPrefix(String fileName, String prefix) {
+        return prefix == null || fileName.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static boolean isDescending(String order) {
+        if (order == null || order.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (order.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid order: " + order);
+    }
+
+    /**
+     * 정렬 기준. 번역되지 않은 파일의 translatedAt은 가장 이른 값으로 취급합니다.
+     */
+    private enum SortKey {
+        FILE_NAME("fileName"),
+        UPLOADED_AT("uploadedAt"),
+        TRANSLATED_AT("translatedAt"),
+        SIZE("size");
+
+        private final String param;
+
+        SortKey(String param) {
+            this.param = param;
+        }
+
+        static SortKey of(String param) {
+            if (param == null) {
+                return FILE_NAME;
+            }
+            for (SortKey key : values()) {
+                if (key.param.equalsIgnoreCase(param)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Invalid sort: " + param);
+        }
+
+        Cursor cursor(FileMetadataDto file) {
+            long value = switch (this) {
+                case FILE_NAME -> 0;
+                case UPLOADED_AT -> toEpochMillis(file.getUploadedAt());
+                case TRANSLATED_AT -> file.getTranslatedAt() != null ? toEpochMillis(file.getTranslatedAt()) : Long.MIN_VALUE;
+                case SIZE -> file.getSize();
+            };
+            return new Cursor(value, file.getFileName());
+        }
+    }
+
+    /**
+     * 페이지 경계 (정렬 값, 파일명). 클라이언트에는 Base64 문자열로 전달합니다.
+     */
+    private record Cursor(long value, String fileName) {
+        static final Comparator<Cursor> ORDER = Comparator.comparingLong(Cursor::value).thenComparing(Cursor::fileName);
+
+        String encode(SortKey sort) {
+            String raw = sort.name() + ":" + value + ":" + fileName;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, SortKey sort) {
+            String[] parts;
+            try {
+                parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + sort.param);
+            }
+            try {
+                return new Cursor(Long.parseLong(parts[1]), parts[2]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+
+    /**
+     * 디렉토리 전체를 다시 읽습니다. (시작 시, 감시 이벤트가 유실된 경우)
+     */
+    public synchronized void rebuild() {
+        entries.clear();
+        scan(targetDir(), true);
+        scan(translatedDir(), false);
+        built = true;
+        version++;
+        log.info("File catalog built: {} entries", entries.size());
+    }
+
+    /**
+     * target 디렉토리의 파일 하나를 디스크 상태와 맞춥니다. (생성/수정/삭제 모두)
+     */
+    public void refreshTarget(String fileName) {
+        refresh(targetDir(), fileName, true);
+    }
+
+    /**
+     * translated 디렉토리의 파일 하나를 디스크 상태와 맞춥니다. (생성/수정/삭제 모두)
+     */
+    public void refreshTranslated(String fileName) {
+        refresh(translatedDir(), fileName, false);
+    }
+
+    private synchronized void refresh(Path dir, String fileName, boolean original) {
+        String key = original ? originalKey(fileName) : translatedKey(fileName);
+        if (key == null) {
+            return;
+        }
+        FileStat stat = stat(dir.resolve(fileName));
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        Map<String, FileStat> files = original ? entry.originals : entry.translations;
+        FileStat previous = stat != null ? files.put(fileName, stat) : files.remove(fileName);
+        if (entry.originals.isEmpty() && entry.translations.isEmpty()) {
+            entries.remove(key);
+        }
+        // 자신이 갱신한 파일의 감시 이벤트 등 변화가 없으면 버전을 유지
+        if (Objects.equals(previous, stat)) {
+            return;
+        }
+        if (original && fileName.equals(key)) {
+            entry.outlined = null;
+            entry.uploadedAt = null;
+        }
+        version++;
+    }
+
+    private void scan(Path dir, boolean original) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String key = original ? originalKey(fileName) : translatedKey(fileName);
+                FileStat stat = key != null ? stat(file) : null;
+                if (stat != null) {
+                    Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+                    (original ? entry.originals : entry.translations).put(fileName, stat);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to scan directory for catalog: {}", dir, e);
+        }
+    }
+
+    private List<FileMetadataDto> buildFiles() {
+        Map<String, FileMetadataDto> files = new TreeMap<>();
+        entries.forEach((fileName, entry) -> {
+            FileStat uploaded = entry.originals.get(fileName);
+            // 대표 원본(file.asta)이 있는 항목만 표시
+            if (uploaded == null) {
+                return;
+            }
+            Long translated = entry.translations.values().stream().map(FileStat::modified).max(Long::compare).orElse(null);
+            files.put(fileName, FileMetadataDto.builder()
+                    .fileName(fileName)
+                    .translated(translated != null)
+                    .uploadedAt(toDateTime(uploadedAt(fileName, entry)))
+                    .translatedAt(translated != null ? toDateTime(translated) : null)
+                    .outlined(isOutlined(fileName, entry))
+                    .version(entry.translations.isEmpty() ? null : entry.translations.size())
+                    .originalVersion(entry.originals.size())
+                    .size(uploaded.size())
+                    .build());
+        });
+        return Collections.unmodifiableList(new ArrayList<>(files.values()));
+    }
+
+    private long uploadedAt(String fileName, Entry entry) {
+        if (entry.uploadedAt == null) {
+            entry.uploadedAt = metadataService.uploadedAt(targetDir().resolve(fileName).toFile());
+        }
+        return entry.uploadedAt;
+    }
+
+    private boolean isOutlined(String fileName, Entry entry) {
+        if (!fileName.toLowerCase().endsWith(".svg")) {
+            return false;
+        }
+        if (entry.outlined == null) {
+            // 업로드 시 기록된 결과를 사용하고, 파일이 바뀐 경우에만 다시 파싱
+            entry.outlined = metadataService.isOutlined(targetDir().resolve(fileName).toFile());
+        }
+        return entry.outlined;
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean original = targetDir().equals(key.watchable());
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // 이벤트가 유실되었으므로 전체를 다시 읽음
+                    rebuild();
+                } else if (event.context() instanceof Path path) {
+                    if (original) {
+                        refreshTarget(path.getFileName().toString());
+                    } else {
+                        refreshTranslated(path.getFileName().toString());
+                    }
+                }
+            }
+            if (!key.reset()) {
+                log.error("Catalog directory is no longer accessible: {}", key.watchable());
+                return;
+            }
+        }
+    }
+
+    /**
+     * target 파일이 속한 원본 파일명. 목록 대상(.asta/.svg, 숨김 아님)이 아니면 null
+     */
+    static String originalKey(String fileName) {
+        if (!isListable(fileName)) {
+            return null;
+        }
+        Matcher matcher = VERSIONED_ORIGINAL.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) + matcher.group(2) : fileName;
+    }
+
+    /**
+     * translated 파일이 속한 원본 파일명. 번역 결과 파일명 형식이 아니면 null
+     */
+    static String translatedKey(String fileName) {
+        if (!isListable(fileName)) {
+            return null;
+        }
+        Matcher matcher = TRANSLATED.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) + matcher.group(2) : null;
+    }
+
+    private static boolean isListable(String fileName) {
+        String lowerName = fileName.toLowerCase();
+        return !fileName.startsWith(".") && (lowerName.endsWith(".asta") || lowerName.endsWith(".svg"));
+    }
+
+    private static FileStat stat(Path file) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStat(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private Path targetDir() {
+        return Paths.get(directoryConfig.getTarget()).toAbsolutePath().normalize();
+    }
+
+    private Path translatedDir() {
+        return Paths.get(directoryConfig.getTranslated()).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.download;
+
+import com.jatoko.service.MetadataService;
+import com.jatoko.service.storage.ChunkedResource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 파일 다운로드 응답 작성
+ *
+ * 내용 해시를 강한 ETag로, 파일 수정 시각을 Last-Modified로 내려주고
+ * If-None-Match/If-Modified-Since(및 If-Match/If-Unmodified-Since)가 맞으면 본문 없이 304(412)를 반환합니다.
+ * Range 요청은 단일 구간(206)과 여러 구간(multipart/byteranges)을 지원하며, If-Range가 현재 버전과 다르면 전체를 보냅니다.
+ * 일반 파일의 전체/단일 구간은 Tomcat sendfile로 커널이 파일에서 소켓으로 바로 보내고,
+ * 지원하지 않는 커넥터나 여러 구간은 FileChannel.transferTo로, 청크로 저장된 파일은 스트림으로 보냅니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DownloadService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final int HASH_CACHE_SIZE = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MetadataService metadataService;
+
+    // 파일 경로 → 내용 해시 (크기와 수정 시각이 같을 때만 재사용, 최근 사용 순으로 제한)
+    private final Map<Path, CachedHash> hashes = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, CachedHash> eldest) {
+                    return size() > HASH_CACHE_SIZE;
+                }
+            });
+
+    private record CachedHash(long size, long modified, String hash) {}
+
+    /**
+     * 바이트 구간 (end 포함)
+     */
+    private record Range(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+
+        String contentRange(long total) {
+            return "bytes " + start + "-" + end + "/" + total;
+        }
+    }
+
+    /**
+     * resource를 fileName으로 내려받는 응답을 작성합니다.
+     */
+    public void write(Resource resource, String fileName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = resource.contentLength();
+        long lastModified = resource.lastModified();
+        String etag = "\"" + contentHash(resource, length, lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFileName);
+
+        List<Range> ranges;
+        try {
+            ranges = requestedRanges(request, etag, lastModified, length);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+        boolean head = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        if (ranges.isEmpty()) {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(length);
+            if (!head && length > 0) {
+                writeSingle(resource, new Range(0, length - 1), request, response);
+            }
+            return;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (ranges.size() == 1) {
+            Range range = ranges.get(0);
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
+            response.setContentLengthLong(range.length());
+            if (!head) {
+                writeSingle(resource, range, request, response);
+            }
+            return;
+        }
+        writeMultipart(resource, ranges, length, head, response);
+    }
+
+    /**
+     * 적용할 Range 구간. Range가 없거나 If-Range가 현재 버전과 다르면 빈 목록(전체 응답)입니다.
+     *
+     * @throws IllegalArgumentException 구간 형식이 잘못되었거나 파일 범위를 벗어난 경우 (416)
+     */
+    private List<Range> requestedRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !matchesIfRange(request, etag, lastModified)) {
+            return List.of();
+        }
+        List<Range> ranges = new ArrayList<>();
+        long total = 0;
+        for (HttpRange range : HttpRange.parseRanges(header)) {
+            Range resolved = new Range(range.getRangeStart(length), range.getRangeEnd(length));
+            total += resolved.length();
+            ranges.add(resolved);
+        }
+        // 겹치는 구간을 반복해 파일보다 많은 데이터를 요구하는 요청 거절
+        if (total > length) {
+            throw new IllegalArgumentException("Requested ranges exceed content length");
+        }
+        return ranges;
+    }
+
+    /**
+     * If-Range가 없거나 현재 ETag(강한 비교) 또는 Last-Modified와 같으면 true
+     */
+    private boolean matchesIfRange(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 구간 하나를 응답 본문으로 보냅니다. 일반 파일이고 커넥터가 지원하면 sendfile로 넘깁니다.
+     * (Tomcat이 핸들러 반환 후 Content-Length만큼 파일에서 소켓으로 직접 전송)
+     */
+    private void writeSingle(Resource resource, Range range,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (resource.isFile() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        writeRange(resource, range, out);
+        out.flush();
+    }
+
+    private void writeMultipart(Resource resource, List<Range> ranges, long length, boolean head,
+                                HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>();
+        long contentLength = 0;
+        for (Range range : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + MediaType.APPLICATION_OCTET_STREAM_VALUE + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + range.contentRange(length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range.length();
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        for (int i = 0; i < ranges.size(); i++) {
+            out.write(partHeaders.get(i));
+            writeRange(resource, ranges.get(i), out);
+        }
+        out.write(closing);
+        out.flush();
+    }
+
+    /**
+     * 구간을 out에 씁니다. 일반 파일은 FileChannel.transferTo, 그 외는 해당 위치부터 스트림으로 복사합니다.
+     */
+    private void writeRange(Resource resource, Range range, OutputStream out) throws IOException {
+        if (resource.isFile()) {
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                // 응답 스트림은 닫지 않음 (여러 구간을 이어서 씀)
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = range.start();
+                long remaining = range.length();
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, target);
+                    if (sent <= 0) {
+                        throw new EOFException("File ended before requested range: " + resource.getFilename());
+                    }
+                    position += sent;
+                    remaining -= sent;
+                }
+            }
+            return;
+        }
+        try (InputStream in = openAt(resource, range.start())) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = range.length();
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read == -1) {
+                    throw new EOFException("Content ended before requested range: " + resource.getFilename());
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private InputStream openAt(Resource resource, long position) throws IOException {
+        if (resource instanceof ChunkedResource chunked) {
+            return chunked.getInputStream(position);
+        }
+        InputStream in = resource.getInputStream();
+        in.skipNBytes(position);
+        return in;
+    }
+
+    /**
+     * 내용 해시. 청크로 저장된 파일은 manifest의 해시를, 일반 파일은 크기/수정 시각이 같으면 이전에 계산한 해시를 씁니다.
+     */
+    private String contentHash(Resource resource, long length, long lastModified) throws IOException {
+        if (resource instanceof ChunkedResource chunked) {
+            return chunked.contentHash();
+        }
+        File file = resource.getFile();
+        Path key = file.toPath().toAbsolutePath();
+        CachedHash cached = hashes.get(key);
+        if (cached != null && cached.size() == length && cached.modified() == lastModified) {
+            return cached.hash();
+        }
+        String hash = metadataService.calculateHash(file);
+        hashes.put(key, new CachedHash(length, lastModified, hash));
+        return hash;
+    }
+}
@@ -22,16 +22,20 @@ import com.change_vision.jude.api.inf.model.*;
 import com.change_vision.jude.api.inf.project.ProjectAccessor;
 import com.jatoko.model.DiagramNode;
 import com.jatoko.util.JapaneseDetector;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Astah 파일에서 일본어 노드를 추출하는 컴포넌트
  */
+@Slf4j
 @Component
 public class NodeExtractor {
 
@@ -69,6 +73,76 @@ public class NodeExtractor {
         return japaneseNodes;
     }
 
+    /**
+     * 프로젝트에서 일본어 노드를 찾는 즉시 sink에 전달합니다.
+     * 중복 단어는 추출 도중 판정합니다: 같은 name의 첫 노드가 대표가 되고, 이후 노드는 중복으로 표시되어
+     * 전달됩니다 (extractJapaneseNodes와 같은 결과).
+     *
+     * @param projectAccessor Astah ProjectAccessor
+     * @param sink            추출된 노드를 받을 콜백
+     */
+    public void extractJapaneseNodes(ProjectAccessor projectAccessor, Consumer<DiagramNode> sink) {
+        StreamingNodeList streamingNodes = new StreamingNodeList(sink);
+
+        try {
+            IModel project = projectAccessor.getProject();
+
+            // 모든 모델 요소 탐색
+            traverseModel(project, streamingNodes);
+
+            // 다이어그램 요소 탐색
+            extractJapaneseNodesFromDiagrams(projectAccessor, streamingNodes);
+
+        } catch (Exception e) {
+            throw new RuntimeException("일본어 노드 추출 실패: " + e.getMessage(), e);
+        }
+
+        if (streamingNodes.duplicateCount > 0) {
+            log.info("중복 단어 감지: {}개 중복 노드 발견", streamingNodes.duplicateCount);
+        }
+    }
+
+    /**
+     * 추출기가 add하는 노드를 보관하지 않고 바로 전달하는 리스트
+     * 추출기들은 결과 리스트에 add만 하므로 기존 추출기를 수정하지 않고 스트리밍할 수 있습니다.
+     */
+    private static class StreamingNodeList extends AbstractList<DiagramNode> {
+        private final Consumer<DiagramNode> sink;
+        private final Map<String, DiagramNode> representatives = new HashMap<>();
+        private int size;
+        private int duplicateCount;
+
+        StreamingNodeList(Consumer<DiagramNode> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean add(DiagramNode node) {
+            String name = node.getName();
+            if (name != null && !name.isEmpty()) {
+                DiagramNode representative = representatives.putIfAbsent(name, node);
+                if (representative != null) {
+                    node.setDuplicate(true);
+                    representative.getDuplicateNodeIds().add(node.getId());
+                    duplicateCount++;
+                }
+            }
+            size++;
+            sink.accept(node);
+            return true;
+        }
+
+        @Override
+        public DiagramNode get(int index) {
+            throw new UnsupportedOperationException("Streaming node list does not retain nodes");
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
     /**
      * 다이어그램에서 일본어 노드를 추출합니다.
      */
@@ -304,7 +378,7 @@ public class NodeExtractor {
         }
 
         if (duplicateCount > 0) {
-            System.out.println("중복 단어 감지: " + duplicateCount + "개 중복 노드 발견");
+            log.info("중복 단어 감지: {}개 중복 노드 발견", duplicateCount);
         }
     }
 }
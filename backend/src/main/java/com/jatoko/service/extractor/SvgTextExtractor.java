@@ -36,6 +36,7 @@ import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * SVG 문서에서 일본어 텍스트를 추출하는 클래스
@@ -53,25 +54,33 @@ public class SvgTextExtractor {
      */
     public List<SvgTextNode> extractJapaneseTexts(Document document) {
         List<SvgTextNode> japaneseTexts = new ArrayList<>();
+        extractJapaneseTexts(document, japaneseTexts::add);
 
+        log.info("SVG 문서에서 {}개의 일본어 텍스트 노드 추출 완료", japaneseTexts.size());
+        return japaneseTexts;
+    }
+
+    /**
+     * SVG 문서에서 일본어 텍스트 노드를 찾는 즉시 sink에 전달합니다.
+     *
+     * @param document SVG Document 객체
+     * @param sink     추출된 노드를 받을 콜백
+     */
+    public void extractJapaneseTexts(Document document, Consumer<SvgTextNode> sink) {
         // 1. <text> 요소에서 추출
-        japaneseTexts.addAll(extractFromTextElements(document));
+        extractFromTextElements(document, sink);
 
         // 2. <foreignObject> 요소에서 추출
-        japaneseTexts.addAll(extractFromForeignObjects(document));
-
-        log.info("SVG 문서에서 {}개의 일본어 텍스트 노드 추출 완료", japaneseTexts.size());
-        return japaneseTexts;
+        extractFromForeignObjects(document, sink);
     }
 
     /**
      * <text> 요소에서 일본어 텍스트를 추출합니다.
      *
      * @param document SVG Document 객체
-     * @return 일본어 텍스트 노드 리스트
+     * @param sink     추출된 노드를 받을 콜백
      */
-    private List<SvgTextNode> extractFromTextElements(Document document) {
-        List<SvgTextNode> nodes = new ArrayList<>();
+    private void extractFromTextElements(Document document, Consumer<SvgTextNode> sink) {
         NodeList textElements = document.getElementsByTagName("text");
 
         for (int i = 0; i < textElements.getLength(); i++) {
@@ -95,12 +104,10 @@ public class SvgTextExtractor {
                 node.setFontSize(textElement.getAttribute("font-size"));
                 node.setFontFamily(textElement.getAttribute("font-family"));
 
-                nodes.add(node);
+                sink.accept(node);
                 log.debug("일본어 텍스트 발견 (text): id={}, text={}", id, textContent);
             }
         }
-
-        return nodes;
     }
 
     /**
@@ -108,28 +115,25 @@ public class SvgTextExtractor {
      * 내부의 각 텍스트 요소를 개별적으로 추출합니다.
      *
      * @param document SVG Document 객체
-     * @return 일본어 텍스트 노드 리스트
+     * @param sink     추출된 노드를 받을 콜백
      */
-    private List<SvgTextNode> extractFromForeignObjects(Document document) {
-        List<SvgTextNode> nodes = new ArrayList<>();
+    private void extractFromForeignObjects(Document document, Consumer<SvgTextNode> sink) {
         NodeList foreignObjects = document.getElementsByTagName("foreignObject");
 
         for (int i = 0; i < foreignObjects.getLength(); i++) {
             Element foreignObject = (Element) foreignObjects.item(i);
             // foreignObject 내부의 각 텍스트 요소를 개별 추출
-            extractTextElementsRecursively(foreignObject, nodes);
+            extractTextElementsRecursively(foreignObject, sink);
         }
-
-        return nodes;
     }
 
     /**
      * foreignObject 내부를 재귀적으로 탐색하여 텍스트가 있는 요소를 개별 추출합니다.
      *
      * @param node 탐색할 노드
-     * @param nodes 추출된 노드를 저장할 리스트
+     * @param sink 추출된 노드를 받을 콜백
      */
-    private void extractTextElementsRecursively(Node node, List<SvgTextNode> nodes) {
+    private void extractTextElementsRecursively(Node node, Consumer<SvgTextNode> sink) {
         NodeList children = node.getChildNodes();
         for (int i = 0; i < children.getLength(); i++) {
             Node child = children.item(i);
@@ -145,12 +149,12 @@ public class SvgTextExtractor {
                     svgNode.setId(id);
                     svgNode.setOriginalText(directText);
 
-                    nodes.add(svgNode);
+                    sink.accept(svgNode);
                     log.debug("일본어 텍스트 발견 (foreignObject 내부): id={}, text={}", id, directText);
                 }
 
                 // 자식 요소도 재귀 탐색
-                extractTextElementsRecursively(element, nodes);
+                extractTextElementsRecursively(element, sink);
             }
         }
     }
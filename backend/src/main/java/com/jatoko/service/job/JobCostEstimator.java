@@ -0,0 +1,73 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.job;
+
+import com.jatoko.model.NodeTranslation;
+import com.jatoko.model.TranslationMetadata;
+import com.jatoko.service.DirectoryService;
+import com.jatoko.service.MetadataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+
+/**
+ * 번역 작업의 예상 비용(번역 대상 문자 수)을 추정하는 컴포넌트
+ *
+ * 이전에 추출한 적이 있는 파일은 메타데이터에 기록된 노드/문자 수를 사용하고,
+ * 처음 번역하는 파일은 파일 크기로 근사합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobCostEstimator {
+
+    // 파일 크기 → 문자 수 근사 비율 (마크업/바이너리 대비 텍스트 비중)
+    private static final long SVG_BYTES_PER_CHAR = 40;
+    private static final long ASTAH_BYTES_PER_CHAR = 200;
+
+    private final DirectoryService directoryService;
+    private final MetadataService metadataService;
+
+    public long estimate(String fileName) {
+        File inputFile;
+        try {
+            inputFile = directoryService.findLatestTargetFile(fileName);
+        } catch (Exception e) {
+            // 파일이 없으면 실행 시 바로 실패하므로 가장 작은 비용으로 취급
+            return 0;
+        }
+
+        TranslationMetadata metadata = metadataService.loadMetadata(inputFile);
+        if (metadata.getCharCount() > 0) {
+            return metadata.getCharCount();
+        }
+        if (!metadata.getTranslations().isEmpty()) {
+            return metadata.getTranslations().values().stream()
+                    .map(NodeTranslation::getOriginalText)
+                    .mapToLong(text -> text != null ? text.length() : 0)
+                    .sum();
+        }
+
+        String lowerFileName = fileName.toLowerCase();
+        long bytesPerChar = lowerFileName.endsWith(".svg") ? SVG_BYTES_PER_CHAR : ASTAH_BYTES_PER_CHAR;
+        return inputFile.length() / bytesPerChar;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.JobConfig;
+import com.jatoko.model.RunPolicy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 번역 작업 이벤트를 로컬 볼륨에 한 줄씩 추가 기록하는 저널 (JSON Lines)
+ *
+ * 컨테이너가 작업 도중 재시작되면, 시작 시 저널을 재생하여 완료/실패 이벤트가 없는
+ * 작업을 찾아 다시 등록할 수 있습니다. 각 이벤트는 기록 즉시 디스크에 동기화됩니다.
+ */
+@Slf4j
+@Component
+public class JobJournal {
+
+    public static final String SUBMITTED = "SUBMITTED";
+    public static final String STARTED = "STARTED";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private static final String JOURNAL_FILE_NAME = "journal.jsonl";
+
+    /**
+     * 저널 한 줄에 해당하는 작업 이벤트
+     */
+    public record Entry(String jobId, String event, String fileName, String resultFileName,
+                        String errorMessage, String owner, RunPolicy runPolicy, long timestamp,
+                        List<String> fileNames) {}
+
+    private final JobConfig jobConfig;
+    private final ObjectMapper objectMapper;
+
+    private Path journalPath;
+    private FileChannel channel;
+
+    public JobJournal(JobConfig jobConfig, ObjectMapper objectMapper) {
+        this.jobConfig = jobConfig;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path journalDir = Paths.get(jobConfig.getJournalDir());
+        Files.createDirectories(journalDir);
+        journalPath = journalDir.resolve(JOURNAL_FILE_NAME);
+        log.info("작업 저널 경로: {}", journalPath);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    public void submitted(String jobId, String fileName, String owner) {
+        submitted(jobId, fileName, owner, null);
+    }
+
+    public void submitted(String jobId, String fileName, String owner, RunPolicy runPolicy) {
+        append(new Entry(jobId, SUBMITTED, fileName, null, null, owner, runPolicy, System.currentTimeMillis(), null));
+    }
+
+    /**
+     * 여러 파일을 한 번에 처리하는 배치 작업의 등록 (재시작 시 같은 파일 목록으로 재등록)
+     */
+    public void submittedBatch(String jobId, List<String> fileNames, String owner, RunPolicy runPolicy) {
+        append(new Entry(jobId, SUBMITTED, null, null, null, owner, runPolicy, System.currentTimeMillis(),
+                List.copyOf(fileNames)));
+    }
+
+    public void started(String jobId, String fileName) {
+        append(new Entry(jobId, STARTED, fileName, null, null, null, null, System.currentTimeMillis(), null));
+    }
+
+    public void completed(String jobId, String fileName, String resultFileName) {
+        append(new Entry(jobId, COMPLETED, fileName, resultFileName, null, null, null, System.currentTimeMillis(), null));
+    }
+
+    public void failed(String jobId, String fileName, String errorMessage) {
+        append(new Entry(jobId, FAILED, fileName, null, errorMessage, null, null, System.currentTimeMillis(), null));
+    }
+
+    public void cancelled(String jobId, String fileName) {
+        append(new Entry(jobId, CANCELLED, fileName, null, null, null, null, System.currentTimeMillis(), null));
+    }
+
+    /**
+     * 저널을 재생하여 완료/실패 이벤트가 없는 작업의 SUBMITTED 이벤트를 반환하고,
+     * 저널을 해당 작업만 남기도록 압축합니다.
+     */
+    public synchronized List<Entry> recoverIncomplete() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Entry> incomplete = new LinkedHashMap<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+
+            Entry entry;
+            try {
+                entry = objectMapper.readValue(line, Entry.class);
+            } catch (IOException e) {
+                // 크래시 시점에 기록 중이던 마지막 줄은 잘려 있을 수 있음
+                log.warn("작업 저널 {}번째 줄을 건너뜁니다: {}", lineNumber, e.getMessage());
+                continue;
+            }
+
+            switch (entry.event()) {
+                case SUBMITTED -> incomplete.put(entry.jobId(), entry);
+                case COMPLETED, FAILED, CANCELLED -> incomplete.remove(entry.jobId());
+                default -> { }
+            }
+        }
+
+        List<Entry> result = new ArrayList<>(incomplete.values());
+        compact(result);
+        return result;
+    }
+
+    /**
+     * 미완료 작업의 SUBMITTED 이벤트만 남기도록 저널을 다시 씁니다.
+     */
+    private void compact(List<Entry> entries) throws IOException {
+        close();
+        Path tempPath = journalPath.resolveSibling(JOURNAL_FILE_NAME + ".tmp");
+        StringBuilder content = new StringBuilder();
+        for (Entry entry : entries) {
+            content.append(objectMapper.writeValueAsString(entry)).append('\n');
+        }
+        Files.writeString(tempPath, content, StandardCharsets.UTF_8);
+        Files.move(tempPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private synchronized void append(Entry entry) {
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(journalPath,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // 저널 기록 실패가 번역 자체를 막지는 않음 (재시작 복구만 불가)
+            log.error("작업 저널 기록 실패: jobId={}, event={}", entry.jobId(), entry.event(), e);
+        }
+    }
+}
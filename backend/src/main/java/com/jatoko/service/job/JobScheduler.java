@@ -0,0 +1,230 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.job;
+
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.TranslationJob;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 우선순위 클래스와 요청자(owner)별 공정 큐를 가진 번역 작업 스케줄러
+ *
+ * - INTERACTIVE 작업이 BATCH 작업보다 먼저 배정됩니다. 단, 배치가 굶지 않도록
+ *   INTERACTIVE를 연속으로 interactiveBurst번 배정하면 대기 중인 BATCH 작업을 한 번 배정합니다.
+ * - 같은 클래스 안에서는 요청자를 라운드 로빈으로 돌아가며 배정하므로,
+ *   한 사람이 200개 파일을 등록해도 다른 사람의 작업은 한 바퀴 안에 배정됩니다.
+ * - 같은 요청자의 작업 중에서는 예상 비용이 작은 작업부터 배정합니다 (SJF).
+ */
+public class JobScheduler {
+
+    private static final String ANONYMOUS_OWNER = "anonymous";
+    private static final Comparator<TranslationJob> SHORTEST_FIRST = Comparator
+            .comparingLong(TranslationJob::getEstimatedCost)
+            .thenComparing(TranslationJob::getCreatedAt);
+
+    private final int interactiveBurst;
+    private State state = new State();
+    private boolean closed;
+
+    public JobScheduler(int interactiveBurst) {
+        this.interactiveBurst = Math.max(1, interactiveBurst);
+    }
+
+    public synchronized void enqueue(TranslationJob job) {
+        state.queueOf(job.getPriority()).add(job);
+        notifyAll();
+    }
+
+    /**
+     * 다음에 실행할 작업을 꺼냅니다. 대기 작업이 없으면 기다리고, 스케줄러가 닫히면 null을 반환합니다.
+     */
+    public synchronized TranslationJob take() throws InterruptedException {
+        while (!closed && state.isEmpty()) {
+            wait();
+        }
+        if (closed) {
+            return null;
+        }
+        return state.poll(interactiveBurst);
+    }
+
+    /**
+     * 대기 중인 작업을 큐에서 제거합니다 (취소 시).
+     */
+    public synchronized boolean remove(TranslationJob job) {
+        return state.queueOf(job.getPriority()).remove(job);
+    }
+
+    /**
+     * 현재 대기 작업을 실제 배정될 순서대로 반환합니다 (큐 상태는 변경하지 않음).
+     */
+    public synchronized List<TranslationJob> pendingInDispatchOrder() {
+        State simulation = state.copy();
+        List<TranslationJob> order = new ArrayList<>();
+        while (!simulation.isEmpty()) {
+            order.add(simulation.poll(interactiveBurst));
+        }
+        return order;
+    }
+
+    /**
+     * 현재 대기 작업을 순서와 관계없이 반환합니다 (배정 순서 계산 없이 집계할 때 사용).
+     */
+    public synchronized List<TranslationJob> pending() {
+        List<TranslationJob> pending = new ArrayList<>(state.size());
+        state.classes.values().forEach(queue -> queue.byOwner.values().forEach(pending::addAll));
+        return pending;
+    }
+
+    public synchronized int size() {
+        return state.size();
+    }
+
+    /**
+     * 새 배정을 중단하고 대기 중인 작업 스레드를 깨웁니다. 대기 작업은 큐에 남습니다.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    private static class State {
+        private final Map<JobPriority, ClassQueue> classes = new EnumMap<>(JobPriority.class);
+        private int consecutiveInteractive;
+
+        State() {
+            for (JobPriority priority : JobPriority.values()) {
+                classes.put(priority, new ClassQueue());
+            }
+        }
+
+        ClassQueue queueOf(JobPriority priority) {
+            return classes.get(priority != null ? priority : JobPriority.BATCH);
+        }
+
+        TranslationJob poll(int interactiveBurst) {
+            ClassQueue interactive = classes.get(JobPriority.INTERACTIVE);
+            ClassQueue batch = classes.get(JobPriority.BATCH);
+
+            boolean batchTurn = !batch.isEmpty()
+                    && (interactive.isEmpty() || consecutiveInteractive >= interactiveBurst);
+            if (batchTurn) {
+                consecutiveInteractive = 0;
+                return batch.poll();
+            }
+            consecutiveInteractive++;
+            return interactive.poll();
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        int size() {
+            return classes.values().stream().mapToInt(ClassQueue::size).sum();
+        }
+
+        State copy() {
+            State copy = new State();
+            classes.forEach((priority, queue) -> copy.classes.put(priority, queue.copy()));
+            copy.consecutiveInteractive = consecutiveInteractive;
+            return copy;
+        }
+    }
+
+    /**
+     * 한 우선순위 클래스의 대기열: 요청자별 SJF 큐 + 요청자 라운드 로빈 순서
+     */
+    private static class ClassQueue {
+        private final Map<String, PriorityQueue<TranslationJob>> byOwner = new HashMap<>();
+        private final Deque<String> ownerOrder = new ArrayDeque<>();
+        private int size;
+
+        void add(TranslationJob job) {
+            String owner = ownerOf(job);
+            PriorityQueue<TranslationJob> queue = byOwner.get(owner);
+            if (queue == null) {
+                queue = new PriorityQueue<>(SHORTEST_FIRST);
+                byOwner.put(owner, queue);
+                ownerOrder.addLast(owner);
+            }
+            queue.add(job);
+            size++;
+        }
+
+        TranslationJob poll() {
+            String owner = ownerOrder.pollFirst();
+            if (owner == null) {
+                return null;
+            }
+            PriorityQueue<TranslationJob> queue = byOwner.get(owner);
+            TranslationJob job = queue.poll();
+            if (queue.isEmpty()) {
+                byOwner.remove(owner);
+            } else {
+                ownerOrder.addLast(owner);
+            }
+            size--;
+            return job;
+        }
+
+        boolean remove(TranslationJob job) {
+            String owner = ownerOf(job);
+            PriorityQueue<TranslationJob> queue = byOwner.get(owner);
+            if (queue == null || !queue.remove(job)) {
+                return false;
+            }
+            if (queue.isEmpty()) {
+                byOwner.remove(owner);
+                ownerOrder.remove(owner);
+            }
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        ClassQueue copy() {
+            ClassQueue copy = new ClassQueue();
+            byOwner.forEach((owner, queue) -> copy.byOwner.put(owner, new PriorityQueue<>(queue)));
+            copy.ownerOrder.addAll(ownerOrder);
+            copy.size = size;
+            return copy;
+        }
+
+        private static String ownerOf(TranslationJob job) {
+            return job.getOwner() != null ? job.getOwner() : ANONYMOUS_OWNER;
+        }
+    }
+}
@@ -0,0 +1,725 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.job;
+
+import com.jatoko.config.JobConfig;
+import com.jatoko.dto.BatchTranslationResponse;
+import com.jatoko.exception.ServiceUnavailableException;
+import com.jatoko.exception.TranslationCancelledException;
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.JobStatus;
+import com.jatoko.model.RunPolicy;
+import com.jatoko.model.TranslationJob;
+import com.jatoko.service.DirectoryService;
+import com.jatoko.service.ProgressService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 번역을 백그라운드 작업으로 실행하는 서비스
+ *
+ * 요청 스레드는 작업 ID만 받아 즉시 반환되고, 실제 추출→번역→적용 파이프라인은
+ * 전용 작업 스레드에서 수행됩니다. 실행 순서는 JobScheduler가 우선순위 클래스,
+ * 요청자별 공정성, 예상 비용(SJF)에 따라 정합니다. 클라이언트는 작업 ID로 상태를 조회합니다.
+ * 예상 비용은 요청 스레드가 아닌 별도 스레드에서 등록 순서대로 계산한 뒤 배정합니다.
+ * 여러 파일을 한 번에 처리하는 배치 작업(파일 간 중복 텍스트를 한 번만 번역)도 같은 스케줄러를 거칩니다.
+ * 실행 조건(RunPolicy)이 있는 배치 작업은 조건이 맞을 때까지 보류 목록에 두고,
+ * 실행 중 조건을 벗어나면 일시 중지하여 보류 목록으로 되돌립니다. 재개 시에는 체크포인트에 남은
+ * 청크 번역을 재사용하므로 이미 번역한 텍스트는 다시 요청하지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TranslationJobService {
+
+    private final DirectoryService directoryService;
+    private final ProgressService progressService;
+    private final JobCostEstimator jobCostEstimator;
+    private final JobConfig jobConfig;
+    private final JobJournal jobJournal;
+
+    private final Map<String, TranslationJob> jobs = new ConcurrentHashMap<>();
+    // 파일명 → 대기/실행 중인 작업 (같은 파일의 중복 요청 합류용)
+    private final Map<String, TranslationJob> activeJobs = new ConcurrentHashMap<>();
+    // 실행 중인 작업 → 작업 스레드 (취소 시 인터럽트 대상). runningLock으로 보호
+    private final Map<String, Thread> runningThreads = new HashMap<>();
+    private final Object runningLock = new Object();
+
+    private JobScheduler scheduler;
+    // 실행 조건이 맞지 않아 보류된 작업 (this로 보호)
+    private final List<TranslationJob> held = new ArrayList<>();
+    // 예상 비용 계산을 기다리는 작업 (this로 보호)
+    private final Set<TranslationJob> estimating = Collections.newSetFromMap(new IdentityHashMap<>());
+    private ExecutorService estimator;
+    private ScheduledExecutorService policyChecker;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean accepting;
+    private volatile double charsPerSecond;
+
+    @PostConstruct
+    public void init() {
+        scheduler = new JobScheduler(jobConfig.getInteractiveBurst());
+        charsPerSecond = jobConfig.getInitialCharsPerSecond();
+        accepting = true;
+        estimator = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().daemon().name("translation-job-estimate").factory());
+
+        int workerCount = Math.max(1, jobConfig.getWorkerThreads());
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::workerLoop, "translation-job-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("번역 작업 실행기 시작: 작업 스레드 {}개", workerCount);
+
+        long interval = jobConfig.getPolicyCheckInterval().toMillis();
+        policyChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("translation-job-policy").factory());
+        policyChecker.scheduleWithFixedDelay(this::reevaluatePolicies, interval, interval, TimeUnit.MILLISECONDS);
+
+        recoverIncompleteJobs();
+    }
+
+    /**
+     * 이전 실행에서 끝나지 않은 작업을 저널에서 찾아 다시 등록합니다.
+     * 재등록된 작업은 저장된 번역 메타데이터를 재사용하므로 이미 번역된 텍스트는 다시 요청하지 않습니다.
+     */
+    private void recoverIncompleteJobs() {
+        try {
+            List<JobJournal.Entry> incomplete = jobJournal.recoverIncomplete();
+            for (JobJournal.Entry entry : incomplete) {
+                TranslationJob job = TranslationJob.builder()
+                        .jobId(entry.jobId())
+                        .fileName(entry.fileName())
+                        .fileNames(entry.fileNames())
+                        .owner(entry.owner())
+                        // 재시작 후에는 SSE 구독자가 없으므로 배치 작업으로 재등록
+                        .priority(JobPriority.BATCH)
+                        .runPolicy(entry.runPolicy() != null ? entry.runPolicy() : RunPolicy.ANYTIME)
+                        .status(JobStatus.QUEUED)
+                        .message("재시작 후 재등록됨")
+                        .percentage(0)
+                        .createdAt(LocalDateTime.now())
+                        .build();
+                job.setEstimatedCost(estimateCost(job));
+                jobs.put(job.getJobId(), job);
+                if (job.getFileName() != null) {
+                    activeJobs.putIfAbsent(job.getFileName(), job);
+                }
+                dispatch(job);
+            }
+            if (!incomplete.isEmpty()) {
+                log.info("미완료 번역 작업 {}개 재등록", incomplete.size());
+            }
+        } catch (IOException e) {
+            log.error("작업 저널 복구 실패", e);
+        }
+    }
+
+    /**
+     * 새 작업 접수와 배정을 중단하고, 실행 중인 작업이 유예 시간 안에 끝나기를 기다립니다.
+     * 끝나지 않은 작업은 인터럽트되며, 대기 작업과 함께 저널에 미완료로 남아 다음 시작 시 재등록됩니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        accepting = false;
+        estimator.shutdownNow();
+        scheduler.close();
+        policyChecker.shutdownNow();
+
+        long graceMillis = jobConfig.getShutdownGracePeriod().toMillis();
+        log.info("번역 작업 종료 대기: 최대 {}ms (대기 작업 {}개는 다음 시작 시 재등록)", graceMillis, scheduler.size());
+
+        long deadline = System.currentTimeMillis() + graceMillis;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+
+        if (workers.stream().anyMatch(Thread::isAlive)) {
+            log.warn("유예 시간 초과: 실행 중 작업 중단");
+            workers.forEach(Thread::interrupt);
+            for (Thread worker : workers) {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+    }
+
+    public TranslationJob submit(String fileName, String clientId) {
+        return submit(fileName, clientId, JobPriority.BATCH, null);
+    }
+
+    /**
+     * 번역 작업을 등록하고 즉시 반환합니다.
+     * 같은 파일의 작업이 이미 대기/실행 중이면 새 작업을 만들지 않고 기존 작업에 합류하여
+     * 기존 작업을 반환합니다 (clientId는 기존 작업의 진행률을 함께 받음).
+     *
+     * @param fileName target 디렉토리의 파일명
+     * @param clientId SSE 진행률 전송 대상 (optional)
+     * @param priority INTERACTIVE 작업은 구독 중인 SSE 연결이 모두 끊기면 자동 취소
+     * @param owner    공정 스케줄링 단위가 되는 요청자 (optional)
+     * @return 등록되었거나 합류한 작업
+     */
+    public TranslationJob submit(String fileName, String clientId, JobPriority priority, String owner) {
+        return submit(fileName, clientId, priority, owner, RunPolicy.ANYTIME);
+    }
+
+    /**
+     * 실행 조건이 있는 작업을 등록합니다. 대화형 작업에는 실행 조건을 적용하지 않습니다.
+     *
+     * @param runPolicy 시간대(WINDOW) 또는 유휴(IDLE) 조건. 조건이 맞을 때까지 보류됨
+     */
+    public TranslationJob submit(String fileName, String clientId, JobPriority priority, String owner,
+                                 RunPolicy runPolicy) {
+        if (!accepting) {
+            throw new ServiceUnavailableException("Server is shutting down. Please retry later.");
+        }
+
+        TranslationJob job;
+        synchronized (this) {
+            TranslationJob active = activeJobs.get(fileName);
+            if (active != null && !active.isCancelRequested()) {
+                attach(active, clientId, priority);
+                return active;
+            }
+
+            job = TranslationJob.builder()
+                    .jobId(UUID.randomUUID().toString())
+                    .fileName(fileName)
+                    .clientId(clientId)
+                    .owner(owner)
+                    .priority(priority)
+                    .runPolicy(priority == JobPriority.INTERACTIVE || runPolicy == null ? RunPolicy.ANYTIME : runPolicy)
+                    .autoCancel(priority == JobPriority.INTERACTIVE && clientId != null)
+                    .status(JobStatus.QUEUED)
+                    .message("대기 중")
+                    .percentage(0)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+
+            evictFinishedJobs();
+            jobs.put(job.getJobId(), job);
+            activeJobs.put(fileName, job);
+            estimating.add(job);
+        }
+
+        jobJournal.submitted(job.getJobId(), fileName, owner, job.getRunPolicy());
+        subscribe(job, clientId);
+        estimateAndDispatch(job);
+        if (priority == JobPriority.INTERACTIVE) {
+            // 유휴 조건 배치 작업이 실행 중이면 일시 중지
+            reevaluatePolicies();
+        }
+
+        log.info("번역 작업 등록: jobId={}, file={}, priority={}, owner={}, policy={}, cost={}",
+                job.getJobId(), fileName, priority, owner, job.getRunPolicy(), job.getEstimatedCost());
+        return job;
+    }
+
+    /**
+     * 여러 파일을 하나의 배치 작업으로 등록합니다. 파일 간 중복 텍스트는 한 번만 번역되며,
+     * 배치 우선순위 클래스, 요청자별 공정성, 실행 조건(RunPolicy)이 단일 파일 작업과 똑같이 적용됩니다.
+     * 파일별 결과는 완료 후 작업의 batchResult로 조회합니다.
+     */
+    public TranslationJob submitBatch(List<String> fileNames, String owner, RunPolicy runPolicy) {
+        if (!accepting) {
+            throw new ServiceUnavailableException("Server is shutting down. Please retry later.");
+        }
+
+        TranslationJob job = TranslationJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .fileNames(List.copyOf(fileNames))
+                .owner(owner)
+                .priority(JobPriority.BATCH)
+                .runPolicy(runPolicy != null ? runPolicy : RunPolicy.ANYTIME)
+                .status(JobStatus.QUEUED)
+                .message("대기 중")
+                .percentage(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+        synchronized (this) {
+            evictFinishedJobs();
+            jobs.put(job.getJobId(), job);
+            estimating.add(job);
+        }
+
+        jobJournal.submittedBatch(job.getJobId(), job.getFileNames(), owner, job.getRunPolicy());
+        estimateAndDispatch(job);
+
+        log.info("배치 번역 작업 등록: jobId={}, files={}, owner={}, policy={}",
+                job.getJobId(), fileNames.size(), owner, job.getRunPolicy());
+        return job;
+    }
+
+    /**
+     * 예상 비용을 계산한 뒤 배정합니다. 파일 위치 확인과 메타데이터 읽기가 요청 스레드를 붙잡지 않도록
+     * 전용 스레드에서 등록 순서대로 처리합니다. 계산 중 취소된 작업은 배정하지 않습니다.
+     */
+    private void estimateAndDispatch(TranslationJob job) {
+        try {
+            estimator.execute(() -> {
+                job.setEstimatedCost(estimateCost(job));
+                synchronized (this) {
+                    estimating.remove(job);
+                    if (!accepting) {
+                        return;  // 저널에 남아 다음 시작 시 재등록
+                    }
+                    if (job.isCancelRequested()) {
+                        markCancelled(job);
+                        return;
+                    }
+                    dispatch(job);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 저널에 남아 다음 시작 시 재등록
+            log.warn("종료 중 등록된 작업은 재시작 후 실행: jobId={}", job.getJobId());
+        }
+    }
+
+    private long estimateCost(TranslationJob job) {
+        try {
+            if (job.getFileNames() != null) {
+                return job.getFileNames().stream().mapToLong(jobCostEstimator::estimate).sum();
+            }
+            return jobCostEstimator.estimate(job.getFileName());
+        } catch (RuntimeException e) {
+            log.warn("작업 비용 추정 실패: jobId={} ({})", job.getJobId(), e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 같은 파일의 중복 요청을 기존 작업에 합류시킵니다.
+     * 대기 중인 배치 작업에 대화형 요청이 합류하면 대화형으로 승격하고,
+     * 배치 요청이 합류한 작업은 SSE 연결이 끊겨도 자동 취소하지 않습니다.
+     */
+    private void attach(TranslationJob job, String clientId, JobPriority priority) {
+        job.setRequestCount(job.getRequestCount() + 1);
+        if (priority != JobPriority.INTERACTIVE || clientId == null) {
+            job.setAutoCancel(false);
+        }
+        if (priority == JobPriority.INTERACTIVE && job.getPriority() == JobPriority.BATCH) {
+            // 비용 계산 중인 작업은 계산이 끝나면 바뀐 우선순위로 배정됨
+            boolean pendingEstimate = estimating.contains(job);
+            if (pendingEstimate || scheduler.remove(job) || held.remove(job)) {
+                // 대화형 요청이 기다리는 작업에는 실행 조건을 적용하지 않음
+                job.setPriority(JobPriority.INTERACTIVE);
+                job.setRunPolicy(RunPolicy.ANYTIME);
+                job.setMessage("대기 중");
+                job.setEstimatedStartAt(null);
+                if (!pendingEstimate) {
+                    scheduler.enqueue(job);
+                }
+            }
+        }
+        subscribe(job, clientId);
+
+        if (clientId != null && job.getStatus() == JobStatus.RUNNING) {
+            progressService.sendProgress(clientId, job.getMessage(), job.getPercentage());
+        }
+        log.info("진행 중인 번역 작업에 합류: jobId={}, file={}, requests={}",
+                job.getJobId(), job.getFileName(), job.getRequestCount());
+    }
+
+    private void subscribe(TranslationJob job, String clientId) {
+        if (clientId == null) return;
+
+        job.getSubscriberIds().add(clientId);
+        progressService.onDisconnect(clientId, () -> unsubscribe(job, clientId));
+    }
+
+    /**
+     * SSE 연결이 끊긴 구독자를 제거하고, 자동 취소 작업의 마지막 구독자였으면 작업을 취소합니다.
+     */
+    private void unsubscribe(TranslationJob job, String clientId) {
+        job.getSubscriberIds().remove(clientId);
+        if (job.isAutoCancel() && job.getSubscriberIds().isEmpty()) {
+            cancel(job.getJobId());
+        }
+    }
+
+    /**
+     * 작업을 취소합니다.
+     * 대기 중이면 큐에서 제거되고, 실행 중이면 작업 스레드를 인터럽트하여 다음 청크 요청 전에
+     * (진행 중인 DeepL 요청도 중단) 멈춥니다. 이미 끝난 작업은 그대로 반환합니다.
+     */
+    public TranslationJob cancel(String jobId) {
+        TranslationJob job = getJob(jobId);
+        if (job.getStatus().isFinished()) {
+            return job;
+        }
+
+        job.setCancelRequested(true);
+        if (scheduler.remove(job) || removeHeld(job)) {
+            markCancelled(job);
+        } else {
+            synchronized (runningLock) {
+                Thread worker = runningThreads.get(jobId);
+                if (worker != null) {
+                    worker.interrupt();
+                }
+            }
+        }
+        log.info("번역 작업 취소 요청: jobId={}", jobId);
+        return job;
+    }
+
+    public TranslationJob getJob(String jobId) {
+        TranslationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Job not found: " + jobId);
+        }
+        updateQueueEstimates();
+        return job;
+    }
+
+    /**
+     * 아직 실행되지 않은 작업(대기, 보류, 비용 계산 중)의 파일 수를 반환합니다. 등록 단계 입장 제어에 씁니다.
+     */
+    public synchronized int queuedFileCount() {
+        int count = 0;
+        for (TranslationJob job : scheduler.pending()) {
+            count += fileCount(job);
+        }
+        for (TranslationJob job : held) {
+            count += fileCount(job);
+        }
+        for (TranslationJob job : estimating) {
+            count += fileCount(job);
+        }
+        return count;
+    }
+
+    private static int fileCount(TranslationJob job) {
+        return job.getFileNames() != null ? job.getFileNames().size() : 1;
+    }
+
+    /**
+     * 등록된 작업 목록을 최신순으로 반환합니다.
+     */
+    public List<TranslationJob> listJobs() {
+        updateQueueEstimates();
+        List<TranslationJob> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparing(TranslationJob::getCreatedAt).reversed());
+        return result;
+    }
+
+    private void workerLoop() {
+        while (true) {
+            TranslationJob job;
+            try {
+                job = scheduler.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == null) {
+                return;  // 스케줄러 종료
+            }
+            if (!job.isCancelRequested() && !mayRun(job)) {
+                // 대기 중 실행 시간대가 닫힘
+                hold(job);
+                continue;
+            }
+
+            synchronized (runningLock) {
+                runningThreads.put(job.getJobId(), Thread.currentThread());
+            }
+            try {
+                run(job);
+            } finally {
+                synchronized (runningLock) {
+                    runningThreads.remove(job.getJobId());
+                    // 작업 종료 직후 도착한 취소 인터럽트가 다음 작업에 영향을 주지 않도록 정리
+                    // (종료 중이면 인터럽트 상태를 유지하여 루프를 빠져나감)
+                    if (accepting) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+            if (job.getPriority() == JobPriority.INTERACTIVE) {
+                // 대화형 부하가 끝났으면 유휴 조건 작업 재개
+                reevaluatePolicies();
+            }
+        }
+    }
+
+    private void run(TranslationJob job) {
+        if (job.isCancelRequested()) {
+            markCancelled(job);
+            return;
+        }
+        job.setQueuePosition(null);
+        job.setEstimatedStartAt(null);
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        jobJournal.started(job.getJobId(), job.getFileName());
+
+        long startedNanos = System.nanoTime();
+        try {
+            String resultFileName = job.getFileNames() != null
+                    ? runBatch(job)
+                    // SSE 전송은 작업이 직접 담당: 실행 중 합류한 구독자에게도 진행률이 전달됨
+                    : directoryService.translateFile(job.getFileName(), null,
+                    (message, percentage) -> {
+                        job.setMessage(message);
+                        job.setPercentage(percentage);
+                        job.getSubscriberIds().forEach(clientId ->
+                                progressService.sendProgress(clientId, message, percentage));
+                    });
+            job.setPauseRequested(false);
+            job.setResultFileName(resultFileName);
+            job.setMessage("완료");
+            job.setPercentage(100);
+            job.setFinishedAt(LocalDateTime.now());
+            releaseActive(job);
+            job.getSubscriberIds().forEach(progressService::complete);
+            job.setStatus(JobStatus.COMPLETED);
+            jobJournal.completed(job.getJobId(), job.getFileName(), resultFileName);
+            recordThroughput(job, System.nanoTime() - startedNanos);
+            log.info("번역 작업 완료: jobId={}, result={}", job.getJobId(), resultFileName);
+        } catch (Exception e) {
+            if (job.isCancelRequested()) {
+                markCancelled(job);
+                return;
+            }
+            if (job.isPauseRequested() && accepting) {
+                // 실행 조건을 벗어나 일시 중지: 부분 출력은 정리되고, 번역한 청크는 체크포인트에 남음
+                job.setPauseRequested(false);
+                job.setStatus(JobStatus.QUEUED);
+                job.setStartedAt(null);
+                hold(job);
+                log.info("번역 작업 일시 중지: jobId={}, policy={}", job.getJobId(), job.getRunPolicy());
+                return;
+            }
+            if (!accepting) {
+                // 종료 중 중단된 작업은 실패로 기록하지 않음 (다음 시작 시 재등록)
+                job.setStatus(JobStatus.QUEUED);
+                job.setMessage("서버 종료로 중단됨. 재시작 시 재개");
+                log.warn("서버 종료로 번역 작업 중단: jobId={}", job.getJobId());
+                return;
+            }
+            job.setErrorMessage(e.getMessage());
+            job.setFinishedAt(LocalDateTime.now());
+            releaseActive(job);
+            job.getSubscriberIds().forEach(clientId ->
+                    progressService.sendError(clientId, "Translation failed: " + e.getMessage()));
+            job.setStatus(JobStatus.FAILED);
+            jobJournal.failed(job.getJobId(), job.getFileName(), e.getMessage());
+            log.error("번역 작업 실패: jobId={}", job.getJobId(), e);
+        }
+    }
+
+    /**
+     * 배치 작업 실행. 파일별 실패는 결과에 기록되고 작업은 완료로 끝납니다.
+     * 취소, 일시 중지(실행 조건 이탈) 또는 서버 종료로 중단되면 끝나지 않은 파일만 남겨 다시 보류합니다.
+     * (끝난 파일은 재개 시 다시 처리하지 않음) 파이프라인은 인터럽트를 파일별 실패로 돌려주므로
+     * 중단 여부는 작업 상태로 판단하고, 남은 파일 목록은 저널에 다시 기록하여 재시작 시 그 파일만 재등록합니다.
+     */
+    private String runBatch(TranslationJob job) {
+        job.setMessage("배치 번역 중 (" + job.getFileNames().size() + "개 파일)");
+        BatchTranslationResponse response = directoryService.translateFilesInBatch(job.getFileNames());
+        if (job.isCancelRequested()) {
+            job.setFileNames(List.copyOf(response.getFailedFiles()));
+            throw new TranslationCancelledException("Batch cancelled: " + job.getJobId());
+        }
+        if ((job.isPauseRequested() || !accepting) && response.getFailedCount() > 0) {
+            job.setFileNames(List.copyOf(response.getFailedFiles()));
+            jobJournal.submittedBatch(job.getJobId(), job.getFileNames(), job.getOwner(), job.getRunPolicy());
+            throw new TranslationCancelledException("Batch interrupted: " + job.getJobId());
+        }
+        job.setBatchResult(response);
+        return null;
+    }
+
+    private void releaseActive(TranslationJob job) {
+        if (job.getFileName() != null) {
+            activeJobs.remove(job.getFileName(), job);
+        }
+    }
+
+    /**
+     * 실행 조건을 만족하면 큐에 넣고, 아니면 보류합니다.
+     */
+    private void dispatch(TranslationJob job) {
+        if (mayRun(job)) {
+            scheduler.enqueue(job);
+        } else {
+            hold(job);
+        }
+    }
+
+    private synchronized void hold(TranslationJob job) {
+        RunPolicy policy = job.getRunPolicy();
+        job.setQueuePosition(null);
+        if (policy.mode() == RunPolicy.Mode.WINDOW) {
+            job.setEstimatedStartAt(policy.nextOpening(LocalDateTime.now()));
+            job.setMessage("실행 시간대 대기 (" + policy.windowStart() + "~" + policy.windowEnd() + ")");
+        } else {
+            job.setEstimatedStartAt(null);
+            job.setMessage("유휴 대기 (대화형 작업이 끝나면 실행)");
+        }
+        held.add(job);
+    }
+
+    private synchronized boolean removeHeld(TranslationJob job) {
+        return held.remove(job);
+    }
+
+    private boolean mayRun(TranslationJob job) {
+        RunPolicy policy = job.getRunPolicy();
+        return switch (policy.mode()) {
+            case ANYTIME -> true;
+            case WINDOW -> policy.isWindowOpen(LocalTime.now());
+            case IDLE -> !interactiveActive();
+        };
+    }
+
+    private boolean interactiveActive() {
+        return jobs.values().stream().anyMatch(job -> job.getPriority() == JobPriority.INTERACTIVE
+                && (job.getStatus() == JobStatus.QUEUED || job.getStatus() == JobStatus.RUNNING));
+    }
+
+    /**
+     * 보류 작업 중 실행 조건이 맞는 작업을 큐에 넣고,
+     * 실행 중 조건을 벗어난 작업은 일시 중지를 요청합니다 (작업 스레드 인터럽트).
+     */
+    void reevaluatePolicies() {
+        if (!accepting) return;
+
+        synchronized (this) {
+            held.removeIf(job -> {
+                if (!mayRun(job)) return false;
+                job.setMessage("대기 중");
+                job.setEstimatedStartAt(null);
+                scheduler.enqueue(job);
+                log.info("보류된 번역 작업 재개: jobId={}, policy={}", job.getJobId(), job.getRunPolicy());
+                return true;
+            });
+        }
+
+        synchronized (runningLock) {
+            runningThreads.forEach((jobId, worker) -> {
+                TranslationJob job = jobs.get(jobId);
+                if (job != null && !job.isPauseRequested() && !mayRun(job)) {
+                    job.setPauseRequested(true);
+                    job.setMessage("일시 중지 중");
+                    worker.interrupt();
+                }
+            });
+        }
+    }
+
+    private synchronized void markCancelled(TranslationJob job) {
+        if (job.getStatus().isFinished()) return;
+
+        job.setMessage("취소됨");
+        job.setQueuePosition(null);
+        job.setEstimatedStartAt(null);
+        job.setFinishedAt(LocalDateTime.now());
+        releaseActive(job);
+        job.getSubscriberIds().forEach(clientId -> progressService.sendError(clientId, "Translation cancelled"));
+        job.setStatus(JobStatus.CANCELLED);
+        jobJournal.cancelled(job.getJobId(), job.getFileName());
+        log.info("번역 작업 취소 완료: jobId={}", job.getJobId());
+    }
+
+    /**
+     * 완료된 작업의 실측 처리 속도로 예상 처리 속도를 보정합니다 (지수 이동 평균).
+     */
+    private void recordThroughput(TranslationJob job, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0 - jobConfig.getJobOverhead().toMillis() / 1000.0;
+        if (job.getEstimatedCost() <= 0 || seconds <= 0) return;
+
+        double observed = job.getEstimatedCost() / seconds;
+        charsPerSecond = charsPerSecond * 0.8 + observed * 0.2;
+    }
+
+    private Duration estimateDuration(TranslationJob job) {
+        long millis = jobConfig.getJobOverhead().toMillis() + (long) (job.getEstimatedCost() / charsPerSecond * 1000);
+        return Duration.ofMillis(millis);
+    }
+
+    /**
+     * 대기 작업의 큐 순번과 예상 시작 시각을 갱신합니다.
+     * 실행 중 작업의 남은 예상 시간으로 각 작업 스레드가 비는 시각을 구하고,
+     * 대기 작업을 배정 순서대로 가장 먼저 비는 스레드에 할당하여 계산합니다.
+     */
+    private void updateQueueEstimates() {
+        LocalDateTime now = LocalDateTime.now();
+        PriorityQueue<LocalDateTime> workerFreeAt = new PriorityQueue<>();
+
+        for (TranslationJob running : jobs.values()) {
+            if (running.getStatus() == JobStatus.RUNNING && running.getStartedAt() != null) {
+                LocalDateTime expectedEnd = running.getStartedAt().plus(estimateDuration(running));
+                workerFreeAt.add(expectedEnd.isAfter(now) ? expectedEnd : now);
+            }
+        }
+        while (workerFreeAt.size() < workers.size()) {
+            workerFreeAt.add(now);
+        }
+
+        int position = 0;
+        for (TranslationJob pending : scheduler.pendingInDispatchOrder()) {
+            LocalDateTime startAt = workerFreeAt.poll();
+            pending.setQueuePosition(position++);
+            pending.setEstimatedStartAt(startAt);
+            workerFreeAt.add(startAt.plus(estimateDuration(pending)));
+        }
+    }
+
+    /**
+     * 보관 개수를 넘은 완료/실패 작업을 오래된 순서대로 제거합니다.
+     */
+    private void evictFinishedJobs() {
+        List<TranslationJob> finished = jobs.values().stream()
+                .filter(job -> job.getStatus().isFinished())
+                .sorted(Comparator.comparing(TranslationJob::getFinishedAt))
+                .toList();
+
+        int excess = finished.size() - jobConfig.getMaxRetainedJobs();
+        for (int i = 0; i < excess; i++) {
+            jobs.remove(finished.get(i).getJobId());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.storage;
+
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.service.translator.Translator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * 내용 주소 기반 파일 저장소
+ *
+ * 업로드된 원본은 내용 해시별로 target/.blobs에 한 벌만 두고, target의 파일(file.asta, file_1.asta ...)은
+ * 그 blob의 하드 링크로 만듭니다. 같은 내용을 다시 올리면 새 이름은 디스크를 추가로 쓰지 않습니다.
+ * 번역 결과도 (입력 해시, 번역 설정, 출력 형식)별로 translated/.blobs에 링크해 두어, 같은 내용을 다시 올리거나
+ * 다시 번역하면 파싱이나 DeepL 호출 없이 번역 결과를 바로 연결합니다.
+ * 번역 설정(제공자, 언어, 용어집)이 바뀌면 키가 달라져 이전 결과를 쓰지 않습니다.
+ *
+ * 파일은 내용이 바뀌지 않는다는 전제(교체는 새 파일로 이동)로 링크를 공유합니다.
+ * 하드 링크를 쓸 수 없는 파일 시스템에서는 각 파일을 그대로 둡니다. (중복 제거만 생략)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobStore {
+
+    private static final String BLOB_DIR = ".blobs";
+    // 번역 적용/저장 방식이 바뀌어 같은 입력이라도 결과가 달라지면 올려서 이전 결과를 무효화
+    private static final int OUTPUT_FORMAT_VERSION = 1;
+
+    private final DirectoryConfig directoryConfig;
+    private final Translator translator;
+
+    /**
+     * target 파일을 내용 해시의 blob과 연결합니다.
+     * 같은 내용의 blob이 이미 있으면 파일을 그 blob의 링크로 바꿔 한 벌만 남깁니다.
+     *
+     * @return 기존 blob을 재사용했으면 true
+     */
+    public synchronized boolean store(Path file, String hash) {
+        Path blob = originalBlob(hash);
+        try {
+            Files.createDirectories(blob.getParent());
+            if (!Files.exists(blob)) {
+                Files.createLink(blob, file);
+                return false;
+            }
+            if (Files.isSameFile(blob, file)) {
+                return false;
+            }
+            replaceWithLink(file, blob);
+            log.info("Duplicate upload linked to existing content: {}", file.getFileName());
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Blob link failed, keeping a full copy: {} ({})", file.getFileName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * target 파일을 지운 뒤 호출합니다. blob을 참조하는 파일이 더 없으면 blob을 삭제합니다.
+     */
+    public synchronized void release(String hash) {
+        Path blob = originalBlob(hash);
+        try {
+            if (Files.exists(blob) && (Integer) Files.getAttribute(blob, "unix:nlink") <= 1) {
+                Files.delete(blob);
+                log.debug("Unreferenced blob removed: {}", hash);
+            }
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            // 링크 수를 알 수 없는 파일 시스템에서는 blob을 남김
+            log.debug("Blob release skipped: {} ({})", hash, e.getMessage());
+        }
+    }
+
+    /**
+     * 입력 해시와 현재 번역 설정으로 만든 번역 결과를 기록합니다. (같은 키의 이전 결과는 교체)
+     */
+    public synchronized void recordTranslation(String inputHash, Path output) {
+        Path blob = translatedBlob(inputHash, output);
+        try {
+            Files.createDirectories(blob.getParent());
+            if (Files.exists(blob) && Files.isSameFile(blob, output)) {
+                return;
+            }
+            replaceWithLink(blob, output);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Translated blob link failed: {} ({})", output.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 입력 해시의 번역 결과 기록을 모두 지웁니다. (번역 설정과 관계없이)
+     * 원본을 지운 뒤 같은 내용을 다시 올리면 기록된 결과를 연결하지 않고 새로 번역합니다.
+     * 이미 연결된 번역 파일은 링크이므로 그대로 남습니다.
+     */
+    public synchronized void evictTranslations(String inputHash) {
+        Path dir = Paths.get(directoryConfig.getTranslated(), BLOB_DIR, inputHash.substring(0, 2));
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> blobs = Files.newDirectoryStream(dir, inputHash + ".*")) {
+            for (Path blob : blobs) {
+                Files.deleteIfExists(blob);
+                log.debug("Translated blob evicted: {}", blob.getFileName());
+            }
+        } catch (IOException e) {
+            log.warn("Translated blob eviction failed: {} ({})", inputHash, e.getMessage());
+        }
+    }
+
+    /**
+     * 번역 파일을 지운 뒤 호출합니다. 연결된 번역 파일이 더 없는 번역 결과를 삭제합니다.
+     * (삭제한 결과만 참조하던 청크는 이후 청크 정리에서 함께 지워짐)
+     */
+    public synchronized void releaseTranslations() {
+        Path root = Paths.get(directoryConfig.getTranslated(), BLOB_DIR);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        int removed = 0;
+        try (Stream<Path> blobs = Files.walk(root)) {
+            for (Path blob : (Iterable<Path>) blobs.filter(Files::isRegularFile)::iterator) {
+                if ((Integer) Files.getAttribute(blob, "unix:nlink") <= 1) {
+                    Files.delete(blob);
+                    removed++;
+                }
+            }
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            // 링크 수를 알 수 없는 파일 시스템에서는 결과를 남김
+            log.debug("Translated blob release skipped: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Unreferenced translated blobs removed: {}", removed);
+        }
+    }
+
+    /**
+     * 같은 입력과 현재 번역 설정의 번역 결과가 있으면 output 위치에 링크합니다.
+     * 링크 생성은 output이 없을 때만 성공하므로 출력 파일명 예약을 겸합니다.
+     *
+     * @return 연결했으면 true, 번역 결과가 없거나 연결하지 못했으면 false
+     * @throws FileAlreadyExistsException output 위치에 이미 파일이 있는 경우 (다른 이름으로 다시 시도)
+     */
+    public synchronized boolean linkTranslation(String inputHash, Path output) throws FileAlreadyExistsException {
+        Path blob = translatedBlob(inputHash, output);
+        if (!Files.exists(blob)) {
+            return false;
+        }
+        try {
+            Files.createLink(output, blob);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Translated blob link failed: {} ({})", output.getFileName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * file을 existing의 링크로 바꿉니다. 임시 이름으로 링크를 만든 뒤 원자적으로 교체합니다.
+     */
+    private void replaceWithLink(Path file, Path existing) throws IOException {
+        Path temp = file.resolveSibling("." + file.getFileName() + ".link");
+        Files.deleteIfExists(temp);
+        Files.createLink(temp, existing);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path originalBlob(String hash) {
+        return Paths.get(directoryConfig.getTarget(), BLOB_DIR, hash.substring(0, 2), hash);
+    }
+
+    /**
+     * 번역 결과 blob 경로: 입력 해시 + 번역 설정 요약 + 출력 형식(확장자)
+     */
+    private Path translatedBlob(String inputHash, Path output) {
+        String name = output.getFileName().toString();
+        String extension = name.substring(name.lastIndexOf('.')).toLowerCase();
+        String profile = digest(translator.profile() + "|output=" + OUTPUT_FORMAT_VERSION).substring(0, 16);
+        return Paths.get(directoryConfig.getTranslated(), BLOB_DIR, inputHash.substring(0, 2),
+                inputHash + "." + profile + extension);
+    }
+
+    private static String digest(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.StorageConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * 내용 기준 청크 저장소
+ *
+ * 번역 결과 파일을 롤링 해시(Gear)로 정한 경계에서 잘라 청크별로 translated/.chunks에 한 벌만 저장하고,
+ * 파일 자리에는 청크 목록(manifest)을 둡니다. 경계가 위치가 아닌 내용으로 정해지므로 일부만 바뀐 버전
+ * (file_translated.asta, file_translated_1.asta ...)은 바뀐 부분 주변의 청크만 새로 저장합니다.
+ * .asta는 ZIP이라 바뀌지 않은 항목은 압축된 바이트도 같아 대부분의 청크를 공유합니다.
+ *
+ * 청크로 저장된 파일은 {@link #open(Path)}가 돌려주는 {@link ChunkedResource}로 이어 읽습니다.
+ * 원본(target)은 Astah SDK가 파일 경로로 열어야 하므로 대상이 아닙니다. (원본 중복은 BlobStore가 처리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkStore {
+
+    static final String FORMAT = "jatoko-chunks/1";
+    private static final byte[] MANIFEST_PREFIX = ("{\"format\":\"" + FORMAT + "\"").getBytes(StandardCharsets.UTF_8);
+    private static final String CHUNK_DIR = ".chunks";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 바이트별 Gear 값. 바뀌면 경계가 달라져 기존 청크와 공유되지 않으므로 시드를 고정
+    private static final long[] GEAR = new SplittableRandom(0x6a61746f6b6fL).longs(256).toArray();
+
+    private final DirectoryConfig directoryConfig;
+    private final StorageConfig storageConfig;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 청크로 저장된 파일의 내용: 전체 크기, 전체 SHA-256, 순서대로의 청크 목록
+     */
+    public record Manifest(String format, long size, String sha256, List<Chunk> chunks) {}
+
+    public record Chunk(String hash, int length) {}
+
+    /**
+     * 청크 저장이 켜져 있으면 번역 결과 파일을 청크로 나눠 저장하고 파일을 manifest로 교체합니다.
+     * 파일명과 수정 시각은 그대로 유지되며, 실패하면 원래 파일을 그대로 둡니다.
+     *
+     * @return 교체했으면 true
+     */
+    public synchronized boolean pack(Path file) {
+        if (!storageConfig.isChunking() || !Files.isRegularFile(file) || isPacked(file)) {
+            return false;
+        }
+        Path temp = file.resolveSibling("." + file.getFileName() + ".chunks");
+        try {
+            Manifest manifest = split(file);
+            objectMapper.writeValue(temp.toFile(), manifest);
+            Files.setLastModifiedTime(temp, Files.getLastModifiedTime(file));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Stored as {} chunks: {} ({} bytes)", manifest.chunks().size(), file.getFileName(), manifest.size());
+            return true;
+        } catch (IOException e) {
+            log.warn("Chunked storage failed, keeping a full copy: {} ({})", file.getFileName(), e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 다음 pack에서 덮어씀
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 파일을 읽기 위한 Resource. 청크로 저장된 파일이면 청크를 순서대로 이어 읽습니다.
+     */
+    public Resource open(Path file) throws IOException {
+        if (isPacked(file)) {
+            return new ChunkedResource(file, readManifest(file), this::chunkPath);
+        }
+        return new UrlResource(file.toUri());
+    }
+
+    /**
+     * manifest 파일인지 확인합니다. 청크 저장소를 한 번도 쓰지 않았으면 파일을 열지 않습니다.
+     * (.asta는 ZIP, .svg는 XML로 시작하므로 manifest의 시작과 겹치지 않음)
+     */
+    public boolean isPacked(Path file) {
+        if (!Files.isDirectory(chunkRoot())) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return Arrays.equals(in.readNBytes(MANIFEST_PREFIX.length), MANIFEST_PREFIX);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * translated 디렉토리(번역 결과 blob 포함)의 어떤 manifest도 참조하지 않는 청크를 삭제합니다.
+     * 읽을 수 없는 manifest가 있으면 참조를 확신할 수 없으므로 아무것도 지우지 않습니다.
+     */
+    public synchronized void collectGarbage() {
+        Path chunkRoot = chunkRoot();
+        if (!Files.isDirectory(chunkRoot)) {
+            return;
+        }
+        Set<String> live = new HashSet<>();
+        try (Stream<Path> files = Files.walk(Paths.get(directoryConfig.getTranslated()))) {
+            for (Path file : (Iterable<Path>) files.filter(f -> !f.startsWith(chunkRoot) && Files.isRegularFile(f))::iterator) {
+                if (isPacked(file)) {
+                    readManifest(file).chunks().forEach(chunk -> live.add(chunk.hash()));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Chunk collection skipped: {}", e.getMessage());
+            return;
+        }
+
+        int removed = 0;
+        try (Stream<Path> chunks = Files.walk(chunkRoot)) {
+            for (Path chunk : (Iterable<Path>) chunks.filter(Files::isRegularFile)::iterator) {
+                if (!live.contains(chunk.getFileName().toString())) {
+                    Files.deleteIfExists(chunk);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Chunk collection incomplete: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Unreferenced chunks removed: {}", removed);
+        }
+    }
+
+    /**
+     * 파일을 내용 기준 경계로 나눠 없는 청크만 저장합니다.
+     * Gear 해시의 상위 비트가 모두 0이면 경계로 보며, 최소/최대 크기로 청크 크기를 제한합니다.
+     */
+    private Manifest split(Path file) throws IOException {
+        int min = (int) storageConfig.getChunkMinSize().toBytes();
+        int max = Math.max(min, (int) storageConfig.getChunkMaxSize().toBytes());
+        int bits = 63 - Long.numberOfLeadingZeros(Math.max(1, storageConfig.getChunkAvgSize().toBytes()));
+        // 상위 비트는 최근 64바이트 전체에 의존하므로 하위 비트보다 경계가 고르게 분포
+        long mask = bits == 0 ? 0 : -1L << (64 - bits);
+
+        MessageDigest whole = sha256();
+        List<Chunk> chunks = new ArrayList<>();
+        byte[] chunk = new byte[max];
+        int length = 0;
+        long hash = 0;
+        long size = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                whole.update(buffer, 0, read);
+                size += read;
+                for (int i = 0; i < read; i++) {
+                    chunk[length++] = buffer[i];
+                    hash = (hash << 1) + GEAR[buffer[i] & 0xff];
+                    if ((length >= min && (hash & mask) == 0) || length == max) {
+                        chunks.add(writeChunk(chunk, length));
+                        length = 0;
+                        hash = 0;
+                    }
+                }
+            }
+        }
+        if (length > 0) {
+            chunks.add(writeChunk(chunk, length));
+        }
+        return new Manifest(FORMAT, size, HexFormat.of().formatHex(whole.digest()), List.copyOf(chunks));
+    }
+
+    private Chunk writeChunk(byte[] bytes, int length) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(bytes, 0, length);
+        String hash = HexFormat.of().formatHex(digest.digest());
+        Path path = chunkPath(hash);
+        if (!Files.exists(path)) {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(hash + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(bytes, 0, length);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return new Chunk(hash, length);
+    }
+
+    private Manifest readManifest(Path file) throws IOException {
+        Manifest manifest = objectMapper.readValue(file.toFile(), Manifest.class);
+        if (!FORMAT.equals(manifest.format())) {
+            throw new IOException("Unsupported chunk manifest: " + manifest.format());
+        }
+        return manifest;
+    }
+
+    private Path chunkRoot() {
+        return Paths.get(directoryConfig.getTranslated(), CHUNK_DIR);
+    }
+
+    private Path chunkPath(String hash) {
+        return chunkRoot().resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 청크로 저장된 파일을 원래 내용으로 이어 읽는 Resource
+ *
+ * 청크 파일을 필요할 때 하나씩 열어 스트리밍하므로 파일 크기와 관계없이 메모리를 일정하게 씁니다.
+ * 파일명과 수정 시각은 manifest 파일의 것을, 크기는 원래 내용의 크기를 반환합니다.
+ */
+public class ChunkedResource extends AbstractResource {
+
+    private final Path file;
+    private final ChunkStore.Manifest manifest;
+    private final Function<String, Path> chunkPath;
+
+    ChunkedResource(Path file, ChunkStore.Manifest manifest, Function<String, Path> chunkPath) {
+        this.file = file;
+        this.manifest = manifest;
+        this.chunkPath = chunkPath;
+    }
+
+    /**
+     * 원래 내용의 SHA-256
+     */
+    public String contentHash() {
+        return manifest.sha256();
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getFileName().toString();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Chunked file [" + file + "]";
+    }
+
+    @Override
+    public long contentLength() {
+        return manifest.size();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return Files.getLastModifiedTime(file).toMillis();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return getInputStream(0);
+    }
+
+    /**
+     * position 위치부터 읽는 스트림. 앞쪽 청크는 열지 않고 길이만으로 건너뜁니다. (Range 요청용)
+     */
+    public InputStream getInputStream(long position) {
+        List<ChunkStore.Chunk> chunks = manifest.chunks();
+        int index = 0;
+        long skip = position;
+        while (index < chunks.size() && skip >= chunks.get(index).length()) {
+            skip -= chunks.get(index).length();
+            index++;
+        }
+        return new ChunkInputStream(chunks, index, skip);
+    }
+
+    /**
+     * 청크 파일을 순서대로 열어 이어 읽는 스트림 (한 번에 청크 하나만 열림)
+     */
+    private final class ChunkInputStream extends InputStream {
+
+        private final List<ChunkStore.Chunk> chunks;
+        private int index;
+        private long skip;  // 첫 청크에서 건너뛸 바이트 수
+        private InputStream current;
+
+        private ChunkInputStream(List<ChunkStore.Chunk> chunks, int index, long skip) {
+            this.chunks = chunks;
+            this.index = index;
+            this.skip = skip;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                if (current == null) {
+                    if (index >= chunks.size()) {
+                        return -1;
+                    }
+                    current = Files.newInputStream(chunkPath.apply(chunks.get(index++).hash()));
+                    current.skipNBytes(skip);
+                    skip = 0;
+                }
+                int read = current.read(buffer, offset, length);
+                if (read != -1) {
+                    return read;
+                }
+                current.close();
+                current = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            index = chunks.size();
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+    }
+}
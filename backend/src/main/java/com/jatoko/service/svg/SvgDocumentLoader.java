@@ -88,8 +88,9 @@ public class SvgDocumentLoader {
             transformer.setOutputProperty(javax.xml.transform.OutputKeys.ENCODING, "UTF-8");
 
             DOMSource source = new DOMSource(document);
-            StreamResult result = new StreamResult(new FileOutputStream(outputFile));
-            transformer.transform(source, result);
+            try (FileOutputStream outputStream = new FileOutputStream(outputFile)) {
+                transformer.transform(source, new StreamResult(outputStream));
+            }
 
             log.debug("SVG 파일 저장 완료: {}", outputFile.getAbsolutePath());
 
@@ -20,6 +20,7 @@ package com.jatoko.service.translator;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -31,6 +32,8 @@ import com.deepl.api.DeepLClient;
 import com.deepl.api.DeepLException;
 import com.deepl.api.TextResult;
 import com.deepl.api.TextTranslationOptions;
+import com.jatoko.service.bulkhead.Bulkhead;
+import com.jatoko.service.bulkhead.Bulkheads;
 
 @Service
 public class Translator {
@@ -42,11 +45,18 @@ public class Translator {
     private final DeepLClient client;
     private final String glossaryId;
 
+    // DeepL 요청은 translation 벌크헤드에서 실행: 호출 스레드가 인터럽트되면 요청 스레드도 인터럽트되어
+    // 블로킹 소켓이 닫히므로, 진행 중인 HTTP 호출까지 즉시 중단됩니다.
+    // 동시 요청 수와 요청당 제한 시간은 벌크헤드 설정을 따릅니다.
+    private final Bulkhead requestBulkhead;
+
     public Translator(
             @Value("${deepl.auth-key}") String authKey,
-            @Value("${deepl.glossary-id:#{null}}") String glossaryId) {
+            @Value("${deepl.glossary-id:#{null}}") String glossaryId,
+            Bulkheads bulkheads) {
         this.client = new DeepLClient(authKey);
         this.glossaryId = glossaryId;
+        this.requestBulkhead = bulkheads.translation();
 
         if (glossaryId == null || glossaryId.trim().isEmpty()) {
             logger.info("DeepL 용어집 ID가 설정되지 않았습니다. 용어집 없이 번역합니다.");
@@ -55,6 +65,15 @@ public class Translator {
         }
     }
 
+    /**
+     * 번역 결과에 영향을 주는 설정 (제공자, 언어 방향, 용어집). 번역 결과 캐시 키에 사용합니다.
+     * DeepL 용어집은 수정할 수 없어 내용이 바뀌면 ID도 바뀌므로 ID를 용어집 버전으로 사용합니다.
+     */
+    public String profile() {
+        String glossary = glossaryId != null && !glossaryId.trim().isEmpty() ? glossaryId.trim() : "none";
+        return "deepl:" + SOURCE_LANG + "-" + TARGET_LANG + ":glossary=" + glossary;
+    }
+
     public List<String> translate(List<String> texts) throws DeepLException, InterruptedException {
         TextTranslationOptions options = createTranslationOptions();
         List<TextResult> translated = executeWithRetry(texts, options);
@@ -76,7 +95,7 @@ public class Translator {
             throws DeepLException, InterruptedException {
         for (int retry = 0; retry < MAX_RETRIES; retry++) {
             try {
-                return client.translateText(texts, SOURCE_LANG, TARGET_LANG, options);
+                return translateInterruptibly(texts, options);
             } catch (DeepLException e) {
                 if (shouldRetry(e, retry)) {
                     waitBeforeRetry(retry);
@@ -91,6 +110,22 @@ public class Translator {
         throw new DeepLException("Translation failed after " + MAX_RETRIES + " attempts");
     }
 
+    private List<TextResult> translateInterruptibly(List<String> texts, TextTranslationOptions options)
+            throws DeepLException, InterruptedException {
+        try {
+            return requestBulkhead.call(() -> client.translateText(texts, SOURCE_LANG, TARGET_LANG, options));
+        } catch (InterruptedException e) {
+            logger.info("번역 취소: 진행 중인 DeepL 요청 중단");
+            throw e;
+        } catch (DeepLException | RuntimeException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            throw new DeepLException("DeepL 요청 시간 초과: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new DeepLException("DeepL 요청 실패: " + e.getMessage(), e);
+        }
+    }
+
     private boolean shouldRetry(DeepLException e, int currentRetry) {
         if (currentRetry >= MAX_RETRIES - 1) {
             return false;
@@ -0,0 +1,333 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.upload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.UploadConfig;
+import com.jatoko.exception.ConflictException;
+import com.jatoko.service.DirectoryService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 분할(재개 가능) 업로드 서비스
+ *
+ * 큰 파일을 여러 번의 짧은 PUT 요청으로 나눠 받습니다. 각 조각은 오프셋과 함께 전송되며,
+ * 이미 받은 구간을 다시 보내면 무시하므로(멱등) 연결이 끊긴 클라이언트는 현재 오프셋부터 이어서 보내면 됩니다.
+ * 조각은 세션의 .part 파일 끝에 바로 이어 쓰고 해시도 받는 즉시 갱신하므로, 메모리 사용량은 조각 크기와 무관합니다.
+ * 받은 바이트 수는 .part 파일 크기 자체이므로 서버가 재시작되어도 세션을 이어갈 수 있습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadService {
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("^[0-9a-f\\-]{36}$");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadConfig uploadConfig;
+    private final DirectoryConfig directoryConfig;
+    private final DirectoryService directoryService;
+    private final ObjectMapper objectMapper;
+
+    // 업로드 ID → 진행 중인 세션 (해시 상태 포함, 재시작 후에는 처음 접근할 때 .part로 복원)
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 업로드 세션 정보 (세션 디렉토리에 JSON으로 저장)
+     */
+    public record SessionInfo(String uploadId, String fileName, long size) {}
+
+    /**
+     * 업로드 진행 상태
+     */
+    public record UploadStatus(String uploadId, String fileName, long size, long offset, long maxChunkSize) {}
+
+    private static final class Session {
+        private final SessionInfo info;
+        private MessageDigest digest;  // .part 파일 전체(offset까지)의 해시 상태
+        private long offset;
+
+        private Session(SessionInfo info) {
+            this.info = info;
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(sessionDir());
+    }
+
+    /**
+     * 새 업로드 세션을 만듭니다. 만료된 세션은 이때 함께 정리합니다.
+     */
+    public UploadStatus create(String fileName, long size) throws IOException {
+        if (fileName == null || fileName.isBlank() || fileName.contains("/") || fileName.contains("\\")) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        String lowerName = fileName.toLowerCase();
+        if (!lowerName.endsWith(".asta") && !lowerName.endsWith(".svg")) {
+            throw new IllegalArgumentException("Only .asta and .svg files can be uploaded: " + fileName);
+        }
+        if (size <= 0 || size > uploadConfig.getMaxFileSize().toBytes()) {
+            throw new IllegalArgumentException("Invalid upload size: " + size);
+        }
+        purgeExpired();
+
+        SessionInfo info = new SessionInfo(UUID.randomUUID().toString(), fileName, size);
+        objectMapper.writeValue(infoFile(info.uploadId()).toFile(), info);
+        Files.createFile(partFile(info.uploadId()));
+        Session session = new Session(info);
+        session.digest = newDigest();
+        sessions.put(info.uploadId(), session);
+        log.info("Upload session created: {} ({}, {} bytes)", info.uploadId(), fileName, size);
+        return status(session);
+    }
+
+    public UploadStatus status(String uploadId) throws IOException {
+        Session session = session(uploadId);
+        synchronized (session) {
+            return status(session);
+        }
+    }
+
+    /**
+     * offset 위치부터 조각을 기록합니다.
+     * 이미 받은 구간은 건너뛰고, 받은 위치보다 뒤에서 시작하는 조각은 빈 구간이 생기므로 거절합니다. (409)
+     *
+     * @return 기록 후 상태 (다음에 보낼 오프셋)
+     */
+    public UploadStatus putChunk(String uploadId, long offset, InputStream body) throws IOException {
+        Session session = session(uploadId);
+        synchronized (session) {
+            if (offset < 0 || offset > session.offset) {
+                throw new ConflictException("Chunk offset " + offset + " does not match received bytes " + session.offset);
+            }
+            long maxChunk = uploadConfig.getMaxChunkSize().toBytes();
+            // 재전송된 앞부분은 읽고 버림
+            long skipped = skipUpTo(body, session.offset - offset);
+            if (skipped < session.offset - offset) {
+                return status(session);
+            }
+
+            try (FileChannel channel = FileChannel.open(partFile(uploadId), StandardOpenOption.WRITE)) {
+                channel.position(session.offset);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                long chunkBytes = skipped;
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    chunkBytes += read;
+                    if (chunkBytes > maxChunk) {
+                        throw new IllegalArgumentException("Chunk exceeds max size: " + uploadConfig.getMaxChunkSize());
+                    }
+                    if (session.offset + read > session.info.size()) {
+                        throw new IllegalArgumentException("Chunk exceeds declared upload size: " + session.info.size());
+                    }
+                    ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    session.digest.update(buffer, 0, read);
+                    session.offset += read;
+                }
+            } catch (IOException | RuntimeException e) {
+                // 일부만 기록된 조각은 그대로 두어도 됨: 다음 조각은 실제로 기록된 위치부터 이어짐
+                syncWithPartFile(session);
+                throw e;
+            }
+            // 만료 판단 기준: 마지막으로 조각을 받은 시각
+            Files.setLastModifiedTime(infoFile(uploadId), FileTime.fromMillis(System.currentTimeMillis()));
+            return status(session);
+        }
+    }
+
+    /**
+     * 모든 바이트를 받은 세션을 target에 등록합니다.
+     *
+     * @param expectedHash 클라이언트가 계산한 SHA-256 (선택, 다르면 거절)
+     */
+    public DirectoryService.UploadResult complete(String uploadId, String expectedHash) throws IOException {
+        Session session = session(uploadId);
+        synchronized (session) {
+            if (session.offset != session.info.size()) {
+                throw new ConflictException("Upload incomplete: " + session.offset + "/" + session.info.size());
+            }
+            String hash = currentHash(session);
+            if (expectedHash != null && !expectedHash.equalsIgnoreCase(hash)) {
+                abort(uploadId);
+                throw new IllegalArgumentException("Upload hash mismatch: expected " + expectedHash + ", received " + hash);
+            }
+            DirectoryService.UploadResult result;
+            try {
+                result = directoryService.importUpload(partFile(uploadId), session.info.fileName(), hash);
+            } catch (IllegalArgumentException e) {
+                // 형식이 맞지 않는 파일은 다시 완료해도 같으므로 세션 폐기 (입출력 오류는 재시도할 수 있도록 유지)
+                abort(uploadId);
+                throw e;
+            }
+            sessions.remove(uploadId);
+            Files.deleteIfExists(infoFile(uploadId));
+            log.info("Upload session completed: {} -> {}", uploadId, result.fileName());
+            return result;
+        }
+    }
+
+    /**
+     * 세션의 해시 상태를 바꾸지 않고 현재까지 받은 내용의 해시를 계산합니다.
+     * digest()는 상태를 초기화하므로 사본으로 계산해야 완료가 실패한 뒤 다시 완료할 수 있습니다.
+     */
+    private String currentHash(Session session) {
+        try {
+            return HexFormat.of().formatHex(((MessageDigest) session.digest.clone()).digest());
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Upload digest is not cloneable", e);
+        }
+    }
+
+    public void abort(String uploadId) throws IOException {
+        checkId(uploadId);
+        sessions.remove(uploadId);
+        Files.deleteIfExists(partFile(uploadId));
+        Files.deleteIfExists(infoFile(uploadId));
+        log.info("Upload session removed: {}", uploadId);
+    }
+
+    private UploadStatus status(Session session) {
+        return new UploadStatus(session.info.uploadId(), session.info.fileName(), session.info.size(),
+                session.offset, uploadConfig.getMaxChunkSize().toBytes());
+    }
+
+    /**
+     * 메모리의 세션, 없으면 디스크의 세션 정보와 .part 파일로 복원 (해시는 .part를 한 번 읽어 재계산)
+     */
+    private Session session(String uploadId) throws IOException {
+        checkId(uploadId);
+        Session existing = sessions.get(uploadId);
+        if (existing != null) {
+            return existing;
+        }
+        Path infoFile = infoFile(uploadId);
+        if (!Files.exists(infoFile)) {
+            throw new IllegalArgumentException("Unknown upload: " + uploadId);
+        }
+        Session restored = new Session(objectMapper.readValue(infoFile.toFile(), SessionInfo.class));
+        syncWithPartFile(restored);
+        Session raced = sessions.putIfAbsent(uploadId, restored);
+        return raced != null ? raced : restored;
+    }
+
+    /**
+     * 오프셋과 해시 상태를 .part 파일의 실제 내용에 맞춥니다.
+     */
+    private void syncWithPartFile(Session session) throws IOException {
+        MessageDigest digest = newDigest();
+        long length = 0;
+        try (InputStream in = Files.newInputStream(partFile(session.info.uploadId()))) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                length += read;
+            }
+        }
+        session.digest = digest;
+        session.offset = length;
+    }
+
+    /**
+     * 최대 count 바이트를 읽고 버립니다. 스트림이 먼저 끝나면 실제로 버린 바이트 수를 반환합니다.
+     */
+    private static long skipUpTo(InputStream in, long count) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(count, 1))];
+        long skipped = 0;
+        while (skipped < count) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, count - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    private void purgeExpired() {
+        Duration ttl = uploadConfig.getSessionTtl();
+        long expiredBefore = System.currentTimeMillis() - ttl.toMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sessionDir(), "*.json")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < expiredBefore) {
+                    String uploadId = file.getFileName().toString().replace(".json", "");
+                    abort(uploadId);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to purge expired upload sessions: {}", e.getMessage());
+        }
+    }
+
+    private void checkId(String uploadId) {
+        if (uploadId == null || !UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("Invalid upload id: " + uploadId);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path sessionDir() {
+        return uploadConfig.getSessionDir() != null
+                ? Paths.get(uploadConfig.getSessionDir())
+                : Paths.get(directoryConfig.getTarget(), ".uploads");
+    }
+
+    private Path infoFile(String uploadId) {
+        return sessionDir().resolve(uploadId + ".json");
+    }
+
+    private Path partFile(String uploadId) {
+        return sessionDir().resolve(uploadId + ".part");
+    }
+}
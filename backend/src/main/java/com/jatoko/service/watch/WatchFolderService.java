@@ -0,0 +1,229 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.watch;
+
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.WatchConfig;
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.JobStatus;
+import com.jatoko.model.TranslationJob;
+import com.jatoko.service.DirectoryService;
+import com.jatoko.service.MetadataService;
+import com.jatoko.service.job.TranslationJobService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감시 폴더 수집 서비스
+ *
+ * 감시 폴더에 .asta/.astah/.svg 파일이 생기거나 바뀌면 쓰기가 잠잠해질 때까지 기다린 뒤(debounce)
+ * 내용 해시를 마지막으로 번역에 성공한 해시와 비교하여, 내용이 바뀐 파일만 배치 작업으로 등록합니다.
+ * 번역은 메타데이터의 기존 노드 번역을 재사용하므로 바뀐 텍스트만 DeepL에 요청됩니다.
+ * 시작 시에는 폴더 전체를 한 번 훑어 마지막 번역 이후 바뀐 파일을 등록합니다.
+ * 실패하거나 취소된 작업의 해시는 기록하지 않으므로, 다음 변경 이벤트나 재스캔 때 다시 등록됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WatchFolderService {
+
+    private final WatchConfig watchConfig;
+    private final DirectoryConfig directoryConfig;
+    private final MetadataService metadataService;
+    private final TranslationJobService translationJobService;
+    private final DirectoryService directoryService;
+
+    // 파일명 → 마지막으로 번역에 성공한 내용 해시
+    private final Map<String, String> submittedHashes = new ConcurrentHashMap<>();
+    // 파일명 → 등록했지만 아직 성공을 확인하지 못한 작업
+    private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+    // 파일명 → 대기 중인 debounce 타이머
+    private final Map<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+    private Path watchDir;
+    private WatchService watchService;
+    private ScheduledExecutorService debouncer;
+    private Thread watcher;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!watchConfig.isEnabled()) {
+            return;
+        }
+        if (watchConfig.getDir() == null || watchConfig.getDir().isBlank()) {
+            throw new IllegalStateException("app.watch.dir is required when app.watch.enabled is true");
+        }
+        watchDir = Paths.get(watchConfig.getDir()).toAbsolutePath().normalize();
+        Files.createDirectories(watchDir);
+
+        debouncer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("watch-folder-debounce").factory());
+        watchService = FileSystems.getDefault().newWatchService();
+        watchDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watcher = Thread.ofPlatform().daemon().name("watch-folder").start(this::watchLoop);
+
+        log.info("Watching folder for translation: {}", watchDir);
+        scanAll();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService == null) {
+            return;
+        }
+        watchService.close();
+        watcher.interrupt();
+        debouncer.shutdownNow();
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // 이벤트가 유실되었으므로 폴더 전체를 다시 확인
+                    scanAll();
+                } else if (event.context() instanceof Path path && isTranslatable(path.getFileName().toString())) {
+                    schedule(path.getFileName().toString());
+                }
+            }
+            if (!key.reset()) {
+                log.error("Watch folder is no longer accessible: {}", watchDir);
+                return;
+            }
+        }
+    }
+
+    private void scanAll() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(watchDir)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (Files.isRegularFile(file) && isTranslatable(fileName)) {
+                    schedule(fileName);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to scan watch folder: {}", watchDir, e);
+        }
+    }
+
+    /**
+     * 같은 파일의 이벤트가 이어지면 타이머를 다시 시작하여 마지막 쓰기 후 한 번만 처리합니다.
+     */
+    private void schedule(String fileName) {
+        pending.compute(fileName, (name, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            return debouncer.schedule(() -> settle(name), watchConfig.getDebounce().toMillis(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void settle(String fileName) {
+        pending.remove(fileName);
+        Path file = watchDir.resolve(fileName);
+        try {
+            if (!Files.isRegularFile(file)) {
+                return;
+            }
+            // 이벤트 없이 쓰기가 이어지는 경우(네트워크 볼륨 등) 수정 시각으로 한 번 더 확인
+            long quietMillis = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+            if (quietMillis < watchConfig.getDebounce().toMillis()) {
+                schedule(fileName);
+                return;
+            }
+
+            String hash = metadataService.calculateHash(file.toFile());
+            if (hash.equals(lastTranslatedHash(fileName))) {
+                log.debug("Watch folder file unchanged, skipping: {}", fileName);
+                return;
+            }
+
+            directoryService.replaceTarget(file, hash);
+            TranslationJob job = translationJobService.submit(fileName, null, JobPriority.BATCH, watchConfig.getOwner());
+            if (job != null) {
+                submissions.put(fileName, new Submission(job, hash));
+            }
+            log.info("Watch folder change queued for translation: {}", fileName);
+        } catch (Exception e) {
+            log.error("Failed to process watch folder file: {}", fileName, e);
+        }
+    }
+
+    /**
+     * 마지막으로 번역에 성공한 해시. 같은 내용의 작업이 대기/실행 중이면 그 해시를 사용하여 다시 등록하지 않습니다.
+     * 이번 실행에서 성공한 적이 없으면 target 메타데이터의 원본 해시를 사용합니다.
+     */
+    private String lastTranslatedHash(String fileName) {
+        Submission submission = submissions.get(fileName);
+        if (submission != null) {
+            JobStatus status = submission.job().getStatus();
+            if (!status.isFinished()) {
+                return submission.hash();
+            }
+            submissions.remove(fileName, submission);
+            if (status == JobStatus.COMPLETED) {
+                submittedHashes.put(fileName, submission.hash());
+            }
+        }
+        String submitted = submittedHashes.get(fileName);
+        if (submitted != null) {
+            return submitted;
+        }
+        Path targetFile = Paths.get(directoryConfig.getTarget(), fileName);
+        if (!Files.exists(targetFile)) {
+            return null;
+        }
+        return metadataService.loadMetadata(targetFile.toFile()).getOriginalFileHash();
+    }
+
+    private boolean isTranslatable(String fileName) {
+        String lowerName = fileName.toLowerCase();
+        return !fileName.startsWith(".")
+                && (lowerName.endsWith(".asta") || lowerName.endsWith(".astah") || lowerName.endsWith(".svg"));
+    }
+
+    private record Submission(TranslationJob job, String hash) {}
+}
@@ -21,12 +21,15 @@ package com.jatoko.util;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
 
 /**
  * SVG 파일이 아웃라인화(텍스트가 path로 변환됨)되었는지 감지하는 유틸리티.
@@ -39,6 +42,8 @@ import java.nio.file.Path;
 public class SvgOutlineDetector {
 
     private static final String BATIK_GENERATOR_COMMENT = "Generated by the Batik Graphics2D SVG Generator";
+    // 편집 가능한 텍스트로 판단하는 요소 (foreignObject는 HTML 임베딩)
+    private static final Set<String> TEXT_ELEMENTS = Set.of("text", "tspan", "foreignObject");
 
     /**
      * SVG 파일이 아웃라인화되었는지 확인
@@ -69,22 +74,34 @@ public class SvgOutlineDetector {
 
     /**
      * SVG InputStream이 아웃라인화되었는지 확인
+     * StAX로 요소를 순서대로 읽다가 첫 텍스트 관련 요소에서 바로 중단하며, DOM 트리는 만들지 않습니다.
+     * (아웃라인 SVG는 끝까지 읽지만 메모리 사용량은 파일 크기와 무관)
      *
      * @param inputStream SVG 입력 스트림
      * @return 아웃라인 SVG이면 true, 편집 가능한 텍스트가 있으면 false
      */
     public static boolean isOutlined(InputStream inputStream) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        // XXE 방지
-        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
-        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document document = builder.parse(inputStream);
+        XMLStreamReader reader = createReader(inputStream);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && TEXT_ELEMENTS.contains(reader.getLocalName())) {
+                    return false; // 텍스트 요소가 있으면 편집 가능
+                }
+            }
+            // 텍스트 관련 요소가 없으면 아웃라인으로 판단
+            return true;
+        } finally {
+            reader.close();
+        }
+    }
 
-        return isOutlined(document);
+    private static XMLStreamReader createReader(InputStream inputStream) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        // XXE 방지: DTD/외부 엔티티를 처리하지 않음
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory.createXMLStreamReader(inputStream);
     }
 
     /**
@@ -124,9 +141,24 @@ public class SvgOutlineDetector {
      * @return Batik으로 생성되었으면 true
      */
     public static boolean isBatikGenerated(Path path) {
-        try {
-            String content = Files.readString(path);
-            return content.contains(BATIK_GENERATOR_COMMENT);
+        try (InputStream is = Files.newInputStream(path)) {
+            XMLStreamReader reader = createReader(is);
+            try {
+                // 생성기 주석은 문서 앞부분에 있으므로 첫 요소 이후의 주석만 확인하고 중단
+                int elements = 0;
+                while (reader.hasNext() && elements <= 1) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.COMMENT && reader.getText().contains(BATIK_GENERATOR_COMMENT)) {
+                        return true;
+                    }
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        elements++;
+                    }
+                }
+                return false;
+            } finally {
+                reader.close();
+            }
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,222 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.util;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 업로드 스트림을 한 번만 읽어 최종 위치에 저장하면서 필요한 정보를 함께 구하는 유틸리티.
+ *
+ * 읽은 바이트는 그대로 파일과 SHA-256 다이제스트로 전달되고, 같은 스트림에서
+ * 앞부분으로 파일 형식을 확인하고(.asta는 ZIP, .svg는 XML) SVG는 아웃라인 여부까지 판정합니다.
+ * 아웃라인 판정이 첫 텍스트 요소에서 끝나면 나머지는 저장/해시만 하며 읽습니다.
+ */
+public class UploadSpooler {
+
+    private static final int SNIFF_BYTES = 512;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 저장 결과
+     *
+     * @param hash 내용 SHA-256 (hex)
+     * @param size 저장된 바이트 수
+     * @param outlined SVG 아웃라인 여부 (SVG가 아니면 null)
+     */
+    public record Result(String hash, long size, Boolean outlined) {}
+
+    private UploadSpooler() {
+    }
+
+    /**
+     * source를 destination에 새 파일로 저장합니다. 형식이 확장자와 맞지 않거나 저장에 실패하면 파일을 남기지 않습니다.
+     *
+     * @throws IllegalArgumentException 내용이 확장자의 형식과 다른 경우
+     */
+    public static Result spool(InputStream source, Path destination) throws IOException {
+        boolean svg = destination.getFileName().toString().toLowerCase().endsWith(".svg");
+
+        // 이미 있는 파일이면 여기서 실패하며, 아래 정리 대상이 아님
+        OutputStream out = Files.newOutputStream(destination, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try (out) {
+            TeeInputStream tee = new TeeInputStream(source, out);
+            BufferedInputStream in = new BufferedInputStream(tee, BUFFER_SIZE);
+
+            in.mark(SNIFF_BYTES);
+            byte[] head = in.readNBytes(SNIFF_BYTES);
+            in.reset();
+            checkFormat(head, destination.getFileName().toString());
+
+            Boolean outlined = null;
+            if (svg) {
+                try {
+                    outlined = SvgOutlineDetector.isOutlined(in);
+                } catch (Exception e) {
+                    // 파싱 실패 시 안전하게 false (번역 시도 허용). 저장 실패는 아래에서 다시 발생
+                    outlined = false;
+                }
+            }
+            // 판정 후 남은 바이트를 마저 저장
+            in.transferTo(OutputStream.nullOutputStream());
+            tee.rethrowFailure();
+            return new Result(HexFormat.of().formatHex(tee.digest.digest()), tee.count, outlined);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(destination);
+            throw e;
+        }
+    }
+
+    /**
+     * 이미 저장된 파일의 형식을 확인하고 SVG면 아웃라인 여부를 판정합니다. (앞부분/첫 텍스트 요소까지만 읽음)
+     *
+     * @param fileName 형식을 판단할 파일명 (확장자)
+     * @return SVG 아웃라인 여부 (SVG가 아니면 null)
+     * @throws IllegalArgumentException 내용이 확장자의 형식과 다른 경우
+     */
+    public static Boolean inspect(Path file, String fileName) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            in.mark(SNIFF_BYTES);
+            byte[] head = in.readNBytes(SNIFF_BYTES);
+            in.reset();
+            checkFormat(head, fileName);
+            if (!fileName.toLowerCase().endsWith(".svg")) {
+                return null;
+            }
+            try {
+                return SvgOutlineDetector.isOutlined(in);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 확장자별 형식 확인: .asta는 ZIP, .svg는 XML
+     */
+    private static void checkFormat(byte[] head, String fileName) {
+        String lowerName = fileName.toLowerCase();
+        if (lowerName.endsWith(".svg") && !isXml(head)) {
+            throw new IllegalArgumentException("File content is not SVG: " + fileName);
+        }
+        if (lowerName.endsWith(".asta") && !isZip(head)) {
+            throw new IllegalArgumentException("File content is not an Astah project: " + fileName);
+        }
+    }
+
+    private static boolean isZip(byte[] head) {
+        return head.length >= 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4;
+    }
+
+    /**
+     * UTF-8 BOM과 공백을 건너뛴 첫 문자가 '<'인지 확인
+     */
+    private static boolean isXml(byte[] head) {
+        int i = 0;
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        while (i < head.length && Character.isWhitespace(head[i])) {
+            i++;
+        }
+        return i < head.length && head[i] == '<';
+    }
+
+    /**
+     * 읽은 바이트를 파일과 다이제스트로 흘려보내는 스트림.
+     * 파일 쓰기 실패는 기록해 두었다가 이후 읽기에서 다시 던지므로, 파서가 예외를 삼켜도 저장 실패가 묻히지 않습니다.
+     */
+    private static final class TeeInputStream extends FilterInputStream {
+        private final OutputStream sink;
+        private final MessageDigest digest;
+        private long count;
+        private IOException failure;
+
+        TeeInputStream(InputStream source, OutputStream sink) {
+            super(source);
+            this.sink = sink;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            rethrowFailure();
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                try {
+                    sink.write(buffer, offset, n);
+                } catch (IOException e) {
+                    failure = e;
+                    throw e;
+                }
+                digest.update(buffer, offset, n);
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 건너뛴 바이트도 저장되도록 읽어서 처리
+            byte[] buffer = new byte[8192];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read == -1) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        void rethrowFailure() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
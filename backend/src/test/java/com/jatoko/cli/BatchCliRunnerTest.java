@@ -0,0 +1,196 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jatoko.config.AdmissionConfig;
+import com.jatoko.config.ConcurrencyConfig;
+import com.jatoko.service.AstahParserService;
+import com.jatoko.service.BatchTranslationPipeline;
+import com.jatoko.service.BatchTranslationPlanner;
+import com.jatoko.service.FileConcurrencyLimiter;
+import com.jatoko.service.MetadataService;
+import com.jatoko.service.PreparedTranslation;
+import com.jatoko.service.SvgParserService;
+import com.jatoko.service.admission.MemoryAdmission;
+import com.jatoko.service.bulkhead.Bulkheads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BatchCliRunner 테스트
+ * 디렉토리 트리를 같은 구조로 번역하고, 바뀌지 않은 파일은 다음 실행에서 건너뛰는지 확인합니다.
+ * Astah 파일 준비가 동시성 제한을 거치는지와 입력 트리에 쓰지 않는지도 확인합니다.
+ */
+class BatchCliRunnerTest {
+
+    @Mock
+    private AstahParserService astahParserService;
+
+    @Mock
+    private SvgParserService svgParserService;
+
+    @Mock
+    private BatchTranslationPlanner planner;
+
+    @TempDir
+    Path tempDir;
+
+    private Path input;
+    private Path output;
+    private BatchCliRunner runner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        input = Files.createDirectories(tempDir.resolve("in"));
+        output = tempDir.resolve("out");
+
+        ConcurrencyConfig concurrencyConfig = new ConcurrencyConfig();
+        concurrencyConfig.setExtractWorkers(2);
+        FileConcurrencyLimiter limiter = new FileConcurrencyLimiter(new Bulkheads(concurrencyConfig));
+        BatchTranslationPipeline pipeline = new BatchTranslationPipeline(planner, limiter, concurrencyConfig,
+                new MemoryAdmission(new AdmissionConfig()));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        runner = new BatchCliRunner(astahParserService, svgParserService, new MetadataService(objectMapper),
+                pipeline, limiter, objectMapper);
+
+        when(svgParserService.prepare(any(File.class), any(File.class)))
+                .thenAnswer(invocation -> prepared(invocation.getArgument(1)));
+        when(astahParserService.prepare(any(File.class), any(File.class)))
+                .thenAnswer(invocation -> prepared(invocation.getArgument(1)));
+    }
+
+    @Test
+    void testSync_TranslatesTreeThenSkipsUnchangedFiles() throws Exception {
+        Files.createDirectories(input.resolve("screens"));
+        Files.writeString(input.resolve("screens/login.svg"), "<svg>login</svg>");
+        Files.writeString(input.resolve("model.asta"), "model");
+        Files.writeString(input.resolve("readme.txt"), "ignored");
+
+        BatchCliRunner.Summary first = runner.sync(input, output, false, Duration.ofMinutes(1));
+
+        assertEquals(2, first.total());
+        assertEquals(2, first.translated());
+        assertTrue(Files.exists(output.resolve("screens/login.svg")));
+        assertTrue(Files.exists(output.resolve(BatchCliRunner.SYNC_FILE)));
+
+        Files.writeString(input.resolve("model.asta"), "model v2");
+        BatchCliRunner.Summary second = runner.sync(input, output, false, Duration.ofMinutes(1));
+
+        assertEquals(1, second.translated());
+        assertEquals(1, second.skipped());
+        assertEquals("SKIPPED", second.files().stream()
+                .filter(file -> file.path().equals("screens/login.svg")).findFirst().orElseThrow().status());
+        verify(svgParserService, times(1)).prepare(any(File.class), any(File.class));
+        verify(astahParserService, times(2)).prepare(any(File.class), any(File.class));
+    }
+
+    @Test
+    void testSync_OutputInsideInputIsNotTranslatedAgain() throws Exception {
+        Files.writeString(input.resolve("login.svg"), "<svg>login</svg>");
+        Path nested = input.resolve("translated");
+
+        runner.sync(input, nested, false, Duration.ofMinutes(1));
+        BatchCliRunner.Summary second = runner.sync(input, nested, false, Duration.ofMinutes(1));
+
+        // 출력 트리의 번역 결과와 작업 디렉토리 사본은 입력으로 보지 않음
+        assertEquals(1, second.total());
+        assertEquals(1, second.skipped());
+        verify(svgParserService, times(1)).prepare(any(File.class), any(File.class));
+    }
+
+    @Test
+    void testSync_RejectsOutputEqualToInput() {
+        assertThrows(IllegalArgumentException.class, () -> runner.sync(input, input, false, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testSync_FailedFileIsRetriedNextRun() throws Exception {
+        Files.writeString(input.resolve("broken.svg"), "<svg/>");
+        when(svgParserService.prepare(any(File.class), any(File.class))).thenThrow(new IllegalStateException("parse error"));
+
+        BatchCliRunner.Summary first = runner.sync(input, output, false, Duration.ofMinutes(1));
+        assertEquals(1, first.failed());
+        assertEquals("parse error", first.files().get(0).error());
+
+        runner.sync(input, output, false, Duration.ofMinutes(1));
+        verify(svgParserService, times(2)).prepare(any(File.class), any(File.class));
+    }
+
+    @Test
+    void testSync_AstahPrepareIsSerialized() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            Files.writeString(input.resolve("model" + i + ".asta"), "model " + i);
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(astahParserService.prepare(any(File.class), any(File.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return prepared(invocation.getArgument(1));
+        });
+
+        BatchCliRunner.Summary summary = runner.sync(input, output, false, Duration.ofMinutes(1));
+
+        // 추출 작업자가 여럿이어도 Astah 파일은 하나씩 열림
+        assertEquals(4, summary.translated());
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void testSync_DoesNotWriteIntoInputTree() throws Exception {
+        Files.writeString(input.resolve("login.svg"), "<svg>login</svg>");
+        ArgumentCaptor<File> source = ArgumentCaptor.forClass(File.class);
+
+        runner.sync(input, output, false, Duration.ofMinutes(1));
+
+        // 입력 사본을 출력 트리의 작업 디렉토리에서 번역 (메타데이터도 그 옆에 기록됨)
+        verify(svgParserService).prepare(source.capture(), any(File.class));
+        assertEquals(output.resolve(BatchCliRunner.WORK_DIR).resolve("login.svg").toFile(), source.getValue());
+        try (Stream<Path> files = Files.list(input)) {
+            assertEquals(List.of(input.resolve("login.svg")), files.toList());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private PreparedTranslation<Object> prepared(File outputFile) throws Exception {
+        PreparedTranslation<Object> prepared = mock(PreparedTranslation.class);
+        when(prepared.getOutputFile()).thenReturn(outputFile);
+        doAnswer(invocation -> Files.writeString(outputFile.toPath(), "translated")).when(prepared).complete(any());
+        return prepared;
+    }
+}
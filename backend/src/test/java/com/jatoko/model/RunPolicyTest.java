@@ -0,0 +1,67 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RunPolicy 테스트
+ * 자정을 넘는 실행 시간대와 다음 시작 시각 계산을 확인합니다.
+ */
+class RunPolicyTest {
+
+    private final RunPolicy overnight = new RunPolicy(RunPolicy.Mode.WINDOW, LocalTime.of(22, 0), LocalTime.of(6, 0));
+
+    @Test
+    void testIsWindowOpen_Overnight() {
+        assertTrue(overnight.isWindowOpen(LocalTime.of(23, 30)));
+        assertTrue(overnight.isWindowOpen(LocalTime.of(5, 59)));
+        assertFalse(overnight.isWindowOpen(LocalTime.of(6, 0)));
+        assertFalse(overnight.isWindowOpen(LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void testIsWindowOpen_SameDay() {
+        RunPolicy lunch = new RunPolicy(RunPolicy.Mode.WINDOW, LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+        assertTrue(lunch.isWindowOpen(LocalTime.of(12, 0)));
+        assertFalse(lunch.isWindowOpen(LocalTime.of(13, 0)));
+        assertTrue(RunPolicy.ANYTIME.isWindowOpen(LocalTime.of(3, 0)));
+    }
+
+    @Test
+    void testNextOpening() {
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 10, 12, 0);
+        LocalDateTime lateNight = LocalDateTime.of(2025, 1, 10, 23, 0);
+
+        assertEquals(LocalDateTime.of(2025, 1, 10, 22, 0), overnight.nextOpening(noon));
+        assertEquals(lateNight, overnight.nextOpening(lateNight));
+    }
+
+    @Test
+    void testWindowRequiresBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new RunPolicy(RunPolicy.Mode.WINDOW, null, null));
+        assertEquals(RunPolicy.Mode.ANYTIME, new RunPolicy(null, null, null).mode());
+    }
+}
@@ -18,6 +18,7 @@
 
 package com.jatoko.service;
 
+import com.jatoko.config.TranslationConfig;
 import com.jatoko.model.NodeTranslation;
 import com.jatoko.model.TranslationMetadata;
 import com.jatoko.service.translator.Translator;
@@ -102,7 +103,7 @@ class BaseParserServiceTest {
         private boolean applyTranslationsCalled = false;
 
         public TestParserService(MetadataService metadataService, Translator translator) {
-            super(metadataService, translator);
+            super(metadataService, translator, new TranslationConfig());
             this.nodesToExtract = new ArrayList<>();
         }
 
@@ -263,6 +264,44 @@ class BaseParserServiceTest {
         assertFalse(testParserService.isApplyTranslationsCalled(), "노드가 없으면 applyTranslationsInternal이 호출되지 않아야 합니다");
     }
 
+    @Test
+    void testExtractTranslateAndApply_CheckpointsCompletedChunks() throws Exception {
+        // 테스트 파일 생성
+        File inputFile = tempDir.resolve("input.txt").toFile();
+        File outputFile = tempDir.resolve("output.txt").toFile();
+        Files.writeString(inputFile.toPath(), "test content");
+
+        // 2개 청크(50개 + 10개)로 나뉘는 노드
+        List<TestNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            nodes.add(new TestNode("id" + i, "テキスト" + i));
+        }
+        testParserService.setNodesToExtract(nodes);
+
+        TranslationMetadata metadata = new TranslationMetadata();
+        metadata.setTranslations(new HashMap<>());
+        when(metadataService.loadMetadata(any(File.class))).thenReturn(metadata);
+        when(metadataService.calculateHash(any(File.class))).thenReturn("hash123");
+
+        // 첫 청크는 성공, 두 번째 청크에서 실패
+        List<String> firstChunk = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            firstChunk.add("텍스트" + i);
+        }
+        when(translator.translate(anyList()))
+                .thenReturn(firstChunk)
+                .thenThrow(new RuntimeException("DeepL 오류"));
+
+        // 실행
+        assertThrows(RuntimeException.class, () -> testParserService.extractTranslateAndApply(inputFile, outputFile));
+
+        // 검증: 성공한 첫 청크만 체크포인트에 기록되고, 최종 메타데이터는 저장되지 않음
+        verify(metadataService, times(1)).appendCheckpoint(eq(inputFile), argThat(list -> list.size() == 50
+                && list.get(0).getId().equals("id0")
+                && list.get(0).getTranslatedText().equals("텍스트0")));
+        verify(metadataService, never()).saveMetadata(any(File.class), any(TranslationMetadata.class));
+    }
+
     @Test
     void testExtractTranslateAndApply_DuplicateNodes() throws Exception {
         // 테스트 파일 생성
@@ -297,4 +336,113 @@ class BaseParserServiceTest {
         // 번역 API는 1개 항목만 호출되어야 함
         verify(translator, times(1)).translate(argThat(list -> list.size() == 1));
     }
+
+    @Test
+    void testExtractTranslateAndApply_TranslationStartsBeforeExtractionEnds() throws Exception {
+        // 테스트 파일 생성
+        File inputFile = tempDir.resolve("input.txt").toFile();
+        File outputFile = tempDir.resolve("output.txt").toFile();
+        Files.writeString(inputFile.toPath(), "test content");
+
+        // 첫 청크(50개)를 내보낸 뒤, 첫 번역 요청이 올 때까지 추출을 멈추는 파서
+        java.util.concurrent.CountDownLatch firstChunkTranslated = new java.util.concurrent.CountDownLatch(1);
+        TestParserService streamingParser = new TestParserService(metadataService, translator) {
+            @Override
+            protected void extractNodes(File file, java.util.function.Consumer<TestNode> sink) {
+                for (int i = 0; i < 50; i++) {
+                    sink.accept(new TestNode("id" + i, "テキスト" + i));
+                }
+                try {
+                    assertTrue(firstChunkTranslated.await(5, java.util.concurrent.TimeUnit.SECONDS),
+                            "추출이 끝나기 전에 첫 청크 번역이 시작되어야 합니다");
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                sink.accept(new TestNode("id50", "最後"));
+            }
+        };
+
+        TranslationMetadata metadata = new TranslationMetadata();
+        metadata.setTranslations(new HashMap<>());
+        when(metadataService.loadMetadata(any(File.class))).thenReturn(metadata);
+        when(metadataService.calculateHash(any(File.class))).thenReturn("hash123");
+        when(translator.translate(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            firstChunkTranslated.countDown();
+            return texts.stream().map(text -> "번역:" + text).toList();
+        });
+
+        // 실행
+        streamingParser.extractTranslateAndApply(inputFile, outputFile);
+
+        // 검증: 50개 + 1개 두 번 요청, 모든 노드 적용
+        verify(translator, times(2)).translate(anyList());
+        assertTrue(streamingParser.isApplyTranslationsCalled());
+        verify(metadataService).saveMetadata(eq(inputFile), argThat(saved -> saved.getTranslations().size() == 51
+                && saved.getTranslations().get("id50").getTranslatedText().equals("번역:最後")));
+    }
+
+    @Test
+    void testExtractTranslateAndApply_DoesNotWriteThroughHardLink() throws Exception {
+        // 테스트 파일 생성: 출력 위치가 번역 결과 캐시(blob)와 하드 링크로 연결된 상태
+        File inputFile = tempDir.resolve("input.txt").toFile();
+        Files.writeString(inputFile.toPath(), "test content");
+        Path blob = Files.writeString(tempDir.resolve("blob"), "cached content");
+        Path output = Files.createLink(tempDir.resolve("output.txt"), blob);
+
+        testParserService.setNodesToExtract(List.of(new TestNode("id1", "こんにちは")));
+        TranslationMetadata metadata = new TranslationMetadata();
+        metadata.setTranslations(new HashMap<>());
+        when(metadataService.loadMetadata(any(File.class))).thenReturn(metadata);
+        when(translator.translate(anyList())).thenReturn(List.of("안녕하세요"));
+
+        // 실행
+        testParserService.extractTranslateAndApply(inputFile, output.toFile());
+
+        // 검증: 출력은 새 파일로 교체되고 캐시 내용은 그대로
+        assertEquals("translated content", Files.readString(output));
+        assertEquals("cached content", Files.readString(blob));
+        try (java.util.stream.Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith(".")), "임시 파일이 남으면 안 됩니다");
+        }
+    }
+
+    @Test
+    void testExtractTranslateAndApply_WaitsForExtractionOnFailure() throws Exception {
+        // 테스트 파일 생성
+        File inputFile = tempDir.resolve("input.txt").toFile();
+        File outputFile = tempDir.resolve("output.txt").toFile();
+        Files.writeString(inputFile.toPath(), "test content");
+
+        // 첫 청크를 내보낸 뒤 인터럽트에 반응하지 않고 잠시 더 실행되는 추출기 (Astah 추출과 같은 상황)
+        java.util.concurrent.atomic.AtomicBoolean extractionFinished = new java.util.concurrent.atomic.AtomicBoolean();
+        TestParserService slowParser = new TestParserService(metadataService, translator) {
+            @Override
+            protected void extractNodes(File file, java.util.function.Consumer<TestNode> sink) {
+                for (int i = 0; i < 50; i++) {
+                    sink.accept(new TestNode("id" + i, "テキスト" + i));
+                }
+                long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(300);
+                while (System.nanoTime() < deadline) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException ignored) {
+                        // 인터럽트 무시
+                    }
+                }
+                extractionFinished.set(true);
+            }
+        };
+
+        TranslationMetadata metadata = new TranslationMetadata();
+        metadata.setTranslations(new HashMap<>());
+        when(metadataService.loadMetadata(any(File.class))).thenReturn(metadata);
+        when(translator.translate(anyList())).thenThrow(new RuntimeException("DeepL 오류"));
+
+        // 실행: 번역 실패
+        assertThrows(RuntimeException.class, () -> slowParser.extractTranslateAndApply(inputFile, outputFile));
+
+        // 검증: 추출 스레드가 끝난 뒤에 반환되어야 함
+        assertTrue(extractionFinished.get(), "추출 스레드가 끝나기 전에 반환되면 안 됩니다");
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service;
+
+import com.jatoko.config.AdmissionConfig;
+import com.jatoko.config.ConcurrencyConfig;
+import com.jatoko.service.admission.MemoryAdmission;
+import com.jatoko.service.bulkhead.Bulkheads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BatchTranslationPipeline 테스트
+ * 단계가 겹쳐 진행되는지와 파일별 실패/마감 처리를 확인합니다.
+ */
+class BatchTranslationPipelineTest {
+
+    @Mock
+    private BatchTranslationPlanner planner;
+
+    @Mock
+    private SvgParserService parser;
+
+    private ConcurrencyConfig concurrencyConfig;
+    private MemoryAdmission memoryAdmission;
+    private BatchTranslationPipeline pipeline;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        concurrencyConfig = new ConcurrencyConfig();
+        AdmissionConfig admissionConfig = new AdmissionConfig();
+        admissionConfig.setHeapBudget(DataSize.ofMegabytes(64));
+        memoryAdmission = new MemoryAdmission(admissionConfig);
+        pipeline = new BatchTranslationPipeline(planner, new FileConcurrencyLimiter(new Bulkheads(concurrencyConfig)),
+                concurrencyConfig, memoryAdmission);
+    }
+
+    @Test
+    void testRun_ExtractionContinuesWhileTranslating() throws Exception {
+        CountDownLatch allExtracted = new CountDownLatch(3);
+        when(planner.translate(anyList(), anyMap(), any())).thenAnswer(invocation -> {
+            // 첫 파일 번역 중에도 나머지 파일의 추출이 끝나야 진행
+            assertTrue(allExtracted.await(5, TimeUnit.SECONDS));
+            return ((List<?>) invocation.getArgument(0)).size();
+        });
+
+        BatchTranslationPipeline.Result result = pipeline.run(List.of("a.svg", "b.svg", "c.svg"), fileName -> 0L, fileName -> {
+            allExtracted.countDown();
+            return prepared(fileName);
+        }, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(3, result.translatedSegments());
+        assertEquals(3, result.outcomes().size());
+        assertTrue(result.outcomes().values().stream().allMatch(BatchTranslationPipeline.FileOutcome::succeeded));
+        assertEquals("out_b.svg", result.outcomes().get("b.svg").outputFileName());
+        verify(parser, times(3)).complete(any(), any());
+    }
+
+    @Test
+    void testRun_FailedFileDoesNotStopOthers() throws Exception {
+        when(planner.translate(anyList(), anyMap(), any())).thenReturn(0);
+
+        BatchTranslationPipeline.Result result = pipeline.run(List.of("a.svg", "broken.svg"), fileName -> 0L, fileName -> {
+            if (fileName.startsWith("broken")) {
+                throw new IOException("parse error");
+            }
+            return prepared(fileName);
+        }, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+
+        assertTrue(result.outcomes().get("a.svg").succeeded());
+        assertEquals("parse error", result.outcomes().get("broken.svg").error().getMessage());
+        // 성공/실패 모두 힙 예산 반환
+        assertEquals(0, memoryAdmission.snapshot().inUseBytes());
+    }
+
+    @Test
+    void testRun_DeadlineMarksUnfinishedFiles() throws Exception {
+        when(planner.translate(anyList(), anyMap(), any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return 0;
+        });
+
+        BatchTranslationPipeline.Result result = pipeline.run(List.of("a.svg"), fileName -> 0L, this::prepared,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertInstanceOf(TimeoutException.class, result.outcomes().get("a.svg").error());
+        verify(parser, never()).complete(any(), any());
+        assertEquals(0, memoryAdmission.snapshot().inUseBytes());
+    }
+
+    @Test
+    void testRun_QueuedFilesTranslatedAsOnePlan() throws Exception {
+        concurrencyConfig.setTranslateWorkers(1);
+        CountDownLatch firstPlanStarted = new CountDownLatch(1);
+        List<Integer> planSizes = new CopyOnWriteArrayList<>();
+        when(planner.translate(anyList(), anyMap(), any())).thenAnswer(invocation -> {
+            List<?> files = invocation.getArgument(0);
+            planSizes.add(files.size());
+            if (planSizes.size() == 1) {
+                // 첫 계획을 번역하는 동안 나머지 파일이 큐에 쌓이도록 대기
+                firstPlanStarted.countDown();
+                Thread.sleep(300);
+            }
+            return files.size();
+        });
+
+        BatchTranslationPipeline.Result result = pipeline.run(List.of("a.svg", "b.svg", "c.svg"), fileName -> 0L, fileName -> {
+            if (!fileName.equals("a.svg")) {
+                assertTrue(firstPlanStarted.await(5, TimeUnit.SECONDS));
+            }
+            return prepared(fileName);
+        }, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+
+        // 큐에 쌓인 파일은 파일 경계와 관계없이 한 계획으로 묶임
+        assertEquals(List.of(1, 2), planSizes);
+        assertEquals(3, result.translatedSegments());
+        assertTrue(result.outcomes().values().stream().allMatch(BatchTranslationPipeline.FileOutcome::succeeded));
+    }
+
+    @Test
+    void testRun_DeadlineWaitsForStoppedStages() throws Exception {
+        when(planner.translate(anyList(), anyMap(), any())).thenReturn(0);
+        AtomicBoolean saved = new AtomicBoolean();
+        doAnswer(invocation -> {
+            // 인터럽트에 반응하지 않는 저장
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+            while (System.nanoTime() < until) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignored) {
+                    // 인터럽트 무시
+                }
+            }
+            saved.set(true);
+            return null;
+        }).when(parser).complete(any(), any());
+
+        BatchTranslationPipeline.Result result = pipeline.run(List.of("a.svg"), fileName -> 0L, this::prepared,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+
+        // 저장이 끝난 뒤에 반환하고, 끝난 파일은 성공으로 보고
+        assertTrue(saved.get());
+        assertTrue(result.outcomes().get("a.svg").succeeded());
+        assertEquals(0, memoryAdmission.snapshot().inUseBytes());
+    }
+
+    private PreparedTranslation<?> prepared(String fileName) {
+        File inputFile = tempDir.resolve(fileName).toFile();
+        File outputFile = tempDir.resolve("out_" + fileName).toFile();
+        return new PreparedTranslation<>(parser, inputFile, outputFile, List.of(), List.of(), null, null, 0);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service;
+
+import com.jatoko.config.TranslationConfig;
+import com.jatoko.model.TranslationMetadata;
+import com.jatoko.service.BaseParserServiceTest.TestNode;
+import com.jatoko.service.BaseParserServiceTest.TestParserService;
+import com.jatoko.service.translator.Translator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * BatchTranslationPlanner 테스트
+ * 배치 전체의 고유 텍스트만 번역하고 결과를 각 파일에 나눠 적용하는지 확인합니다.
+ */
+class BatchTranslationPlannerTest {
+
+    @Mock
+    private MetadataService metadataService;
+
+    @Mock
+    private Translator translator;
+
+    private TestParserService parserService;
+    private TranslationConfig translationConfig;
+    private BatchTranslationPlanner planner;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        parserService = new TestParserService(metadataService, translator);
+        translationConfig = new TranslationConfig();
+        translationConfig.setChunkDelay(Duration.ZERO);
+        planner = new BatchTranslationPlanner(translator, translationConfig);
+
+        when(translator.translate(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream().map(text -> "[" + text + "]").toList();
+        });
+    }
+
+    @Test
+    void testTranslate_SharedSegmentsTranslatedOnce() throws Exception {
+        TestNode userA = new TestNode("a1", "ユーザー");
+        TestNode orderA = new TestNode("a2", "注文");
+        TestNode userB = new TestNode("b1", " ユーザー ");  // 앞뒤 공백만 다른 같은 라벨
+        TestNode screenB = new TestNode("b2", "画面");
+
+        PreparedTranslation<TestNode> fileA = prepared("a.svg", List.of(userA, orderA));
+        PreparedTranslation<TestNode> fileB = prepared("b.svg", List.of(userB, screenB));
+
+        int translated = planner.translate(List.of(fileA, fileB), new ConcurrentHashMap<>(), (message, percentage) -> {});
+
+        assertEquals(3, translated);
+        verify(translator, times(1)).translate(List.of("ユーザー", "注文", "画面"));
+        assertEquals("[ユーザー]", userA.getTranslatedText());
+        assertEquals(" [ユーザー] ", userB.getTranslatedText());
+        assertEquals("[画面]", screenB.getTranslatedText());
+
+        // 파일별 체크포인트 기록
+        verify(metadataService).appendCheckpoint(eq(fileA.getInputFile()), anyList());
+        verify(metadataService).appendCheckpoint(eq(fileB.getInputFile()), anyList());
+    }
+
+    @Test
+    void testTranslate_ChunksByCountAndCharBudget() throws Exception {
+        translationConfig.setChunkSize(2);
+        translationConfig.setChunkCharBudget(5);
+
+        PreparedTranslation<TestNode> file = prepared("a.svg", List.of(
+                new TestNode("1", "あいう"),
+                new TestNode("2", "えお"),
+                new TestNode("3", "かきくけこさ"),
+                new TestNode("4", "し")));
+
+        planner.translate(List.of(file), new ConcurrentHashMap<>(), (message, percentage) -> {});
+
+        // 문자 수 제한(5)으로 3+2 / 6(단독 초과 허용) / 1 로 분할
+        verify(translator).translate(List.of("あいう", "えお"));
+        verify(translator).translate(List.of("かきくけこさ"));
+        verify(translator).translate(List.of("し"));
+    }
+
+    @Test
+    void testTranslate_ReusesBatchMemoryAcrossFiles() throws Exception {
+        Map<String, String> memory = new ConcurrentHashMap<>();
+        TestNode userA = new TestNode("a1", "ユーザー");
+        TestNode userB = new TestNode("b1", "ユーザー");
+        TestNode orderB = new TestNode("b2", "注文");
+
+        // 파일을 나눠서 번역
+        assertEquals(1, planner.translate(List.of(prepared("a.svg", List.of(userA))), memory, (m, p) -> {}));
+        assertEquals(1, planner.translate(List.of(prepared("b.svg", List.of(userB, orderB))), memory, (m, p) -> {}));
+
+        verify(translator).translate(List.of("ユーザー"));
+        verify(translator).translate(List.of("注文"));
+        verifyNoMoreInteractions(translator);
+        assertEquals("[ユーザー]", userB.getTranslatedText());
+        assertEquals("[注文]", memory.get("注文"));
+    }
+
+    @Test
+    void testNormalize_NfcAndStrip() {
+        // 분해형(が = か + ゛)과 조합형을 같은 텍스트로 취급
+        assertEquals("\u304C", BatchTranslationPlanner.normalize(" \u304B\u3099 "));
+        assertEquals("", BatchTranslationPlanner.normalize("   "));
+    }
+
+    private PreparedTranslation<TestNode> prepared(String fileName, List<TestNode> nodes) {
+        File inputFile = tempDir.resolve(fileName).toFile();
+        File outputFile = tempDir.resolve("out_" + fileName).toFile();
+        return new PreparedTranslation<>(parserService, inputFile, outputFile, nodes, nodes,
+                new TranslationMetadata(), "hash", 0);
+    }
+}
@@ -18,28 +18,54 @@
 
 package com.jatoko.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.AdmissionConfig;
+import com.jatoko.config.ConcurrencyConfig;
 import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.StorageConfig;
+import com.jatoko.dto.BatchFileResult;
+import com.jatoko.dto.BatchTranslationResponse;
 import com.jatoko.dto.FileMetadataDto;
+import com.jatoko.service.admission.MemoryAdmission;
+import com.jatoko.service.bulkhead.Bulkheads;
+import com.jatoko.service.catalog.FileCatalog;
+import com.jatoko.service.storage.BlobStore;
+import com.jatoko.service.storage.ChunkStore;
+import com.jatoko.service.translator.Translator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class DirectoryServiceTest {
 
+    // .asta는 ZIP 형식
+    private static final byte[] ASTA_CONTENT = {'P', 'K', 3, 4, 0, 0};
+
     @Mock
     private DirectoryConfig directoryConfig;
     @Mock
@@ -48,6 +74,10 @@ class DirectoryServiceTest {
     private SvgParserService svgParserService;
     @Mock
     private ProgressService progressService;
+    @Mock
+    private BatchTranslationPlanner batchTranslationPlanner;
+    @Mock
+    private Translator translator;
 
     private DirectoryService directoryService;
 
@@ -68,8 +98,18 @@ class DirectoryServiceTest {
 
         when(directoryConfig.getTarget()).thenReturn(targetDir.toString());
         when(directoryConfig.getTranslated()).thenReturn(translatedDir.toString());
+        when(translator.profile()).thenReturn("deepl:ja-ko:glossary=none");
 
-        directoryService = new DirectoryService(directoryConfig, astahParserService, svgParserService, progressService);
+        ConcurrencyConfig concurrencyConfig = new ConcurrencyConfig();
+        FileConcurrencyLimiter limiter = new FileConcurrencyLimiter(new Bulkheads(concurrencyConfig));
+        MemoryAdmission memoryAdmission = new MemoryAdmission(new AdmissionConfig());
+        MetadataService metadataService = new MetadataService(new ObjectMapper());
+        directoryService = new DirectoryService(directoryConfig, astahParserService, svgParserService, progressService,
+                limiter, concurrencyConfig,
+                new BatchTranslationPipeline(batchTranslationPlanner, limiter, concurrencyConfig, memoryAdmission),
+                memoryAdmission, new FileCatalog(directoryConfig, metadataService), metadataService,
+                new BlobStore(directoryConfig, translator),
+                new ChunkStore(directoryConfig, new StorageConfig(), new ObjectMapper()));
     }
 
     @Test
@@ -96,7 +136,7 @@ class DirectoryServiceTest {
             "file", 
             "test.asta", 
             "application/octet-stream", 
-            "content".getBytes()
+            ASTA_CONTENT
         );
 
         DirectoryService.UploadResult result = directoryService.uploadToTarget(file);
@@ -106,6 +146,160 @@ class DirectoryServiceTest {
         assertTrue(Files.exists(targetDir.resolve("test.asta")));
     }
 
+    @Test
+    void testUploadToTarget_SvgRecordsHashAndOutlineInOnePass() throws IOException {
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><path d=\"M0 0\"/></svg>".getBytes();
+        DirectoryService.UploadResult result = directoryService.uploadToTarget(
+                new MockMultipartFile("file", "outline.svg", "image/svg+xml", svg));
+
+        assertTrue(result.outlined());
+        MetadataService metadataService = new MetadataService(new ObjectMapper());
+        File uploaded = targetDir.resolve("outline.svg").toFile();
+        String expectedHash = HexFormat.of().formatHex(sha256(svg));
+        assertEquals(expectedHash, metadataService.loadMetadata(uploaded).getContentHash());
+        assertEquals(expectedHash, metadataService.calculateHash(uploaded));
+    }
+
+    @Test
+    void testUploadToTarget_IdenticalContentSharesStorageAndTranslation() throws Exception {
+        doAnswer(invocation -> {
+            File output = invocation.getArgument(1);
+            Files.writeString(output.toPath(), "translated");
+            return null;
+        }).when(astahParserService).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+
+        directoryService.uploadToTarget(new MockMultipartFile("file", "doc.asta", "application/octet-stream", ASTA_CONTENT));
+        directoryService.translateFile("doc.asta");
+
+        DirectoryService.UploadResult again = directoryService.uploadToTarget(
+                new MockMultipartFile("file", "doc.asta", "application/octet-stream", ASTA_CONTENT));
+
+        assertEquals("doc_1.asta", again.fileName());
+        assertTrue(Files.isSameFile(targetDir.resolve("doc.asta"), targetDir.resolve("doc_1.asta")));
+        // 파싱/번역 없이 기존 번역 결과가 연결됨
+        assertEquals("doc_translated_1.asta", again.translatedFileName());
+        assertEquals("translated", Files.readString(translatedDir.resolve("doc_translated_1.asta")));
+        verify(astahParserService, times(1)).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+    }
+
+    @Test
+    void testReplaceTarget_DetachesSharedBlobAndRecordsNewHash() throws Exception {
+        directoryService.uploadToTarget(new MockMultipartFile("file", "doc.svg", "image/svg+xml", "<svg>v1</svg>".getBytes()));
+        directoryService.uploadToTarget(new MockMultipartFile("file", "doc.svg", "image/svg+xml", "<svg>v1</svg>".getBytes()));
+        Path source = Files.writeString(tempDir.resolve("doc.svg"), "<svg>v2</svg>");
+        MetadataService metadataService = new MetadataService(new ObjectMapper());
+        String hash = metadataService.calculateHash(source.toFile());
+
+        directoryService.replaceTarget(source, hash);
+
+        // 같은 blob을 공유하던 다른 이름은 그대로 남음
+        assertEquals("<svg>v2</svg>", Files.readString(targetDir.resolve("doc.svg")));
+        assertEquals("<svg>v1</svg>", Files.readString(targetDir.resolve("doc_1.svg")));
+        assertEquals(hash, metadataService.loadMetadata(targetDir.resolve("doc.svg").toFile()).getContentHash());
+        assertTrue(Files.isSameFile(targetDir.resolve("doc.svg"),
+                targetDir.resolve(".blobs").resolve(hash.substring(0, 2)).resolve(hash)));
+    }
+
+    @Test
+    void testFindLatestTargetFile_UsesUploadTimeNotLinkedModifiedTime() throws Exception {
+        directoryService.uploadToTarget(new MockMultipartFile("file", "foo.svg", "image/svg+xml", "<svg>A</svg>".getBytes()));
+        // 내용 A의 blob은 오래전에 올린 것으로 만듦 (같은 내용의 링크는 이 수정 시각을 공유)
+        Files.setLastModifiedTime(targetDir.resolve("foo.svg"), FileTime.fromMillis(System.currentTimeMillis() - 3_600_000));
+        Thread.sleep(10);
+        directoryService.uploadToTarget(new MockMultipartFile("file", "foo.svg", "image/svg+xml", "<svg>B</svg>".getBytes()));
+        Thread.sleep(10);
+        directoryService.uploadToTarget(new MockMultipartFile("file", "foo.svg", "image/svg+xml", "<svg>A</svg>".getBytes()));
+
+        assertEquals("foo_2.svg", directoryService.findLatestTargetFile("foo.svg").getName());
+    }
+
+    @Test
+    void testDownloadLatestTranslatedFile_UsesHighestVersion() throws Exception {
+        Files.writeString(translatedDir.resolve("foo_translated.svg"), "<svg>old</svg>");
+        Files.writeString(translatedDir.resolve("foo_translated_1.svg"), "<svg>new</svg>");
+        // 캐시에서 연결한 결과는 이전 번역의 수정 시각을 가짐
+        Files.setLastModifiedTime(translatedDir.resolve("foo_translated_1.svg"),
+                FileTime.fromMillis(System.currentTimeMillis() - 3_600_000));
+
+        Resource latest = directoryService.downloadLatestTranslatedFile("foo.svg");
+
+        assertEquals("foo_translated_1.svg", latest.getFilename());
+    }
+
+    @Test
+    void testTranslateFile_SameInputAndSettingsReusesCachedOutput() throws Exception {
+        Files.writeString(targetDir.resolve("doc.svg"), "<svg/>");
+        doAnswer(invocation -> {
+            File output = invocation.getArgument(1);
+            Files.writeString(output.toPath(), "<svg>번역</svg>");
+            return null;
+        }).when(svgParserService).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+
+        assertEquals("doc_translated.svg", directoryService.translateFile("doc.svg"));
+        assertEquals("doc_translated_1.svg", directoryService.translateFile("doc.svg"));
+        assertTrue(Files.isSameFile(translatedDir.resolve("doc_translated.svg"), translatedDir.resolve("doc_translated_1.svg")));
+        verify(svgParserService, times(1)).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+
+        // 용어집이 바뀌면 다시 번역
+        when(translator.profile()).thenReturn("deepl:ja-ko:glossary=g-2");
+        assertEquals("doc_translated_2.svg", directoryService.translateFile("doc.svg"));
+        verify(svgParserService, times(2)).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+    }
+
+    @Test
+    void testTranslateFile_FailureReleasesReservedOutputName() throws Exception {
+        Files.writeString(targetDir.resolve("doc.svg"), "<svg/>");
+        doAnswer(invocation -> {
+            // 출력 파일명은 숨김 예약 파일로 예약되고, 출력 자체는 완성 전까지 보이지 않음
+            File output = invocation.getArgument(1);
+            assertFalse(output.exists());
+            assertTrue(Files.exists(translatedDir.resolve("." + output.getName() + ".reserved")));
+            assertThrows(IOException.class, () -> directoryService.downloadLatestTranslatedFile("doc.svg"));
+            throw new IllegalStateException("DeepL 오류");
+        }).when(svgParserService).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+
+        assertThrows(IllegalStateException.class, () -> directoryService.translateFile("doc.svg"));
+
+        // 예약도 반환됨
+        try (Stream<Path> files = Files.list(translatedDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testImportUpload_DoesNotReplaceExistingName() throws Exception {
+        Files.writeString(targetDir.resolve("doc.svg"), "<svg>existing</svg>");
+        Path assembled = Files.writeString(tempDir.resolve("upload.part"), "<svg>new</svg>");
+        String hash = HexFormat.of().formatHex(sha256("<svg>new</svg>".getBytes()));
+
+        DirectoryService.UploadResult result = directoryService.importUpload(assembled, "doc.svg", hash);
+
+        assertEquals("doc_1.svg", result.fileName());
+        assertEquals("<svg>existing</svg>", Files.readString(targetDir.resolve("doc.svg")));
+        assertEquals("<svg>new</svg>", Files.readString(targetDir.resolve("doc_1.svg")));
+        assertFalse(Files.exists(assembled));
+        // 숨김 임시 파일은 남지 않음
+        try (Stream<Path> files = Files.list(targetDir)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".upload")));
+        }
+    }
+
+    @Test
+    void testUploadToTarget_RejectsContentNotMatchingExtension() {
+        MockMultipartFile notSvg = new MockMultipartFile("file", "fake.svg", "image/svg+xml", ASTA_CONTENT);
+
+        assertThrows(IllegalArgumentException.class, () -> directoryService.uploadToTarget(notSvg));
+        assertFalse(Files.exists(targetDir.resolve("fake.svg")));
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Test
     void testTranslateFile_Astah() throws Exception {
         String fileName = "test.asta";
@@ -127,6 +321,73 @@ class DirectoryServiceTest {
         verify(progressService).complete(clientId);
     }
 
+    @Test
+    void testTranslateFile_ConcurrentRequestJoinsInFlightTranslation() throws Exception {
+        Files.createFile(targetDir.resolve("doc.svg"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ProgressCallback callback = invocation.getArgument(2);
+            callback.onProgress("번역 중...", 50);
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(svgParserService).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> translateQuietly("doc.svg", "client-1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> translateQuietly("doc.svg", "client-2"));
+
+        // 합류한 요청은 마지막 진행률을 바로 받음
+        verify(progressService, timeout(5000)).sendProgress("client-2", "번역 중...", 50);
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        verify(svgParserService, times(1)).extractTranslateAndApply(any(File.class), any(File.class), any(ProgressCallback.class));
+        verify(progressService).complete("client-1");
+        verify(progressService).complete("client-2");
+    }
+
+    private String translateQuietly(String fileName, String clientId) {
+        try {
+            return directoryService.translateFile(fileName, clientId);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void testTranslateFilesInBatch_ReportsPerFileResults() throws Exception {
+        Files.createFile(targetDir.resolve("a.svg"));
+        Files.createFile(targetDir.resolve("b.asta"));
+        when(svgParserService.prepare(any(File.class), any(File.class))).thenAnswer(invocation ->
+                new PreparedTranslation<>(svgParserService, invocation.getArgument(0), invocation.getArgument(1),
+                        List.of(), List.of(), null, null, 0));
+        when(astahParserService.prepare(any(File.class), any(File.class))).thenAnswer(invocation ->
+                new PreparedTranslation<>(astahParserService, invocation.getArgument(0), invocation.getArgument(1),
+                        List.of(), List.of(), null, null, 0));
+        when(batchTranslationPlanner.translate(anyList(), anyMap(), any(ProgressCallback.class))).thenReturn(3, 4);
+
+        BatchTranslationResponse response = directoryService.translateFilesInBatch(List.of("a.svg", "b.asta", "missing.svg"));
+
+        assertEquals(3, response.getTotalCount());
+        assertEquals(2, response.getSuccessCount());
+        assertEquals(List.of("missing.svg"), response.getFailedFiles());
+        assertEquals(7, response.getTranslatedSegments());
+
+        assertEquals(3, response.getResults().size());
+        assertEquals("a.svg", response.getResults().get(0).getFileName());
+        assertEquals(BatchFileResult.SUCCESS, response.getResults().get(0).getStatus());
+        assertEquals("a_translated.svg", response.getResults().get(0).getTranslatedFileName());
+        assertEquals(BatchFileResult.FAILED, response.getResults().get(2).getStatus());
+
+        // 추출된 파일마다 번역 단계를 거치며 같은 번역 메모리를 공유
+        verify(batchTranslationPlanner, times(2)).translate(
+                argThat(files -> files.size() == 1), anyMap(), any(ProgressCallback.class));
+        verify(svgParserService).complete(any(), any(ProgressCallback.class));
+        verify(astahParserService).complete(any(), any(ProgressCallback.class));
+    }
+
     @Test
     void testGetFileMetadata() throws IOException {
         // Setup files
@@ -149,4 +410,19 @@ class DirectoryServiceTest {
         FileMetadataDto doc2 = metadata.stream().filter(m -> m.getFileName().equals("doc2.svg")).findFirst().orElseThrow();
         assertFalse(doc2.isTranslated());
     }
+
+    @Test
+    void testGetFileMetadataListing_VersionChangesOnUploadAndDelete() throws IOException {
+        Files.createFile(targetDir.resolve("doc1.asta"));
+        String initial = directoryService.getFileMetadataListing().etag();
+        assertEquals(initial, directoryService.getFileMetadataListing().etag());
+
+        directoryService.uploadToTarget(new MockMultipartFile("file", "doc1.asta", "application/octet-stream", ASTA_CONTENT));
+        FileCatalog.Listing uploaded = directoryService.getFileMetadataListing();
+        assertNotEquals(initial, uploaded.etag());
+        assertEquals(2, uploaded.files().get(0).getOriginalVersion());
+
+        directoryService.deleteFile("target", "doc1.asta");
+        assertTrue(directoryService.getFileMetadata().isEmpty());
+    }
 }
@@ -29,6 +29,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,6 +49,28 @@ class MetadataServiceTest {
         metadataService = new MetadataService(objectMapper);
     }
 
+    @Test
+    void testIsOutlined_CachedUntilFileChanges() throws IOException {
+        Path svg = tempDir.resolve("diagram.svg");
+        Files.writeString(svg, "<svg xmlns=\"http://www.w3.org/2000/svg\"><path d=\"M0 0\"/></svg>");
+
+        assertTrue(metadataService.isOutlined(svg.toFile()));
+        TranslationMetadata recorded = metadataService.loadMetadata(svg.toFile());
+        assertEquals(Boolean.TRUE, recorded.getOutlined());
+        assertEquals(Files.size(svg), recorded.getOutlineCheckedSize());
+
+        // 기록된 결과와 크기/수정 시각이 같으면 파싱하지 않고 기록을 사용
+        recorded.setOutlined(false);
+        objectMapper.writeValue(metadataService.getMetadataFile(svg.toFile()), recorded);
+        assertFalse(metadataService.isOutlined(svg.toFile()));
+
+        // 파일이 바뀌면 다시 확인
+        Files.writeString(svg, "<svg xmlns=\"http://www.w3.org/2000/svg\"><text>ラベル</text></svg>");
+        assertFalse(metadataService.isOutlined(svg.toFile()));
+        Files.writeString(svg, "<svg xmlns=\"http://www.w3.org/2000/svg\"><path d=\"M1 1 L2 2\"/></svg>");
+        assertTrue(metadataService.isOutlined(svg.toFile()));
+    }
+
     @Test
     void testGetMetadataFile() {
         File originalFile = new File(tempDir.toFile(), "test.asta");
@@ -85,6 +109,31 @@ class MetadataServiceTest {
         assertTrue(metadata.getTranslations().isEmpty());
     }
 
+    @Test
+    void testAppendCheckpoint_MergedOnLoadAndClearedOnSave() {
+        File originalFile = new File(tempDir.toFile(), "test.asta");
+        TranslationMetadata metadata = new TranslationMetadata();
+        metadata.setTranslations(new HashMap<>(Map.of(
+            "id1", new NodeTranslation("id1", "original1", "translated1")
+        )));
+        metadataService.saveMetadata(originalFile, metadata);
+
+        // 번역 도중 청크 단위로 기록된 체크포인트
+        metadataService.appendCheckpoint(originalFile, List.of(
+            new NodeTranslation("id2", "original2", "translated2"),
+            new NodeTranslation("id3", "original3", "translated3")
+        ));
+        assertTrue(metadataService.getCheckpointFile(originalFile).exists());
+
+        TranslationMetadata loadedMetadata = metadataService.loadMetadata(originalFile);
+        assertEquals(3, loadedMetadata.getTranslations().size());
+        assertEquals("translated2", loadedMetadata.getTranslations().get("id2").getTranslatedText());
+
+        // 최종 메타데이터 저장 후 체크포인트는 삭제됨
+        metadataService.saveMetadata(originalFile, loadedMetadata);
+        assertFalse(metadataService.getCheckpointFile(originalFile).exists());
+    }
+
     @Test
     void testCalculateHash() throws IOException {
         File file = new File(tempDir.toFile(), "test.txt");
@@ -108,4 +157,17 @@ class MetadataServiceTest {
         
         assertNotEquals(hash, hash3);
     }
+
+    @Test
+    void testCalculateHash_UsesHashRecordedAtUpload() throws IOException {
+        File file = new File(tempDir.toFile(), "uploaded.asta");
+        Files.writeString(file.toPath(), "content");
+        metadataService.recordUpload(file, "recorded-hash", null);
+
+        // 파일이 그대로면 다시 읽지 않고 기록된 해시 사용
+        assertEquals("recorded-hash", metadataService.calculateHash(file));
+
+        Files.writeString(file.toPath(), "changed content");
+        assertNotEquals("recorded-hash", metadataService.calculateHash(file));
+    }
 }
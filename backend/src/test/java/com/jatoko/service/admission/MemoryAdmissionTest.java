@@ -0,0 +1,117 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.admission;
+
+import com.jatoko.config.AdmissionConfig;
+import com.jatoko.exception.AdmissionRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MemoryAdmission 테스트
+ * 파일 크기 기반 추정, 예산 대기/거절, 예산 반환을 확인합니다.
+ */
+class MemoryAdmissionTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private AdmissionConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new AdmissionConfig();
+        config.setHeapBudget(DataSize.ofMegabytes(100));
+        config.setMinEstimate(DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    void testEstimate_ByTypeAndSize() {
+        MemoryAdmission admission = new MemoryAdmission(config);
+
+        assertEquals(120 * MB, admission.estimate("diagram.svg", 10 * MB));
+        assertEquals(80 * MB, admission.estimate("model.asta", 10 * MB));
+        assertEquals(MB, admission.estimate("tiny.svg", 10));
+    }
+
+    @Test
+    void testAcquire_RejectModeFailsFastWhenBudgetIsFull() throws Exception {
+        config.setWhenFull(AdmissionConfig.WhenFull.REJECT);
+        MemoryAdmission admission = new MemoryAdmission(config);
+
+        MemoryAdmission.Permit first = admission.acquire("a.svg", 5 * MB);  // 60MB
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.acquire("b.svg", 5 * MB));
+        assertEquals(config.getRetryAfter(), rejected.getRetryAfter());
+        assertThrows(AdmissionRejectedException.class, () -> admission.acquire("c.svg", 5 * MB));
+        assertEquals(2, admission.snapshot().rejected());
+
+        first.close();
+        first.close();  // 중복 반환은 무시
+        assertEquals(0, admission.snapshot().inUseBytes());
+        admission.acquire("b.svg", 5 * MB).close();
+    }
+
+    @Test
+    void testAcquire_QueueModeWaitsForRelease() throws Exception {
+        config.setMaxWait(Duration.ofSeconds(5));
+        MemoryAdmission admission = new MemoryAdmission(config);
+
+        MemoryAdmission.Permit first = admission.acquire("a.svg", 5 * MB);
+        CompletableFuture<MemoryAdmission.Permit> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return admission.acquire("b.svg", 5 * MB);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        first.close();
+        second.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void testCheckAdmissible_QueueModeRejectsOnBacklog() {
+        config.setMaxQueued(4);
+        MemoryAdmission admission = new MemoryAdmission(config);
+
+        // 예산을 기다리는 스레드가 없어도 스케줄러에 밀린 파일 수로 거절
+        assertDoesNotThrow(() -> admission.checkAdmissible(3));
+        assertThrows(AdmissionRejectedException.class, () -> admission.checkAdmissible(4));
+        assertEquals(1, admission.snapshot().rejected());
+    }
+
+    @Test
+    void testAcquire_OversizedFileRunsAlone() throws Exception {
+        MemoryAdmission admission = new MemoryAdmission(config);
+
+        try (MemoryAdmission.Permit permit = admission.acquire("huge.svg", 500 * MB)) {
+            assertEquals(100 * MB, admission.snapshot().inUseBytes());
+        }
+        assertEquals(0, admission.snapshot().inUseBytes());
+    }
+}
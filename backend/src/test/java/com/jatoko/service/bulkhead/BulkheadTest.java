@@ -0,0 +1,148 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.bulkhead;
+
+import com.jatoko.exception.BulkheadFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulkhead 테스트
+ * 대기열 포화 시 거절, 실행 제한 시간 초과 시 인터럽트, 예외 전달과 상태 지표를 확인합니다.
+ */
+class BulkheadTest {
+
+    private Bulkhead bulkhead;
+
+    @AfterEach
+    void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    void testCall_RejectsWhenQueueIsFull() throws Exception {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        assertTrue(bulkhead.offer(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(bulkhead.offer(() -> {}));  // 대기열 1칸
+
+        assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "rejected"));
+        assertFalse(bulkhead.offer(() -> {}));
+
+        Bulkhead.Snapshot snapshot = bulkhead.snapshot();
+        assertEquals(2, snapshot.rejected());
+        assertEquals(1, snapshot.active());
+        assertEquals(1, snapshot.queued());
+        assertEquals(1.0, snapshot.saturation());
+        release.countDown();
+    }
+
+    @Test
+    void testCall_TimeoutInterruptsTask() {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThrows(TimeoutException.class, () -> bulkhead.call(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }));
+
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(5, TimeUnit.SECONDS)));
+        assertEquals(1, bulkhead.snapshot().timedOut());
+    }
+
+    @Test
+    void testCall_TimeoutWaitsForTaskToStop() {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100));
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        // 인터럽트 후에도 정리 작업을 하는 작업: 호출자는 작업이 끝난 뒤에야 예외를 받음
+        assertThrows(TimeoutException.class, () -> bulkhead.call(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.sleep(200);
+                stopped.set(true);
+            }
+            return null;
+        }));
+
+        assertTrue(stopped.get());
+    }
+
+    @Test
+    void testCall_TimeoutExcludesQueueWait() throws Exception {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(300));
+        CountDownLatch started = new CountDownLatch(1);
+
+        // 앞선 작업이 제한 시간보다 오래 실행 슬롯을 차지
+        assertTrue(bulkhead.offer(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // 대기열에서 기다린 시간은 제한 시간에 포함되지 않음
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+        assertEquals(0, bulkhead.snapshot().timedOut());
+    }
+
+    @Test
+    void testCall_PropagatesTaskException() throws Exception {
+        bulkhead = new Bulkhead("test", 2, 4, Duration.ofSeconds(5));
+
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+        IOException thrown = assertThrows(IOException.class, () -> bulkhead.call(() -> {
+            throw new IOException("broken");
+        }));
+        assertEquals("broken", thrown.getMessage());
+        assertEquals(2, bulkhead.snapshot().completed());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
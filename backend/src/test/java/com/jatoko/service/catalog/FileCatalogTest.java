@@ -0,0 +1,174 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.dto.FileMetadataDto;
+import com.jatoko.dto.FilePage;
+import com.jatoko.dto.FileQuery;
+import com.jatoko.service.MetadataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileCatalog 테스트
+ * 원본/버전/번역 파일을 원본 파일명별로 묶고, 바뀐 경우에만 목록 버전을 올리는지 확인합니다.
+ */
+class FileCatalogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path targetDir;
+    private Path translatedDir;
+    private FileCatalog catalog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        targetDir = Files.createDirectories(tempDir.resolve("target"));
+        translatedDir = Files.createDirectories(tempDir.resolve("translated"));
+        DirectoryConfig directoryConfig = new DirectoryConfig();
+        directoryConfig.setTarget(targetDir.toString());
+        directoryConfig.setTranslated(translatedDir.toString());
+        catalog = new FileCatalog(directoryConfig, new MetadataService(new ObjectMapper()));
+    }
+
+    @Test
+    void testListing_GroupsVersionsAndTranslationsByBaseName() throws IOException {
+        Files.createFile(targetDir.resolve("doc.asta"));
+        Files.createFile(targetDir.resolve("doc_1.asta"));
+        Files.createFile(targetDir.resolve("doc.asta.meta.json"));
+        Files.createFile(targetDir.resolve("other.asta"));
+        Files.createFile(translatedDir.resolve("doc_translated.asta"));
+        Files.createFile(translatedDir.resolve("doc_translated_1.asta"));
+        Files.createFile(translatedDir.resolve("other_translated.svg"));  // 확장자가 다르면 다른 원본
+
+        List<FileMetadataDto> files = catalog.listing().files();
+
+        assertEquals(List.of("doc.asta", "other.asta"), files.stream().map(FileMetadataDto::getFileName).toList());
+        FileMetadataDto doc = files.get(0);
+        assertTrue(doc.isTranslated());
+        assertEquals(2, doc.getVersion());
+        assertEquals(2, doc.getOriginalVersion());
+        FileMetadataDto other = files.get(1);
+        assertFalse(other.isTranslated());
+        assertNull(other.getVersion());
+        assertEquals(1, other.getOriginalVersion());
+    }
+
+    @Test
+    void testRefresh_VersionChangesOnlyWhenFilesChange() throws IOException {
+        Path doc = Files.createFile(targetDir.resolve("doc.svg"));
+        FileCatalog.Listing initial = catalog.listing();
+
+        // 디스크 상태가 그대로면 같은 목록과 ETag
+        catalog.refreshTarget("doc.svg");
+        catalog.refreshTranslated("unrelated.txt");
+        assertSame(initial, catalog.listing());
+
+        Files.createFile(translatedDir.resolve("doc_translated.svg"));
+        catalog.refreshTranslated("doc_translated.svg");
+        FileCatalog.Listing translated = catalog.listing();
+        assertNotEquals(initial.etag(), translated.etag());
+        assertTrue(translated.files().get(0).isTranslated());
+
+        Files.setLastModifiedTime(doc, FileTime.fromMillis(Files.getLastModifiedTime(doc).toMillis() + 60_000));
+        catalog.refreshTarget("doc.svg");
+        assertNotEquals(translated.etag(), catalog.listing().etag());
+
+        Files.delete(doc);
+        catalog.refreshTarget("doc.svg");
+        assertTrue(catalog.listing().files().isEmpty());
+    }
+
+    @Test
+    void testQuery_FiltersSortsAndPagesWithCursor() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            Files.write(targetDir.resolve("doc" + i + ".asta"), new byte[10 - i]);
+        }
+        Files.createFile(targetDir.resolve("image.svg"));
+        Files.createFile(translatedDir.resolve("doc1_translated.asta"));
+
+        FileQuery query = new FileQuery();
+        query.setType("asta");
+        query.setSort("size");
+        query.setLimit(2);
+        FilePage<FileMetadataDto> first = catalog.query(query);
+        assertEquals(5, first.getTotal());
+        assertEquals(List.of("doc4.asta", "doc3.asta"), names(first));
+
+        // 다음 페이지 조회 전에 앞 페이지 항목이 삭제되어도 이어서 조회
+        Files.delete(targetDir.resolve("doc3.asta"));
+        catalog.refreshTarget("doc3.asta");
+        query.setCursor(first.getNextCursor());
+        FilePage<FileMetadataDto> second = catalog.query(query);
+        assertEquals(List.of("doc2.asta", "doc1.asta"), names(second));
+        query.setCursor(second.getNextCursor());
+        FilePage<FileMetadataDto> last = catalog.query(query);
+        assertEquals(List.of("doc0.asta"), names(last));
+        assertNull(last.getNextCursor());
+
+        FileQuery translated = new FileQuery();
+        translated.setTranslated(true);
+        translated.setPrefix("DOC");
+        assertEquals(List.of("doc1.asta"), names(catalog.query(translated)));
+
+        FileQuery mismatched = new FileQuery();
+        mismatched.setSort("uploadedAt");
+        mismatched.setCursor(first.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> catalog.query(mismatched));
+    }
+
+    @Test
+    void testFileNames_PagesByName() throws IOException {
+        Files.createFile(targetDir.resolve("b.svg"));
+        Files.createFile(targetDir.resolve("a.svg"));
+        Files.createFile(targetDir.resolve("a_1.svg"));
+        Files.createFile(translatedDir.resolve("a_translated.svg"));
+
+        FilePage<String> first = catalog.fileNames(false, null, 1, null);
+        assertEquals(List.of("a.svg"), first.getItems());
+        assertEquals(List.of("b.svg"), catalog.fileNames(false, null, 1, first.getNextCursor()).getItems());
+        assertEquals(List.of("a_translated.svg"), catalog.fileNames(true, null, null, null).getItems());
+    }
+
+    private List<String> names(FilePage<FileMetadataDto> page) {
+        return page.getItems().stream().map(FileMetadataDto::getFileName).toList();
+    }
+
+    @Test
+    void testKeys() {
+        assertEquals("doc.asta", FileCatalog.originalKey("doc_12.asta"));
+        assertEquals("doc.svg", FileCatalog.originalKey("doc.svg"));
+        assertNull(FileCatalog.originalKey("doc.asta.meta.json"));
+        assertNull(FileCatalog.originalKey(".hidden.svg"));
+        assertEquals("a_translated.svg", FileCatalog.translatedKey("a_translated_translated_2.svg"));
+        assertNull(FileCatalog.translatedKey("doc.svg"));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.download;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.StorageConfig;
+import com.jatoko.service.MetadataService;
+import com.jatoko.service.storage.ChunkStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DownloadService 테스트
+ * 조건부 요청, Range 요청, sendfile 위임을 확인합니다.
+ */
+class DownloadServiceTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path tempDir;
+
+    private DownloadService downloadService;
+    private Resource resource;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MetadataService metadataService = new MetadataService(new ObjectMapper());
+        downloadService = new DownloadService(metadataService);
+        Path file = Files.write(tempDir.resolve("doc_translated.svg"), CONTENT);
+        resource = new FileSystemResource(file);
+        etag = "\"" + metadataService.calculateHash(file.toFile()) + "\"";
+    }
+
+    @Test
+    void testWrite_FullBodyWithValidators() throws IOException {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testWrite_MatchingETagIsNotModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testWrite_SingleRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 5-9/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("56789", response.getContentAsString());
+    }
+
+    @Test
+    void testWrite_MultipleRanges() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,-3");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+        String body = response.getContentAsString();
+        assertTrue(body.contains("Content-Range: bytes 0-1/20\r\n\r\n01\r\n"));
+        assertTrue(body.contains("Content-Range: bytes 17-19/20\r\n\r\nhij\r\n"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLengthLong());
+    }
+
+    @Test
+    void testWrite_StaleIfRangeSendsFullBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testWrite_UnsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void testWrite_DelegatesToSendfileWhenSupported() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(20L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testWrite_ChunkedResourceRange() throws IOException {
+        DirectoryConfig directoryConfig = new DirectoryConfig();
+        directoryConfig.setTranslated(tempDir.toString());
+        StorageConfig storageConfig = new StorageConfig();
+        storageConfig.setChunking(true);
+        storageConfig.setChunkMinSize(DataSize.ofBytes(4));
+        storageConfig.setChunkAvgSize(DataSize.ofBytes(4));
+        storageConfig.setChunkMaxSize(DataSize.ofBytes(8));
+        ChunkStore chunkStore = new ChunkStore(directoryConfig, storageConfig, new ObjectMapper());
+        Path file = tempDir.resolve("doc_translated.svg");
+        assertTrue(chunkStore.pack(file));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=6-15");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        downloadService.write(chunkStore.open(file), "doc_translated.svg", request, response);
+
+        assertEquals(206, response.getStatus());
+        // 청크로 저장해도 ETag는 원래 내용의 해시
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(Arrays.copyOfRange(CONTENT, 6, 16), response.getContentAsByteArray());
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        downloadService.write(resource, "doc_translated.svg", request, response);
+        return response;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.job;
+
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.JobStatus;
+import com.jatoko.model.TranslationJob;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JobScheduler 테스트
+ * 우선순위 클래스, 요청자별 라운드 로빈, 예상 비용 순서로 배정되는지 확인합니다.
+ */
+class JobSchedulerTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void testInteractiveBeforeBatch() throws InterruptedException {
+        JobScheduler scheduler = new JobScheduler(4);
+        TranslationJob batch = job("batch.asta", JobPriority.BATCH, "alice", 10);
+        TranslationJob interactive = job("click.svg", JobPriority.INTERACTIVE, "bob", 1000);
+
+        scheduler.enqueue(batch);
+        scheduler.enqueue(interactive);
+
+        assertSame(interactive, scheduler.take());
+        assertSame(batch, scheduler.take());
+    }
+
+    @Test
+    void testBatchIsNotStarvedByInteractiveBurst() {
+        JobScheduler scheduler = new JobScheduler(2);
+        TranslationJob batch = job("batch.asta", JobPriority.BATCH, "alice", 10);
+        scheduler.enqueue(batch);
+        for (int i = 0; i < 4; i++) {
+            scheduler.enqueue(job("click" + i + ".svg", JobPriority.INTERACTIVE, "bob", i));
+        }
+
+        List<TranslationJob> order = scheduler.pendingInDispatchOrder();
+
+        // 대화형 작업 2개 연속 배정 후 배치 작업 1개
+        assertSame(batch, order.get(2));
+        assertEquals(5, scheduler.size());
+    }
+
+    @Test
+    void testOwnersAreServedRoundRobin() throws InterruptedException {
+        JobScheduler scheduler = new JobScheduler(4);
+        for (int i = 0; i < 3; i++) {
+            scheduler.enqueue(job("alice" + i + ".asta", JobPriority.BATCH, "alice", i));
+        }
+        TranslationJob bobJob = job("bob.asta", JobPriority.BATCH, "bob", 1_000_000);
+        scheduler.enqueue(bobJob);
+
+        assertEquals("alice", scheduler.take().getOwner());
+        // 비용이 커도 alice의 남은 작업보다 먼저 배정
+        assertSame(bobJob, scheduler.take());
+    }
+
+    @Test
+    void testShortestJobFirstWithinOwner() throws InterruptedException {
+        JobScheduler scheduler = new JobScheduler(4);
+        TranslationJob large = job("large.asta", JobPriority.BATCH, "alice", 5000);
+        TranslationJob small = job("small.svg", JobPriority.BATCH, "alice", 50);
+
+        scheduler.enqueue(large);
+        scheduler.enqueue(small);
+
+        assertSame(small, scheduler.take());
+        assertSame(large, scheduler.take());
+    }
+
+    @Test
+    void testRemoveAndClose() throws InterruptedException {
+        JobScheduler scheduler = new JobScheduler(4);
+        TranslationJob queued = job("doc.asta", JobPriority.BATCH, null, 10);
+        scheduler.enqueue(queued);
+
+        assertTrue(scheduler.remove(queued));
+        assertFalse(scheduler.remove(queued));
+        assertEquals(0, scheduler.size());
+
+        scheduler.close();
+        assertNull(scheduler.take());
+    }
+
+    private TranslationJob job(String fileName, JobPriority priority, String owner, long cost) {
+        return TranslationJob.builder()
+                .jobId(fileName)
+                .fileName(fileName)
+                .priority(priority)
+                .owner(owner)
+                .estimatedCost(cost)
+                .status(JobStatus.QUEUED)
+                .createdAt(now)
+                .build();
+    }
+}
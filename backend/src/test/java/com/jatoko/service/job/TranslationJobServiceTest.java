@@ -0,0 +1,487 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.JobConfig;
+import com.jatoko.dto.BatchTranslationResponse;
+import com.jatoko.exception.ServiceUnavailableException;
+import com.jatoko.exception.TranslationCancelledException;
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.JobStatus;
+import com.jatoko.model.RunPolicy;
+import com.jatoko.model.TranslationJob;
+import com.jatoko.service.DirectoryService;
+import com.jatoko.service.ProgressCallback;
+import com.jatoko.service.ProgressService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * TranslationJobService 테스트
+ * 작업 등록 후 백그라운드 실행 결과가 작업 상태에 반영되는지 확인합니다.
+ */
+class TranslationJobServiceTest {
+
+    @Mock
+    private DirectoryService directoryService;
+    @Mock
+    private ProgressService progressService;
+    @Mock
+    private JobCostEstimator jobCostEstimator;
+
+    private TranslationJobService translationJobService;
+    private JobConfig jobConfig;
+    private JobJournal jobJournal;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        jobConfig = new JobConfig();
+        jobConfig.setJournalDir(tempDir.toString());
+        jobJournal = new JobJournal(jobConfig, new ObjectMapper());
+        jobJournal.init();
+
+        translationJobService = new TranslationJobService(
+                directoryService, progressService, jobCostEstimator, jobConfig, jobJournal);
+        translationJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        translationJobService.shutdown();
+    }
+
+    @Test
+    void testSubmit_CompletesInBackground() throws Exception {
+        when(directoryService.translateFile(eq("doc.asta"), any(), any(ProgressCallback.class)))
+                .thenReturn("doc_translated.asta");
+
+        TranslationJob job = translationJobService.submit("doc.asta", "client-1");
+
+        assertNotNull(job.getJobId());
+        awaitFinished(job);
+
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertEquals("doc_translated.asta", job.getResultFileName());
+        assertEquals(100, job.getPercentage());
+        assertSame(job, translationJobService.getJob(job.getJobId()));
+    }
+
+    @Test
+    void testSubmit_DuplicateRequestJoinsActiveJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("doc.svg"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "doc_translated.svg";
+                });
+
+        TranslationJob first = translationJobService.submit("doc.svg", "client-1", JobPriority.INTERACTIVE, "alice");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        TranslationJob second = translationJobService.submit("doc.svg", "client-2", JobPriority.INTERACTIVE, "bob");
+
+        assertSame(first, second);
+        assertEquals(2, first.getRequestCount());
+
+        release.countDown();
+        awaitFinished(first);
+
+        assertEquals(JobStatus.COMPLETED, first.getStatus());
+        verify(directoryService, times(1)).translateFile(eq("doc.svg"), any(), any(ProgressCallback.class));
+        verify(progressService).complete("client-1");
+        verify(progressService).complete("client-2");
+
+        // 완료 후 요청은 새 작업
+        TranslationJob third = translationJobService.submit("doc.svg", null);
+        assertNotSame(first, third);
+    }
+
+    @Test
+    void testSubmit_FailureIsRecorded() throws Exception {
+        when(directoryService.translateFile(eq("missing.svg"), any(), any(ProgressCallback.class)))
+                .thenThrow(new IOException("File not found: missing.svg"));
+
+        TranslationJob job = translationJobService.submit("missing.svg", null);
+        awaitFinished(job);
+
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertEquals("File not found: missing.svg", job.getErrorMessage());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void testInit_RecoversIncompleteJobsFromJournal() throws Exception {
+        when(directoryService.translateFile(eq("doc.asta"), any(), any(ProgressCallback.class)))
+                .thenReturn("doc_translated.asta");
+
+        // 이전 실행에서 등록만 되고 끝나지 않은 작업, 그리고 완료된 작업
+        jobJournal.submitted("job-incomplete", "doc.asta", "alice");
+        jobJournal.started("job-incomplete", "doc.asta");
+        jobJournal.submitted("job-done", "done.asta", "alice");
+        jobJournal.completed("job-done", "done.asta", "done_translated.asta");
+
+        translationJobService.shutdown();
+        translationJobService = new TranslationJobService(
+                directoryService, progressService, jobCostEstimator, jobConfig, jobJournal);
+        translationJobService.init();
+
+        TranslationJob recovered = translationJobService.getJob("job-incomplete");
+        awaitFinished(recovered);
+
+        assertEquals(JobStatus.COMPLETED, recovered.getStatus());
+        assertEquals("alice", recovered.getOwner());
+        assertThrows(IllegalArgumentException.class, () -> translationJobService.getJob("job-done"));
+    }
+
+    @Test
+    void testCancel_InterruptsRunningJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("big.asta"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    Thread.sleep(10_000);  // 인터럽트되어야 함
+                    return "big_translated.asta";
+                });
+
+        TranslationJob job = translationJobService.submit("big.asta", null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        translationJobService.cancel(job.getJobId());
+        awaitFinished(job);
+
+        assertEquals(JobStatus.CANCELLED, job.getStatus());
+        assertNull(job.getResultFileName());
+    }
+
+    @Test
+    void testSubmit_InteractiveJobCancelledOnDisconnect() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("big.svg"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    Thread.sleep(10_000);
+                    return "big_translated.svg";
+                });
+
+        TranslationJob job = translationJobService.submit("big.svg", "client-1", JobPriority.INTERACTIVE, "alice");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // SSE 연결 종료 리스너 실행
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(progressService).onDisconnect(eq("client-1"), listener.capture());
+        listener.getValue().run();
+        awaitFinished(job);
+
+        assertEquals(JobStatus.CANCELLED, job.getStatus());
+    }
+
+    @Test
+    void testSubmit_SharedJobCancelledOnlyWhenAllSubscribersDisconnect() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("big.svg"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    Thread.sleep(10_000);
+                    return "big_translated.svg";
+                });
+
+        TranslationJob job = translationJobService.submit("big.svg", "client-1", JobPriority.INTERACTIVE, "alice");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        translationJobService.submit("big.svg", "client-2", JobPriority.INTERACTIVE, "bob");
+
+        ArgumentCaptor<Runnable> first = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Runnable> second = ArgumentCaptor.forClass(Runnable.class);
+        verify(progressService).onDisconnect(eq("client-1"), first.capture());
+        verify(progressService).onDisconnect(eq("client-2"), second.capture());
+
+        first.getValue().run();
+        assertEquals(JobStatus.RUNNING, job.getStatus());
+
+        second.getValue().run();
+        awaitFinished(job);
+        assertEquals(JobStatus.CANCELLED, job.getStatus());
+    }
+
+    @Test
+    void testSubmit_InteractiveJobRunsBeforeQueuedBatch() throws Exception {
+        jobConfig.setWorkerThreads(1);
+        translationJobService.shutdown();
+        translationJobService = new TranslationJobService(
+                directoryService, progressService, jobCostEstimator, jobConfig, jobJournal);
+        translationJobService.init();
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("blocker.asta"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return "blocker_translated.asta";
+                });
+        when(directoryService.translateFile(eq("batch.asta"), any(), any(ProgressCallback.class)))
+                .thenReturn("batch_translated.asta");
+        when(directoryService.translateFile(eq("click.svg"), any(), any(ProgressCallback.class)))
+                .thenReturn("click_translated.svg");
+
+        // 유일한 작업 스레드를 점유한 상태에서 배치 작업 뒤에 대화형 작업 등록
+        TranslationJob blocker = translationJobService.submit("blocker.asta", null, JobPriority.BATCH, "alice");
+        awaitStatus(blocker, JobStatus.RUNNING);
+        TranslationJob batch = translationJobService.submit("batch.asta", null, JobPriority.BATCH, "alice");
+        TranslationJob interactive = translationJobService.submit("click.svg", null, JobPriority.INTERACTIVE, "bob");
+        // 비용 계산은 등록 순서대로 끝나므로 대화형 작업이 배정되면 배치 작업도 배정된 상태
+        awaitQueued(interactive);
+
+        assertEquals(0, translationJobService.getJob(interactive.getJobId()).getQueuePosition());
+        assertEquals(1, translationJobService.getJob(batch.getJobId()).getQueuePosition());
+        assertNotNull(batch.getEstimatedStartAt());
+        assertFalse(batch.getEstimatedStartAt().isBefore(interactive.getEstimatedStartAt()));
+
+        release.countDown();
+        awaitFinished(batch);
+
+        assertEquals(JobStatus.COMPLETED, interactive.getStatus());
+        assertTrue(interactive.getStartedAt().compareTo(batch.getStartedAt()) <= 0);
+    }
+
+    @Test
+    void testCancel_QueuedJobIsRemovedWithoutRunning() throws Exception {
+        jobConfig.setWorkerThreads(1);
+        translationJobService.shutdown();
+        translationJobService = new TranslationJobService(
+                directoryService, progressService, jobCostEstimator, jobConfig, jobJournal);
+        translationJobService.init();
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("blocker.asta"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return "blocker_translated.asta";
+                });
+
+        TranslationJob blocker = translationJobService.submit("blocker.asta", null);
+        awaitStatus(blocker, JobStatus.RUNNING);
+        TranslationJob queued = translationJobService.submit("queued.asta", null);
+
+        translationJobService.cancel(queued.getJobId());
+        release.countDown();
+        awaitFinished(blocker);
+
+        assertEquals(JobStatus.CANCELLED, queued.getStatus());
+        verify(directoryService, never()).translateFile(eq("queued.asta"), any(), any(ProgressCallback.class));
+    }
+
+    @Test
+    void testSubmit_IdleBatchHeldUntilInteractiveLoadEnds() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("click.svg"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return "click_translated.svg";
+                });
+        when(directoryService.translateFile(eq("nightly.asta"), any(), any(ProgressCallback.class)))
+                .thenReturn("nightly_translated.asta");
+
+        TranslationJob interactive = translationJobService.submit("click.svg", "client-1", JobPriority.INTERACTIVE, "bob");
+        awaitStatus(interactive, JobStatus.RUNNING);
+        TranslationJob idle = translationJobService.submit("nightly.asta", null, JobPriority.BATCH, "ops",
+                new RunPolicy(RunPolicy.Mode.IDLE, null, null));
+
+        // 작업 스레드가 남아 있어도 대화형 작업이 끝날 때까지 보류
+        Thread.sleep(200);
+        assertEquals(JobStatus.QUEUED, idle.getStatus());
+        assertNull(translationJobService.getJob(idle.getJobId()).getQueuePosition());
+        verify(directoryService, never()).translateFile(eq("nightly.asta"), any(), any(ProgressCallback.class));
+
+        release.countDown();
+        awaitFinished(idle);
+        assertEquals(JobStatus.COMPLETED, idle.getStatus());
+    }
+
+    @Test
+    void testSubmit_RunningIdleJobPausedByInteractiveAndResumed() throws Exception {
+        CountDownLatch idleStarted = new CountDownLatch(1);
+        AtomicInteger idleRuns = new AtomicInteger();
+        when(directoryService.translateFile(eq("nightly.asta"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    if (idleRuns.incrementAndGet() > 1) {
+                        return "nightly_translated.asta";
+                    }
+                    idleStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        throw new TranslationCancelledException("Translation cancelled: nightly.asta");
+                    }
+                    return "nightly_translated.asta";
+                });
+        CountDownLatch release = new CountDownLatch(1);
+        when(directoryService.translateFile(eq("click.svg"), any(), any(ProgressCallback.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return "click_translated.svg";
+                });
+
+        TranslationJob idle = translationJobService.submit("nightly.asta", null, JobPriority.BATCH, "ops",
+                new RunPolicy(RunPolicy.Mode.IDLE, null, null));
+        assertTrue(idleStarted.await(5, TimeUnit.SECONDS));
+
+        TranslationJob interactive = translationJobService.submit("click.svg", "client-1", JobPriority.INTERACTIVE, "bob");
+        awaitStatus(idle, JobStatus.QUEUED);
+        assertEquals(JobStatus.QUEUED, idle.getStatus());
+        assertFalse(idle.isCancelRequested());
+
+        release.countDown();
+        awaitFinished(interactive);
+        awaitFinished(idle);
+        assertEquals(JobStatus.COMPLETED, idle.getStatus());
+        assertEquals(2, idleRuns.get());
+    }
+
+    @Test
+    void testSubmitBatch_RunsPipelineThroughScheduler() throws Exception {
+        BatchTranslationResponse response = BatchTranslationResponse.builder()
+                .successFiles(List.of("a.asta", "b.svg"))
+                .failedFiles(List.of())
+                .totalCount(2)
+                .successCount(2)
+                .build();
+        when(directoryService.translateFilesInBatch(List.of("a.asta", "b.svg"))).thenReturn(response);
+
+        TranslationJob job = translationJobService.submitBatch(List.of("a.asta", "b.svg"), "ops", null);
+        awaitFinished(job);
+
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertEquals(JobPriority.BATCH, job.getPriority());
+        assertSame(response, job.getBatchResult());
+        verify(jobCostEstimator).estimate("a.asta");
+        verify(jobCostEstimator).estimate("b.svg");
+    }
+
+    @Test
+    void testSubmitBatch_HeldOutsideRunWindow() throws Exception {
+        // 현재 시각을 포함하지 않는 1분짜리 실행 시간대
+        LocalTime start = LocalTime.now().plusHours(2).withSecond(0).withNano(0);
+        TranslationJob job = translationJobService.submitBatch(List.of("a.asta"), "ops",
+                new RunPolicy(RunPolicy.Mode.WINDOW, start, start.plusMinutes(1)));
+
+        Thread.sleep(200);
+        assertEquals(JobStatus.QUEUED, job.getStatus());
+        assertNotNull(job.getEstimatedStartAt());
+        verify(directoryService, never()).translateFilesInBatch(any());
+    }
+
+    @Test
+    void testQueuedFileCount_CountsHeldBatchFiles() throws Exception {
+        LocalTime start = LocalTime.now().plusHours(2).withSecond(0).withNano(0);
+        translationJobService.submitBatch(List.of("a.asta", "b.svg", "c.svg"), "ops",
+                new RunPolicy(RunPolicy.Mode.WINDOW, start, start.plusMinutes(1)));
+
+        // 보류 중인 배치 작업은 파일 수만큼 집계
+        assertEquals(3, translationJobService.queuedFileCount());
+    }
+
+    @Test
+    void testSubmitBatch_ShutdownKeepsUnfinishedFiles() throws Exception {
+        jobConfig.setShutdownGracePeriod(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        when(directoryService.translateFilesInBatch(List.of("a.asta", "b.svg"))).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                // 파이프라인은 인터럽트를 파일별 실패로 돌려줌
+            }
+            return BatchTranslationResponse.builder()
+                    .successFiles(List.of("a.asta"))
+                    .failedFiles(List.of("b.svg"))
+                    .totalCount(2)
+                    .successCount(1)
+                    .failedCount(1)
+                    .build();
+        });
+
+        TranslationJob job = translationJobService.submitBatch(List.of("a.asta", "b.svg"), "ops", null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        translationJobService.shutdown();
+
+        // 완료로 기록하지 않고 끝나지 않은 파일만 남겨 재시작 시 재등록
+        assertEquals(JobStatus.QUEUED, job.getStatus());
+        assertEquals(List.of("b.svg"), job.getFileNames());
+        List<JobJournal.Entry> recovered = jobJournal.recoverIncomplete();
+        assertEquals(1, recovered.size());
+        assertEquals(List.of("b.svg"), recovered.get(0).fileNames());
+    }
+
+    @Test
+    void testSubmit_RejectedAfterShutdown() throws InterruptedException {
+        translationJobService.shutdown();
+
+        assertThrows(ServiceUnavailableException.class, () -> translationJobService.submit("doc.asta", null));
+    }
+
+    @Test
+    void testGetJob_UnknownId() {
+        assertThrows(IllegalArgumentException.class, () -> translationJobService.getJob("unknown"));
+    }
+
+    private void awaitStatus(TranslationJob job, JobStatus status) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        while (job.getStatus() != status && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitQueued(TranslationJob job) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        while (translationJobService.getJob(job.getJobId()).getQueuePosition() == null && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitFinished(TranslationJob job) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        while (!job.getStatus().isFinished() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+    }
+}
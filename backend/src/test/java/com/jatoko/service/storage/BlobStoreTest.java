@@ -0,0 +1,127 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.storage;
+
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.service.translator.Translator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * BlobStore 테스트
+ * 같은 내용은 한 벌만 저장되고, 참조가 없어진 blob만 정리되는지 확인합니다.
+ */
+class BlobStoreTest {
+
+    private static final String HASH = "ab" + "0".repeat(62);
+
+    @TempDir
+    Path tempDir;
+
+    private Path targetDir;
+    private Path translatedDir;
+    private Translator translator;
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        targetDir = Files.createDirectories(tempDir.resolve("target"));
+        translatedDir = Files.createDirectories(tempDir.resolve("translated"));
+        DirectoryConfig directoryConfig = new DirectoryConfig();
+        directoryConfig.setTarget(targetDir.toString());
+        directoryConfig.setTranslated(translatedDir.toString());
+        translator = mock(Translator.class);
+        when(translator.profile()).thenReturn("deepl:ja-ko:glossary=none");
+        blobStore = new BlobStore(directoryConfig, translator);
+    }
+
+    @Test
+    void testStore_DuplicateBecomesLinkAndReleaseCollectsLastReference() throws IOException {
+        Path first = Files.writeString(targetDir.resolve("doc.asta"), "same");
+        Path second = Files.writeString(targetDir.resolve("doc_1.asta"), "same");
+
+        assertFalse(blobStore.store(first, HASH));
+        assertTrue(blobStore.store(second, HASH));
+        assertTrue(Files.isSameFile(first, second));
+        Path blob = targetDir.resolve(".blobs").resolve("ab").resolve(HASH);
+
+        // 아직 doc_1.asta가 참조하므로 유지
+        Files.delete(first);
+        blobStore.release(HASH);
+        assertTrue(Files.exists(blob));
+
+        Files.delete(second);
+        blobStore.release(HASH);
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    void testLinkTranslation() throws IOException {
+        Path output = Files.writeString(translatedDir.resolve("doc_translated.svg"), "번역");
+        assertFalse(blobStore.linkTranslation(HASH, translatedDir.resolve("doc_translated_1.svg")));
+
+        blobStore.recordTranslation(HASH, output);
+        // 번역 파일을 지워도 기록은 남음
+        Files.delete(output);
+
+        Path linked = translatedDir.resolve("doc_translated_1.svg");
+        assertTrue(blobStore.linkTranslation(HASH, linked));
+        assertEquals("번역", Files.readString(linked));
+        // 출력 형식(확장자)이나 번역 설정이 다르면 다른 결과
+        assertFalse(blobStore.linkTranslation(HASH, translatedDir.resolve("doc_translated.asta")));
+        when(translator.profile()).thenReturn("deepl:ja-ko:glossary=g-2");
+        assertFalse(blobStore.linkTranslation(HASH, translatedDir.resolve("doc_translated_2.svg")));
+    }
+
+    @Test
+    void testReleaseTranslations_RemovesResultsWithoutLinkedOutput() throws IOException {
+        Path output = Files.writeString(translatedDir.resolve("doc_translated.svg"), "번역");
+        blobStore.recordTranslation(HASH, output);
+
+        // 연결된 번역 파일이 남아 있으면 유지
+        blobStore.releaseTranslations();
+        assertTrue(blobStore.linkTranslation(HASH, translatedDir.resolve("doc_translated_1.svg")));
+
+        Files.delete(output);
+        Files.delete(translatedDir.resolve("doc_translated_1.svg"));
+        blobStore.releaseTranslations();
+        assertFalse(blobStore.linkTranslation(HASH, translatedDir.resolve("doc_translated_2.svg")));
+    }
+
+    @Test
+    void testEvictTranslations_KeepsLinkedOutputs() throws IOException {
+        Path output = Files.writeString(translatedDir.resolve("doc_translated.svg"), "번역");
+        blobStore.recordTranslation(HASH, output);
+
+        blobStore.evictTranslations(HASH);
+
+        // 원본을 지우면 같은 내용을 다시 올려도 새로 번역하지만, 이미 만든 번역 파일은 남음
+        assertFalse(blobStore.linkTranslation(HASH, translatedDir.resolve("doc_translated_1.svg")));
+        assertEquals("번역", Files.readString(output));
+    }
+}
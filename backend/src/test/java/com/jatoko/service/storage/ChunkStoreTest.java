@@ -0,0 +1,132 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.StorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChunkStore 테스트
+ * 일부만 바뀐 버전이 청크를 공유하고, 청크로 저장된 파일을 원래 내용 그대로 읽는지 확인합니다.
+ */
+class ChunkStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path translatedDir;
+    private StorageConfig storageConfig;
+    private ChunkStore chunkStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        translatedDir = Files.createDirectories(tempDir.resolve("translated"));
+        DirectoryConfig directoryConfig = new DirectoryConfig();
+        directoryConfig.setTarget(Files.createDirectories(tempDir.resolve("target")).toString());
+        directoryConfig.setTranslated(translatedDir.toString());
+        storageConfig = new StorageConfig();
+        storageConfig.setChunking(true);
+        storageConfig.setChunkMinSize(DataSize.ofBytes(256));
+        storageConfig.setChunkAvgSize(DataSize.ofBytes(1024));
+        storageConfig.setChunkMaxSize(DataSize.ofBytes(4096));
+        chunkStore = new ChunkStore(directoryConfig, storageConfig, new ObjectMapper());
+    }
+
+    @Test
+    void testPack_VersionsShareUnchangedChunks() throws IOException {
+        byte[] first = randomBytes(256 * 1024, 1);
+        // 중간에 바이트를 끼워 넣어 이후 위치가 모두 밀려도 경계는 내용을 따라감
+        byte[] edited = new byte[first.length + 10];
+        System.arraycopy(first, 0, edited, 0, 100_000);
+        System.arraycopy(first, 100_000, edited, 100_010, first.length - 100_000);
+
+        Path v1 = Files.write(translatedDir.resolve("doc_translated.asta"), first);
+        Path v2 = Files.write(translatedDir.resolve("doc_translated_1.asta"), edited);
+        assertTrue(chunkStore.pack(v1));
+        long afterFirst = countChunks();
+        assertTrue(chunkStore.pack(v2));
+        long added = countChunks() - afterFirst;
+
+        assertTrue(added <= 3, "Only chunks around the edit should be new: " + added);
+        assertArrayEquals(first, read(chunkStore.open(v1)));
+        assertArrayEquals(edited, read(chunkStore.open(v2)));
+        assertEquals(edited.length, chunkStore.open(v2).contentLength());
+        assertInstanceOf(ChunkedResource.class, chunkStore.open(v2));
+    }
+
+    @Test
+    void testPack_DisabledKeepsFullFile() throws IOException {
+        storageConfig.setChunking(false);
+        byte[] content = randomBytes(8 * 1024, 2);
+        Path file = Files.write(translatedDir.resolve("doc_translated.svg"), content);
+
+        assertFalse(chunkStore.pack(file));
+        assertArrayEquals(content, Files.readAllBytes(file));
+        assertFalse(chunkStore.open(file) instanceof ChunkedResource);
+    }
+
+    @Test
+    void testCollectGarbage_RemovesOnlyUnreferencedChunks() throws IOException {
+        byte[] shared = randomBytes(64 * 1024, 3);
+        Path keep = Files.write(translatedDir.resolve("a_translated.asta"), shared);
+        Path drop = Files.write(translatedDir.resolve("b_translated.asta"), randomBytes(64 * 1024, 4));
+        chunkStore.pack(keep);
+        long kept = countChunks();
+        chunkStore.pack(drop);
+
+        Files.delete(drop);
+        chunkStore.collectGarbage();
+
+        assertEquals(kept, countChunks());
+        assertArrayEquals(shared, read(chunkStore.open(keep)));
+    }
+
+    private long countChunks() throws IOException {
+        try (Stream<Path> files = Files.walk(translatedDir.resolve(".chunks"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
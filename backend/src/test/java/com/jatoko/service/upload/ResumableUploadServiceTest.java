@@ -0,0 +1,157 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.upload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.UploadConfig;
+import com.jatoko.exception.ConflictException;
+import com.jatoko.service.DirectoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * ResumableUploadService 테스트
+ * 재전송된 조각은 무시되고, 재시작 후에도 .part 파일 기준으로 이어받는지 확인합니다.
+ */
+class ResumableUploadServiceTest {
+
+    private static final byte[] CONTENT = {'P', 'K', 3, 4, 1, 2, 3, 4, 5, 6};
+
+    @TempDir
+    Path tempDir;
+
+    private UploadConfig uploadConfig;
+    private DirectoryConfig directoryConfig;
+    private DirectoryService directoryService;
+    private ResumableUploadService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        uploadConfig = new UploadConfig();
+        directoryConfig = new DirectoryConfig();
+        directoryConfig.setTarget(tempDir.toString());
+        directoryService = mock(DirectoryService.class);
+        service = newService();
+    }
+
+    private ResumableUploadService newService() throws IOException {
+        ResumableUploadService created =
+                new ResumableUploadService(uploadConfig, directoryConfig, directoryService, new ObjectMapper());
+        created.init();
+        return created;
+    }
+
+    @Test
+    void testPutChunk_RetransmittedBytesAreSkipped() throws Exception {
+        String id = service.create("doc.asta", CONTENT.length).uploadId();
+
+        assertEquals(6, service.putChunk(id, 0, chunk(0, 6)).offset());
+        // 앞 조각 일부를 다시 보내도 새 바이트만 기록
+        assertEquals(10, service.putChunk(id, 4, chunk(4, 10)).offset());
+
+        when(directoryService.importUpload(any(), eq("doc.asta"), any()))
+                .thenReturn(new DirectoryService.UploadResult("doc.asta", false, null));
+        service.complete(id, sha256(CONTENT));
+
+        verify(directoryService).importUpload(eq(tempDir.resolve(".uploads").resolve(id + ".part")),
+                eq("doc.asta"), eq(sha256(CONTENT)));
+    }
+
+    @Test
+    void testPutChunk_GapIsRejected() throws Exception {
+        String id = service.create("doc.asta", CONTENT.length).uploadId();
+
+        assertThrows(ConflictException.class, () -> service.putChunk(id, 3, chunk(3, 6)));
+        assertEquals(0, service.status(id).offset());
+    }
+
+    @Test
+    void testComplete_ResumesAfterRestart() throws Exception {
+        String id = service.create("doc.asta", CONTENT.length).uploadId();
+        service.putChunk(id, 0, chunk(0, 5));
+
+        // 새 인스턴스는 디스크의 세션 정보와 .part 파일로 오프셋과 해시를 복원
+        ResumableUploadService restarted = newService();
+        assertEquals(5, restarted.status(id).offset());
+        restarted.putChunk(id, 5, chunk(5, 10));
+
+        when(directoryService.importUpload(any(), any(), any()))
+                .thenReturn(new DirectoryService.UploadResult("doc.asta", false, null));
+        restarted.complete(id, null);
+        verify(directoryService).importUpload(any(), eq("doc.asta"), eq(sha256(CONTENT)));
+        assertFalse(Files.exists(tempDir.resolve(".uploads").resolve(id + ".json")));
+    }
+
+    @Test
+    void testComplete_RetryAfterFailedImportUsesSameHash() throws Exception {
+        String id = service.create("doc.asta", CONTENT.length).uploadId();
+        service.putChunk(id, 0, chunk(0, 10));
+
+        when(directoryService.importUpload(any(), any(), any()))
+                .thenThrow(new IOException("disk full"))
+                .thenReturn(new DirectoryService.UploadResult("doc.asta", false, null));
+        assertThrows(IOException.class, () -> service.complete(id, sha256(CONTENT)));
+
+        // 입출력 오류 후에도 세션이 남고, 다시 완료할 때 같은 해시로 확인
+        assertEquals("doc.asta", service.complete(id, sha256(CONTENT)).fileName());
+        verify(directoryService, times(2)).importUpload(any(), eq("doc.asta"), eq(sha256(CONTENT)));
+    }
+
+    @Test
+    void testComplete_IncompleteOrHashMismatch() throws Exception {
+        String id = service.create("doc.asta", CONTENT.length).uploadId();
+        service.putChunk(id, 0, chunk(0, 5));
+        assertThrows(ConflictException.class, () -> service.complete(id, null));
+
+        service.putChunk(id, 5, chunk(5, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.complete(id, "0".repeat(64)));
+        // 해시가 다르면 세션 폐기
+        assertThrows(IllegalArgumentException.class, () -> service.status(id));
+        verify(directoryService, never()).importUpload(any(), any(), any());
+    }
+
+    @Test
+    void testCreate_RejectsUnsupportedOrOversizedFile() {
+        assertThrows(IllegalArgumentException.class, () -> service.create("doc.txt", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.create("doc.asta", uploadConfig.getMaxFileSize().toBytes() + 1));
+    }
+
+    private ByteArrayInputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(CONTENT, from, to - from);
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
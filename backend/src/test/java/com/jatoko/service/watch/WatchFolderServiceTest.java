@@ -0,0 +1,169 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.service.watch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatoko.config.DirectoryConfig;
+import com.jatoko.config.WatchConfig;
+import com.jatoko.model.JobPriority;
+import com.jatoko.model.JobStatus;
+import com.jatoko.model.TranslationJob;
+import com.jatoko.model.TranslationMetadata;
+import com.jatoko.service.DirectoryService;
+import com.jatoko.service.MetadataService;
+import com.jatoko.service.job.TranslationJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WatchFolderService 테스트
+ * 내용이 바뀐 파일만 target으로 복사하고 번역 작업으로 등록하는지 확인합니다.
+ */
+class WatchFolderServiceTest {
+
+    @Mock
+    private TranslationJobService translationJobService;
+    @Mock
+    private DirectoryService directoryService;
+
+    @TempDir
+    Path tempDir;
+
+    private Path watchDir;
+    private Path targetDir;
+    private WatchConfig watchConfig;
+    private MetadataService metadataService;
+    private WatchFolderService watchFolderService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        watchDir = Files.createDirectories(tempDir.resolve("inbox"));
+        targetDir = Files.createDirectories(tempDir.resolve("target"));
+
+        watchConfig = new WatchConfig();
+        watchConfig.setEnabled(true);
+        watchConfig.setDir(watchDir.toString());
+        watchConfig.setDebounce(Duration.ofMillis(100));
+        DirectoryConfig directoryConfig = new DirectoryConfig();
+        directoryConfig.setTarget(targetDir.toString());
+        metadataService = new MetadataService(new ObjectMapper());
+
+        watchFolderService = new WatchFolderService(watchConfig, directoryConfig, metadataService, translationJobService,
+                directoryService);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        watchFolderService.shutdown();
+    }
+
+    @Test
+    void testChangedFile_CopiedAndQueued() throws Exception {
+        watchFolderService.init();
+
+        Files.writeString(watchDir.resolve("diagram.svg"), "<svg>v1</svg>");
+
+        verify(translationJobService, timeout(5000)).submit("diagram.svg", null, JobPriority.BATCH, "watch-folder");
+        // target 교체는 업로드와 같은 등록 절차(blob, 메타데이터)를 거침
+        Path file = watchDir.resolve("diagram.svg");
+        verify(directoryService).replaceTarget(file, metadataService.calculateHash(file.toFile()));
+    }
+
+    @Test
+    void testStartupScan_SkipsFilesUnchangedSinceLastTranslation() throws Exception {
+        Path unchanged = Files.writeString(watchDir.resolve("same.svg"), "<svg>same</svg>");
+        Path changed = Files.writeString(watchDir.resolve("changed.svg"), "<svg>new</svg>");
+        Files.writeString(watchDir.resolve("notes.txt"), "ignored");
+        recordTranslatedHash("same.svg", metadataService.calculateHash(unchanged.toFile()));
+        recordTranslatedHash("changed.svg", "old-hash");
+
+        watchFolderService.init();
+
+        verify(translationJobService, timeout(5000)).submit(eq("changed.svg"), isNull(), any(), any());
+        Thread.sleep(300);
+        verify(translationJobService, never()).submit(eq("same.svg"), any(), any(), any());
+        verify(translationJobService, never()).submit(eq("notes.txt"), any(), any(), any());
+    }
+
+    @Test
+    void testInit_RequiresExplicitDir() {
+        watchConfig.setDir(null);
+
+        // target 디렉토리를 대신 감시하지 않음
+        assertThrows(IllegalStateException.class, () -> watchFolderService.init());
+    }
+
+    @Test
+    void testAstahFile_Queued() throws Exception {
+        watchFolderService.init();
+
+        Files.writeString(watchDir.resolve("model.astah"), "v1");
+
+        verify(translationJobService, timeout(5000)).submit("model.astah", null, JobPriority.BATCH, "watch-folder");
+    }
+
+    @Test
+    void testFailedJob_ResubmittedOnNextChange() throws Exception {
+        TranslationJob failed = TranslationJob.builder().jobId("job-1").status(JobStatus.FAILED).build();
+        when(translationJobService.submit(eq("diagram.svg"), isNull(), any(), any())).thenReturn(failed);
+        watchFolderService.init();
+
+        Files.writeString(watchDir.resolve("diagram.svg"), "<svg>v1</svg>");
+        verify(translationJobService, timeout(5000)).submit(eq("diagram.svg"), isNull(), any(), any());
+
+        // 같은 내용이라도 실패한 작업의 해시는 기록되지 않았으므로 다시 등록
+        Thread.sleep(200);
+        Files.writeString(watchDir.resolve("diagram.svg"), "<svg>v1</svg>");
+        verify(translationJobService, timeout(5000).times(2)).submit(eq("diagram.svg"), isNull(), any(), any());
+    }
+
+    @Test
+    void testCompletedJob_SameContentNotResubmitted() throws Exception {
+        TranslationJob completed = TranslationJob.builder().jobId("job-1").status(JobStatus.COMPLETED).build();
+        when(translationJobService.submit(eq("diagram.svg"), isNull(), any(), any())).thenReturn(completed);
+        watchFolderService.init();
+
+        Files.writeString(watchDir.resolve("diagram.svg"), "<svg>v1</svg>");
+        verify(translationJobService, timeout(5000)).submit(eq("diagram.svg"), isNull(), any(), any());
+
+        Thread.sleep(200);
+        Files.writeString(watchDir.resolve("diagram.svg"), "<svg>v1</svg>");
+        Thread.sleep(500);
+        verify(translationJobService, times(1)).submit(eq("diagram.svg"), isNull(), any(), any());
+    }
+
+    private void recordTranslatedHash(String fileName, String hash) throws Exception {
+        Path targetFile = Files.writeString(targetDir.resolve(fileName), "previous");
+        TranslationMetadata metadata = new TranslationMetadata();
+        metadata.setOriginalFileHash(hash);
+        metadataService.saveMetadata(targetFile.toFile(), metadata);
+    }
+}
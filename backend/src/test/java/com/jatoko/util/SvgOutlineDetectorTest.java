@@ -0,0 +1,78 @@
+/*
+ * JaToKo (Japanese-to-Korean Translator)
+ * Copyright (C) 2025 The JaToKo Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.jatoko.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SvgOutlineDetectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testIsOutlined() throws Exception {
+        assertTrue(SvgOutlineDetector.isOutlined(stream("<svg xmlns=\"http://www.w3.org/2000/svg\"><g><path d=\"M0 0\"/></g></svg>")));
+        assertFalse(SvgOutlineDetector.isOutlined(stream("<svg xmlns=\"http://www.w3.org/2000/svg\"><text>ラベル</text></svg>")));
+        assertFalse(SvgOutlineDetector.isOutlined(stream("<svg:svg xmlns:svg=\"http://www.w3.org/2000/svg\"><svg:tspan/></svg:svg>")));
+        assertFalse(SvgOutlineDetector.isOutlined(stream("<svg xmlns=\"http://www.w3.org/2000/svg\"><foreignObject/></svg>")));
+    }
+
+    @Test
+    void testIsOutlined_StopsAtFirstTextElement() throws Exception {
+        // 첫 <text> 뒤는 잘린(닫히지 않은) 문서여도 읽지 않으므로 판정 가능
+        InputStream truncated = new SequenceInputStream(
+                stream("<svg xmlns=\"http://www.w3.org/2000/svg\"><text>A</text>"),
+                stream("<path d=\"M0 0"));
+        assertFalse(SvgOutlineDetector.isOutlined(truncated));
+    }
+
+    @Test
+    void testIsOutlined_IgnoresDoctype() throws Exception {
+        String svg = "<?xml version=\"1.0\"?>\n"
+                + "<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" \"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\">\n"
+                + "<svg xmlns=\"http://www.w3.org/2000/svg\"><path d=\"M0 0\"/></svg>";
+        assertTrue(SvgOutlineDetector.isOutlined(stream(svg)));
+    }
+
+    @Test
+    void testIsBatikGenerated() throws Exception {
+        Path batik = tempDir.resolve("batik.svg");
+        Files.writeString(batik, "<svg xmlns=\"http://www.w3.org/2000/svg\">"
+                + "<!--Generated by the Batik Graphics2D SVG Generator--><defs/></svg>");
+        Path plain = tempDir.resolve("plain.svg");
+        Files.writeString(plain, "<svg xmlns=\"http://www.w3.org/2000/svg\"><defs/></svg>");
+
+        assertTrue(SvgOutlineDetector.isBatikGenerated(batik));
+        assertFalse(SvgOutlineDetector.isBatikGenerated(plain));
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,7 +6,8 @@ const API_BASE_URL = 'http://localhost:8080/api';
 
 export interface TranslationResponse {
   message: string;
-  sessionId: string;
+  jobId: string;
+  status: string;
 }
 
 export interface FileMetadata {
@@ -127,9 +128,9 @@ export const getFileMetadata = async (): Promise<FileMetadata[]> => {
   return response.data;
 };
 
-// 배치 번역
-export const translateBatch = async (fileNames: string[]): Promise<BatchTranslationResponse> => {
-  return postData<BatchTranslationResponse>('/translate/batch', { fileNames });
+// 배치 번역 (작업으로 등록, 파일별 결과는 /jobs/{jobId}의 batchResult)
+export const translateBatch = async (fileNames: string[]): Promise<TranslationResponse> => {
+  return postData<TranslationResponse>('/translate/batch', { fileNames });
 };
 
 // 번역된 파일 다운로드 (target 파일명으로 최신 번역 파일 다운로드)